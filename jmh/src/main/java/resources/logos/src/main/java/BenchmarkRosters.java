@@ -0,0 +1,66 @@
+package resources.logos.src.main.java;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+// Seeded rosters, auction states and team lists shared by the benchmarks
+final class BenchmarkRosters {
+    private static final String[] ROLES = {"Batsman", "Bowler", "All-Rounder", "Wicketkeeper"};
+    private static final String[] NATIONALITIES = {"India", "India", "India", "Australia", "England", "South Africa"};
+    private static final String[] STATE_NATIONALITIES = {
+        "India", "Australia", "England", "New Zealand", "South Africa", "West Indies", "Afghanistan", "Sri Lanka"
+    };
+
+    private BenchmarkRosters() {
+    }
+
+    static List<PlayerInfo> create(int count, long seed) {
+        SplittableRandom rand = new SplittableRandom(seed);
+        List<PlayerInfo> roster = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            roster.add(new PlayerInfo("Player " + i, ROLES[rand.nextInt(ROLES.length)],
+                AuctionEngine.MIN_BID + 500 * rand.nextInt(30), NATIONALITIES[rand.nextInt(NATIONALITIES.length)]));
+        }
+        return roster;
+    }
+
+    // Auction state where roughly a third of the players have been sold to the IPL teams
+    static AuctionState createState(int count, Random rand) {
+        Map<String, Integer> teamBudgets = new HashMap<>();
+        Map<String, List<PlayerInfo>> teamPlayers = new HashMap<>();
+        for (String team : AuctionEngine.IPL_TEAMS) {
+            teamBudgets.put(team, AuctionEngine.TEAM_BUDGET);
+            teamPlayers.put(team, new ArrayList<>());
+        }
+
+        List<PlayerInfo> players = new ArrayList<>(count);
+        Set<String> soldPlayers = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            PlayerInfo player = new PlayerInfo("Player " + i, ROLES[rand.nextInt(ROLES.length)],
+                AuctionEngine.MIN_BID + 500 * rand.nextInt(30), STATE_NATIONALITIES[rand.nextInt(STATE_NATIONALITIES.length)]);
+            if (rand.nextInt(3) == 0) {
+                String team = AuctionEngine.IPL_TEAMS[rand.nextInt(AuctionEngine.IPL_TEAMS.length)];
+                player.purchasedBy = team;
+                player.finalPrice = player.basePrice + 500 * rand.nextInt(10);
+                teamPlayers.get(team).add(player);
+                soldPlayers.add(player.name);
+            }
+            players.add(player);
+        }
+        return new AuctionState(teamBudgets, teamPlayers, players, soldPlayers, count / 2,
+            players.get(count / 2).basePrice, null, AuctionEngine.BID_DURATION, false);
+    }
+
+    static String[] teams(int count) {
+        String[] teams = new String[count];
+        for (int t = 0; t < count; t++) {
+            teams[t] = "Team " + t;
+        }
+        return teams;
+    }
+}
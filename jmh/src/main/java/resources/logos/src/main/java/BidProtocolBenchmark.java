@@ -0,0 +1,148 @@
+package resources.logos.src.main.java;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+// Local stand-in for network bidding: starts rooms and a BidServer on loopback, then has
+// every client bid as fast as acks allow, first one bid at a time and then pipelined.
+// Lots are reopened every few milliseconds so that bids keep moving the price instead of
+// all bouncing off the budget ceiling, which keeps the update broadcast busy.
+// Usage: BidProtocolBenchmark [rooms] [clients] [bids per client] [pipeline window]
+public class BidProtocolBenchmark {
+    private static final long REOPEN_INTERVAL_MS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int roomCount = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int clientCount = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int bids = args.length > 2 ? Integer.parseInt(args[2]) : 50_000;
+        int window = args.length > 3 ? Integer.parseInt(args[3]) : 256;
+
+        try (AuctionRoomServer rooms = new AuctionRoomServer()) {
+            long[] roomIds = new long[roomCount];
+            for (int r = 0; r < roomCount; r++) {
+                AuctionRoom room = rooms.createRoom(AuctionEngine.IPL_TEAMS, AuctionEngine::sampleRoster);
+                room.start();
+                roomIds[r] = room.getId();
+            }
+            Thread reopener = Thread.ofVirtual().start(() -> {
+                try {
+                    while (true) {
+                        Thread.sleep(REOPEN_INTERVAL_MS);
+                        for (AuctionRoom room : rooms.getRooms()) {
+                            room.execute(() -> room.getEngine().startAuction());
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    // Benchmark finished
+                }
+            });
+            try (BidServer server = new BidServer(rooms, new InetSocketAddress("127.0.0.1", 0))) {
+                InetSocketAddress address = new InetSocketAddress("127.0.0.1", server.getPort());
+                run(address, server, roomIds, clientCount, bids / 10, window, false); // warm up
+                System.out.printf("%,d rooms, %d clients, %,d bids each%n", roomCount, clientCount, bids);
+                System.out.printf("%-16s %12s %9s %9s %9s %11s %12s %12s%n", "Mode", "Bids/s", "Accepted",
+                    "p50 us", "p99 us", "Bids/batch", "Updates enc", "Updates recv");
+                run(address, server, roomIds, clientCount, bids, 1, true);
+                run(address, server, roomIds, clientCount, bids, window, true);
+            } finally {
+                reopener.interrupt();
+            }
+        }
+    }
+
+    private static void run(InetSocketAddress address, BidServer server, long[] roomIds, int clientCount,
+                            int bids, int window, boolean print) throws Exception {
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder updates = new LongAdder();
+        LongAdder accepted = new LongAdder();
+        long batchesBefore = server.getBatchesApplied();
+        long encodedBefore = server.getUpdatesEncoded();
+
+        Thread[] clients = new Thread[clientCount];
+        long start = System.nanoTime();
+        for (int c = 0; c < clientCount; c++) {
+            long room = roomIds[c % roomIds.length];
+            SplittableRandom rand = new SplittableRandom(c);
+            clients[c] = Thread.ofVirtual().start(() -> {
+                try {
+                    runClient(address, room, bids, window, rand, latency, accepted, updates);
+                } catch (IOException | InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        if (print) {
+            long total = (long) bids * clientCount;
+            long batches = server.getBatchesApplied() - batchesBefore;
+            System.out.printf("%-16s %,12.0f %8.1f%% %9.1f %9.1f %11.1f %,12d %,12d%n",
+                window == 1 ? "One at a time" : "Pipelined x" + window, total / seconds,
+                100.0 * accepted.sum() / total, latency.getPercentile(0.5) / 1000.0,
+                latency.getPercentile(0.99) / 1000.0, (double) total / Math.max(batches, 1),
+                server.getUpdatesEncoded() - encodedBefore, updates.sum());
+        }
+    }
+
+    private static void runClient(InetSocketAddress address, long room, int bids, int window, SplittableRandom rand,
+                                  LatencyHistogram latency, LongAdder accepted, LongAdder updates) throws IOException, InterruptedException {
+        long[] sentAt = new long[bids];
+        Semaphore inFlight = new Semaphore(window);
+        try (BidClient client = BidClient.connect(address)) {
+            client.join(room);
+            client.flush();
+            Thread reader = Thread.ofVirtual().start(() -> {
+                try {
+                    client.readLoop(new BidClient.Handler() {
+                        int acked = 0;
+
+                        @Override
+                        public void ack(int request, AuctionEngine.BidResult result) {
+                            latency.record(System.nanoTime() - sentAt[request]);
+                            if (result == AuctionEngine.BidResult.ACCEPTED) {
+                                accepted.increment();
+                            }
+                            inFlight.release();
+                            if (++acked == bids) {
+                                throw new Done();
+                            }
+                        }
+
+                        @Override
+                        public void update(long room, int player, int bidder, int amount, int timeLeft) {
+                            updates.increment();
+                        }
+                    });
+                } catch (Done e) {
+                    // Every bid acked
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            for (int i = 0; i < bids; i++) {
+                if (!inFlight.tryAcquire()) {
+                    client.flush();
+                    inFlight.acquire();
+                }
+                sentAt[i] = System.nanoTime();
+                client.bid(i, room, rand.nextInt(AuctionEngine.IPL_TEAMS.length));
+            }
+            client.flush();
+            reader.join();
+        }
+    }
+
+    private static final class Done extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Done() {
+            super(null, null, false, false);
+        }
+    }
+}
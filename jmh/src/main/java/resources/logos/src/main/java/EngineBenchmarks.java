@@ -0,0 +1,121 @@
+package resources.logos.src.main.java;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// The bidding hot path at growing roster sizes. None of these should depend on the roster
+// size, the parameter is there to catch anything that starts scanning the pool.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class EngineBenchmarks {
+    // Bids per lot before it is reopened, low enough that every team can always afford the next one
+    private static final int BIDS_PER_LOT = 50;
+    // Lots closed per handleBidEnd invocation, enough for every team to fill its squad
+    private static final int LOTS = AuctionEngine.MAX_TEAMS * AuctionEngine.MAX_PLAYERS_PER_TEAM;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    int players;
+
+    private List<PlayerInfo> roster;
+    private AuctionEngine engine;
+    private AuctionEngine strategyEngine;
+    private SplittableRandom rand;
+    private int bids;
+
+    @Setup(Level.Trial)
+    public void createRoster() {
+        roster = BenchmarkRosters.create(players, 42);
+    }
+
+    @Setup(Level.Iteration)
+    public void openLot() {
+        engine = new AuctionEngine(AuctionEngine.IPL_TEAMS, roster);
+        engine.startAuction();
+        strategyEngine = new AuctionEngine(AuctionEngine.IPL_TEAMS, roster);
+        BidderStrategy[] strategies = {new RandomStrategy(), new ValuationStrategy(),
+            new BudgetPacingStrategy(), new RoleNeedStrategy()};
+        for (int t = 0; t < AuctionEngine.IPL_TEAMS.length; t++) {
+            strategyEngine.setStrategy(t, strategies[t % strategies.length]);
+        }
+        strategyEngine.startAuction();
+        rand = new SplittableRandom(42);
+        bids = 0;
+    }
+
+    // Two teams raising each other
+    @Benchmark
+    public AuctionEngine.BidResult placeBid() {
+        if (++bids == BIDS_PER_LOT) {
+            bids = 0;
+            engine.startAuction();
+        }
+        return engine.placeBid(bids & 1);
+    }
+
+    // Default random bidding, as the driver calls it every two seconds
+    @Benchmark
+    public double generateRandomBid() {
+        if (++bids == BIDS_PER_LOT) {
+            bids = 0;
+            engine.startAuction();
+        }
+        engine.generateRandomBid(rand);
+        return engine.getCurrentBid();
+    }
+
+    // The same with every team asking its BidderStrategy
+    @Benchmark
+    public double generateRandomBidWithStrategies() {
+        if (++bids == BIDS_PER_LOT) {
+            bids = 0;
+            strategyEngine.startAuction();
+        }
+        strategyEngine.generateRandomBid(rand);
+        return strategyEngine.getCurrentBid();
+    }
+
+    // A fresh 64-team auction per invocation, so lots keep selling until squads and budgets
+    // run out. Each lot gets one bid first, placeBid above gives that share of the time.
+    // Every lot is a different player, so the roster has at least LOTS of them whatever the
+    // parameter, and the players a sale changes are fresh copies in every invocation.
+    @State(Scope.Thread)
+    public static class Sales {
+        private static final String[] TEAMS = BenchmarkRosters.teams(AuctionEngine.MAX_TEAMS);
+
+        private List<PlayerInfo> roster;
+        AuctionEngine engine;
+
+        @Setup(Level.Trial)
+        public void createRoster(EngineBenchmarks benchmark) {
+            roster = benchmark.players >= LOTS ? benchmark.roster : BenchmarkRosters.create(LOTS, 42);
+        }
+
+        @Setup(Level.Invocation)
+        public void newAuction() {
+            List<PlayerInfo> players = new ArrayList<>(roster);
+            for (int i = 0; i < LOTS; i++) {
+                PlayerInfo player = players.get(i);
+                players.set(i, new PlayerInfo(player.name, player.role, player.basePrice, player.nationality));
+            }
+            engine = new AuctionEngine(TEAMS, players);
+            engine.startAuction();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTS)
+    public int handleBidEnd(Sales sales) {
+        AuctionEngine auction = sales.engine;
+        for (int lot = 0; lot < LOTS; lot++) {
+            auction.placeBid(lot % AuctionEngine.MAX_TEAMS);
+            auction.handleBidEnd();
+        }
+        return auction.getSoldCount();
+    }
+}
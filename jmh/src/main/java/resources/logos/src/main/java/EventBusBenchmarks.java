@@ -0,0 +1,88 @@
+package resources.logos.src.main.java;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.openjdk.jmh.annotations.*;
+
+// Cost of an accepted bid to the engine's thread with the event bus attached: without a
+// bus, with one subscriber that keeps up, and with that subscriber plus one that takes a
+// millisecond per event. The slow one should only cost dropped events, not bid latency.
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class EventBusBenchmarks {
+    private static final int BIDS_PER_LOT = 50;
+
+    @Param({"none", "fast", "fast+slow"})
+    String subscribers;
+
+    private AuctionEngine engine;
+    private AuctionEventBus bus;
+    private int bids;
+
+    @Setup(Level.Trial)
+    public void attachBus() {
+        engine = new AuctionEngine(AuctionEngine.IPL_TEAMS, BenchmarkRosters.create(1000, 42));
+        engine.startAuction();
+        if (subscribers.equals("none")) {
+            return;
+        }
+        bus = new AuctionEventBus(engine);
+        engine.addListener(bus);
+        bus.subscribe(new AuctionListener() { }, "fast", AuctionEventBus.DEFAULT_CAPACITY,
+            AuctionEventBus.Overflow.DROP_OLDEST);
+        if (subscribers.endsWith("slow")) {
+            bus.subscribe(new SlowSubscriber(), "slow", AuctionEventBus.DEFAULT_CAPACITY,
+                AuctionEventBus.Overflow.DROP_OLDEST);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closeBus() {
+        if (bus != null) {
+            for (AuctionEventBus.Channel channel : bus.getChannels()) {
+                System.out.printf("%n%s: %,d delivered, %,d dropped%n", channel.getName(),
+                    channel.getDelivered(), channel.getDropped());
+            }
+            bus.close();
+        }
+    }
+
+    // Two teams raising each other
+    @Benchmark
+    public AuctionEngine.BidResult placeBid() {
+        if (++bids == BIDS_PER_LOT) {
+            bids = 0;
+            engine.startAuction();
+        }
+        return engine.placeBid(bids & 1);
+    }
+
+    // Asks for one event at a time and spends a millisecond on each
+    private static final class SlowSubscriber implements Flow.Subscriber<AuctionEvent> {
+        private Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(AuctionEvent event) {
+            LockSupport.parkNanos(1_000_000);
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
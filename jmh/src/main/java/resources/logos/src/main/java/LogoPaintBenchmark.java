@@ -0,0 +1,76 @@
+package resources.logos.src.main.java;
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+
+// Measures the cost of painting all ten team cards once per frame,
+// decoding the logo on every paint versus using the TeamLogos card cache.
+// The logos come from the core jar, which benchmarks.jar includes.
+public class LogoPaintBenchmark {
+    private static final String[] TEAMS = TeamLogos.TEAM_LOGOS.keySet().toArray(new String[0]);
+    private static final int CARD_SIZE = 180;
+    private static final int WARMUP_FRAMES = 20;
+    private static final int MEASURED_FRAMES = 100;
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        BufferedImage screen = new BufferedImage(CARD_SIZE, CARD_SIZE, BufferedImage.TYPE_INT_RGB);
+
+        double before = measure(screen, true);
+        double after = measure(screen, false);
+
+        System.out.printf("Decode on every paint: %.3f ms/frame%n", before);
+        System.out.printf("Cached card logos:     %.3f ms/frame%n", after);
+        System.out.printf("Speedup:               %.1fx%n", before / after);
+    }
+
+    private static double measure(BufferedImage screen, boolean decodeEveryPaint) {
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            paintFrame(screen, decodeEveryPaint);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            paintFrame(screen, decodeEveryPaint);
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / MEASURED_FRAMES;
+    }
+
+    private static void paintFrame(BufferedImage screen, boolean decodeEveryPaint) {
+        for (String team : TEAMS) {
+            Graphics2D g2d = screen.createGraphics();
+            if (decodeEveryPaint) {
+                paintUncached(g2d, team);
+            } else {
+                g2d.drawImage(TeamLogos.getCardLogo(team, Color.DARK_GRAY, CARD_SIZE, CARD_SIZE, null), 0, 0, null);
+            }
+            g2d.dispose();
+        }
+    }
+
+    // Same steps the team card used to run on every repaint
+    private static void paintUncached(Graphics2D g2d, String team) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.setColor(Color.DARK_GRAY);
+        g2d.fillRect(0, 0, CARD_SIZE, CARD_SIZE);
+
+        try (InputStream logoStream = LogoPaintBenchmark.class.getResourceAsStream("/resources/logos/" + team + ".png")) {
+            if (logoStream == null) {
+                throw new IOException("Could not find logo for " + team);
+            }
+            BufferedImage logo = ImageIO.read(logoStream);
+            double logoRatio = (double) logo.getWidth() / logo.getHeight();
+            int logoWidth = CARD_SIZE, logoHeight = CARD_SIZE;
+            if (logoRatio > 1) {
+                logoWidth = (int)(CARD_SIZE * logoRatio);
+            } else {
+                logoHeight = (int)(CARD_SIZE / logoRatio);
+            }
+            g2d.drawImage(logo, (CARD_SIZE - logoWidth) / 2, (CARD_SIZE - logoHeight) / 2, logoWidth, logoHeight, null);
+        } catch (IOException e) {
+            System.err.println("Error loading logo for " + team + ": " + e.getMessage());
+        }
+    }
+}
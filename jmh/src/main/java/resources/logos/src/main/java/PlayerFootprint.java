@@ -0,0 +1,29 @@
+package resources.logos.src.main.java;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.openjdk.jol.info.GraphLayout;
+
+// Heap retained by a roster held as List<PlayerInfo> and as a PlayerStore, walked with JOL so
+// the numbers do not depend on GC timing. Roles and nationalities are shared strings, as
+// RosterLoader produces them. Usage: PlayerFootprint [players]
+public class PlayerFootprint {
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<PlayerInfo> players = BenchmarkRosters.create(count, 42);
+        SplittableRandom rand = new SplittableRandom(7);
+        for (PlayerInfo player : players) {
+            if (rand.nextInt(3) == 0) {
+                player.purchasedBy = AuctionEngine.IPL_TEAMS[rand.nextInt(AuctionEngine.IPL_TEAMS.length)];
+                player.finalPrice = player.basePrice + 500 * rand.nextInt(10);
+            }
+        }
+        PlayerStore store = PlayerStore.of(AuctionEngine.IPL_TEAMS, players);
+
+        long listBytes = GraphLayout.parseInstance(players).totalSize();
+        long storeBytes = GraphLayout.parseInstance(store).totalSize();
+        System.out.printf("%,d players%n", count);
+        System.out.printf("%-18s %14s %12s%n", "Layout", "Heap (bytes)", "Per player");
+        System.out.printf("%-18s %,14d %12.1f%n", "List<PlayerInfo>", listBytes, (double) listBytes / count);
+        System.out.printf("%-18s %,14d %12.1f%n", "PlayerStore", storeBytes, (double) storeBytes / count);
+    }
+}
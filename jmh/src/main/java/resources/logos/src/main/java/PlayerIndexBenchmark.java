@@ -0,0 +1,76 @@
+package resources.logos.src.main.java;
+import java.util.List;
+import java.util.Random;
+
+// Compares PlayerIndex queries against linear scans of the player list.
+// Usage: PlayerIndexBenchmark [players]
+public class PlayerIndexBenchmark {
+    private static final int ITERATIONS = 50;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        AuctionEngine engine = new AuctionEngine(AuctionEngine.IPL_TEAMS, List.of(new PlayerInfo("", "", 1, "")));
+        PlayerIndex index = new PlayerIndex(engine);
+        engine.addListener(index);
+        AuctionState state = BenchmarkRosters.createState(count, new Random(42));
+        long start = System.nanoTime();
+        engine.restore(state);
+        System.out.printf("%,d players, restore and index build %.0f ms%n", count, (System.nanoTime() - start) / 1e6);
+
+        List<PlayerInfo> players = engine.getPlayers();
+        String[] teams = engine.getTeams();
+        int[] sink = new int[1];
+
+        double scanBowlers = time(() -> {
+            int matches = 0;
+            for (PlayerInfo p : players) {
+                if (p.purchasedBy == null && p.role.equals("Bowler") && p.basePrice < 10_000) {
+                    matches++;
+                }
+            }
+            sink[0] = matches;
+        });
+        int scanned = sink[0];
+        double indexBowlers = time(() -> sink[0] = index.query().role("Bowler").unsold().basePriceBelow(10_000).count());
+        check(scanned, sink[0]);
+
+        double scanOverseas = time(() -> {
+            int[] counts = new int[teams.length];
+            for (PlayerInfo p : players) {
+                if (p.purchasedBy != null && !p.nationality.equals(PlayerIndex.HOME_NATIONALITY)) {
+                    for (int t = 0; t < teams.length; t++) {
+                        if (teams[t].equals(p.purchasedBy)) {
+                            counts[t]++;
+                        }
+                    }
+                }
+            }
+            sink[0] = counts[0];
+        });
+        scanned = sink[0];
+        double indexOverseas = time(() -> sink[0] = index.getOverseasCountByTeam()[0]);
+        check(scanned, sink[0]);
+
+        System.out.printf("%-36s %12s %12s%n", "Query", "Scan (ms)", "Index (ms)");
+        System.out.printf("%-36s %12.2f %12.2f%n", "Unsold bowlers under 10,000 base", scanBowlers, indexBowlers);
+        System.out.printf("%-36s %12.2f %12.2f%n", "Overseas players per team", scanOverseas, indexOverseas);
+    }
+
+    private static void check(int expected, int actual) {
+        if (expected != actual) {
+            throw new IllegalStateException("Index returned " + actual + ", scan found " + expected);
+        }
+    }
+
+    // Average milliseconds per run after a warm-up pass
+    private static double time(Runnable task) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            task.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            task.run();
+        }
+        return (System.nanoTime() - start) / 1e6 / ITERATIONS;
+    }
+}
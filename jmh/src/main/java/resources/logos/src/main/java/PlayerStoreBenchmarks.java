@@ -0,0 +1,82 @@
+package resources.logos.src.main.java;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// List<PlayerInfo> against PlayerStore with a third of the roster sold: summing what was paid
+// for bowlers, and getting a fresh set of players for the next simulated auction, either by
+// copying the roster as MonteCarloSimulator used to or by resetting one set from the store.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class PlayerStoreBenchmarks {
+    private static final String BOWLER = "Bowler";
+
+    @Param({"250", "100000", "1000000"})
+    int players;
+
+    private List<PlayerInfo> list;
+    private PlayerStore store;
+    private int bowlerId;
+    private List<PlayerInfo> working;
+
+    @Setup(Level.Trial)
+    public void createRoster() {
+        list = BenchmarkRosters.create(players, 42);
+        SplittableRandom rand = new SplittableRandom(7);
+        for (PlayerInfo player : list) {
+            if (rand.nextInt(3) == 0) {
+                player.purchasedBy = AuctionEngine.IPL_TEAMS[rand.nextInt(AuctionEngine.IPL_TEAMS.length)];
+                player.finalPrice = player.basePrice + 500 * rand.nextInt(10);
+            }
+        }
+        store = PlayerStore.of(AuctionEngine.IPL_TEAMS, list);
+        bowlerId = store.labelId(BOWLER);
+        working = store.toPlayerInfoList();
+        if (scanList() != scanStore()) {
+            throw new IllegalStateException("Scans disagree");
+        }
+    }
+
+    @Benchmark
+    public long scanList() {
+        long total = 0;
+        for (PlayerInfo p : list) {
+            if (p.purchasedBy != null && p.role.equals(BOWLER)) {
+                total += p.finalPrice;
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long scanStore() {
+        long total = 0;
+        for (int id = 0; id < store.size(); id++) {
+            if (store.isSold(id) && store.getRoleId(id) == bowlerId) {
+                total += store.getFinalPrice(id);
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public List<PlayerInfo> copyRoster() {
+        List<PlayerInfo> copy = new ArrayList<>(list.size());
+        for (PlayerInfo p : list) {
+            copy.add(new PlayerInfo(p.name, p.role, p.basePrice, p.nationality));
+        }
+        return copy;
+    }
+
+    @Benchmark
+    public List<PlayerInfo> resetPlayers() {
+        store.resetPlayers(working);
+        return working;
+    }
+}
@@ -0,0 +1,105 @@
+package resources.logos.src.main.java;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Records a long auction in virtual time, then measures how quickly AuctionReplay can
+// reconstruct any moment of it. Seeks are checked against the live engine's state, which
+// is sampled during the recording at times that fall between scheduled events.
+// Usage: ReplayBenchmark [hours] [seeks]
+public class ReplayBenchmark {
+    private static final long SAMPLE_PERIOD = 60_000;
+
+    public static void main(String[] args) throws IOException {
+        double hours = args.length > 0 ? Double.parseDouble(args[0]) : 10;
+        int seeks = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int lots = (int) (hours * 3600 / AuctionEngine.BID_DURATION);
+        Path file = Files.createTempFile("auction", AuctionRecorder.EXTENSION);
+
+        // Record the auction, sampling the live state once a minute
+        AuctionEngine live = new AuctionEngine(AuctionEngine.IPL_TEAMS, StrategyTournament.generateRoster(lots, 42));
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        AuctionDriver driver = AuctionDriver.attach(live, scheduler, new SplittableRandom(42));
+        driver.setStopWhenComplete(true);
+        // Sampled half a second off the tick and bid schedule, so no event shares the time
+        List<Long> sampleTimes = new ArrayList<>();
+        List<String> samples = new ArrayList<>();
+        scheduler.schedule(500, () -> scheduler.scheduleAtFixedRate(SAMPLE_PERIOD, () -> {
+            if (driver.isRunning()) {
+                sampleTimes.add(scheduler.now());
+                samples.add(fingerprint(live));
+            }
+        }));
+        AuctionRecorder recorder = AuctionRecorder.create(live, file, scheduler::now);
+        live.startAuction();
+        driver.start();
+        while (driver.isRunning() && scheduler.step()) {
+            // Until the last lot is decided
+        }
+        recorder.close();
+        long recorded = scheduler.now();
+
+        long start = System.nanoTime();
+        AuctionReplay replay = AuctionReplay.open(file);
+        double openMillis = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%.1f hours, %,d lots, %,d records, %,d checkpoints, %,d bytes (%.1f B/record)%n",
+            replay.getDuration() / 3_600_000.0, lots, replay.getRecordCount(), replay.getCheckpointCount(),
+            Files.size(file), (double) Files.size(file) / replay.getRecordCount());
+        System.out.printf("Open and index: %.1f ms%n", openMillis);
+
+        // Every sampled moment must come back exactly
+        int checked = 0;
+        for (int i = 0; i < samples.size(); i++) {
+            replay.seek(sampleTimes.get(i));
+            if (!fingerprint(replay.getEngine()).equals(samples.get(i))) {
+                throw new IllegalStateException("Seek to " + sampleTimes.get(i) + " ms differs:\n  live   "
+                    + samples.get(i) + "\n  replay " + fingerprint(replay.getEngine()));
+            }
+            checked++;
+        }
+        replay.seek(recorded);
+        if (!fingerprint(replay.getEngine()).equals(fingerprint(live))) {
+            throw new IllegalStateException("Final state differs");
+        }
+        System.out.printf("Checked %,d sampled moments and the final state%n", checked);
+
+        // Random jumps anywhere in the auction
+        LatencyHistogram latency = new LatencyHistogram();
+        SplittableRandom rand = new SplittableRandom(7);
+        for (int round = 0; round < 2; round++) {
+            latency.reset(); // First round is warm-up
+            for (int i = 0; i < seeks; i++) {
+                long target = rand.nextLong(replay.getDuration() + 1);
+                long seekStart = System.nanoTime();
+                replay.seek(target);
+                latency.record(System.nanoTime() - seekStart);
+            }
+        }
+        System.out.printf("Seek: p50 %.3f ms, p99 %.3f ms, max %.3f ms over %,d random jumps%n",
+            latency.getPercentile(0.5) / 1e6, latency.getPercentile(0.99) / 1e6, latency.getMax() / 1e6, seeks);
+
+        // Playback with listener calls, as the window sees it
+        replay.seek(0);
+        start = System.nanoTime();
+        replay.advanceTo(replay.getDuration());
+        double playMillis = (System.nanoTime() - start) / 1e6;
+        if (!fingerprint(replay.getEngine()).equals(fingerprint(live))) {
+            throw new IllegalStateException("Playback ends in a different state");
+        }
+        System.out.printf("Full playback: %.1f ms (%.0fx real time)%n", playMillis, replay.getDuration() / playMillis);
+        Files.delete(file);
+    }
+
+    private static String fingerprint(AuctionEngine engine) {
+        StringBuilder s = new StringBuilder();
+        s.append(engine.getCurrentPlayerIndex()).append(' ').append((int) engine.getCurrentBid()).append(' ')
+            .append(engine.getHighestBidderId()).append(' ').append(engine.getTimeLeft()).append(" |");
+        for (int t = 0; t < engine.getTeamCount(); t++) {
+            s.append(' ').append(engine.getTeamBudget(t)).append('/').append(engine.getTeamPlayers(t).size());
+        }
+        return s.toString();
+    }
+}
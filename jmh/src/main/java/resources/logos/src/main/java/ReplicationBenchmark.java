@@ -0,0 +1,258 @@
+package resources.logos.src.main.java;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// What replication adds to a bid: the time from when a bid is due until the leader has it
+// committed, at a steady rate, with no followers and then with each extra follower running
+// as a JVM of its own on localhost. Bids are sent on schedule whether or not earlier ones
+// have completed, so a stall shows up in the latency of every bid it delays. Two teams
+// raise each other and the lot is reopened every BIDS_PER_LOT bids, so bids keep being
+// accepted at any rate.
+//
+// The last round then checks failover: the leader is stopped mid-stream, and the follower
+// that takes over must hold at least every committed entry, with its engine in exactly the
+// state the old leader's was in at its last entry.
+//
+// Usage: ReplicationBenchmark [bids per second] [seconds] [followers] [first port]
+public class ReplicationBenchmark {
+    private static final int BIDS_PER_LOT = 50;
+    private static final long WARM_UP_NANOS = 3_000_000_000L;
+    private static final long TAKEOVER_TIMEOUT_MS = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        int rate = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int maxFollowers = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        int firstPort = args.length > 3 ? Integer.parseInt(args[3]) : 47100;
+
+        System.out.printf("%,d bids/s for %d s after %d s warm-up%n", rate, seconds, WARM_UP_NANOS / 1_000_000_000L);
+        for (int followers = 0; followers <= maxFollowers; followers++) {
+            int[] ports = new int[followers + 1];
+            for (int p = 0; p < ports.length; p++) {
+                ports[p] = firstPort + 10 * followers + p;
+            }
+            boolean failover = followers == maxFollowers && followers > 0;
+            if (!round(ports, rate, seconds, failover)) {
+                System.exit(1);
+            }
+        }
+    }
+
+    private static boolean round(int[] ports, int rate, int seconds, boolean failover) throws Exception {
+        int followers = ports.length - 1;
+        ReplicatedAuctionNode node = new ReplicatedAuctionNode(0, ports, followers);
+        ReplicationLeader leader = node.lead(StrategyTournament.generateRoster(1000, 42));
+        AuctionRoom room = node.getRoom();
+        Map<Long, String> fingerprints = new HashMap<>();
+        if (failover) {
+            recordFingerprints(room, leader.getLog(), fingerprints);
+        }
+        List<Process> processes = new ArrayList<>();
+        try {
+            for (int f = 1; f <= followers; f++) {
+                processes.add(startFollower(f, ports));
+            }
+            long deadline = System.currentTimeMillis() + 30_000;
+            while (leader.getInSyncCount() < followers) {
+                if (System.currentTimeMillis() > deadline) {
+                    System.out.printf("%d followers: only %d in sync after 30 s%n", followers, leader.getInSyncCount());
+                    return false;
+                }
+                Thread.sleep(10);
+            }
+
+            LatencyHistogram latency = new LatencyHistogram();
+            AtomicLong failed = new AtomicLong();
+            long rejected = bid(leader, room, rate, seconds, latency, failed);
+            System.out.printf("%d followers: %,d committed, %,d rejected, %,d failed; commit latency p50 %.1f us, "
+                    + "p99 %.1f us, p99.9 %.1f us, max %.1f us%n", followers, latency.getCount(), rejected,
+                failed.get(), latency.getPercentile(0.5) / 1000.0, latency.getPercentile(0.99) / 1000.0,
+                latency.getPercentile(0.999) / 1000.0, latency.getMax() / 1000.0);
+            if (failover) {
+                return checkFailover(node, leader, ports, fingerprints);
+            }
+            return true;
+        } finally {
+            node.crash();
+            for (Process process : processes) {
+                process.destroy();
+                process.waitFor();
+            }
+        }
+    }
+
+    // Paced bids until the end of the run, returns how many were rejected
+    private static long bid(ReplicationLeader leader, AuctionRoom room, int rate, int seconds,
+                            LatencyHistogram latency, AtomicLong failed) {
+        long interval = 1_000_000_000L / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + WARM_UP_NANOS;
+        long end = measureFrom + seconds * 1_000_000_000L;
+        AtomicLong rejected = new AtomicLong();
+        int teamCount = AuctionEngine.IPL_TEAMS.length;
+        long due = start;
+        for (long bids = 0; due < end; bids++, due += interval) {
+            LockSupport.parkNanos(due - System.nanoTime());
+            if (bids % BIDS_PER_LOT == 0) {
+                room.execute(() -> room.getEngine().startAuction());
+            }
+            long lot = bids / BIDS_PER_LOT;
+            int team = (int) ((lot + (bids & 1)) % teamCount);
+            long bidDue = due;
+            leader.placeBid(team).whenComplete((result, error) -> {
+                if (bidDue < measureFrom) {
+                    return;
+                }
+                if (error != null) {
+                    failed.incrementAndGet();
+                } else if (result == AuctionEngine.BidResult.ACCEPTED) {
+                    latency.record(System.nanoTime() - bidDue);
+                } else {
+                    rejected.incrementAndGet();
+                }
+            });
+        }
+        return rejected.get();
+    }
+
+    // Stops the leader with bids in flight and waits for a follower to take over
+    private static boolean checkFailover(ReplicatedAuctionNode node, ReplicationLeader leader, int[] ports,
+                                         Map<Long, String> fingerprints) throws Exception {
+        for (int team = 0; team < 20; team++) {
+            leader.placeBid(team & 1);
+        }
+        node.crash();
+        long crashed = System.nanoTime();
+        long committed = leader.getCommitIndex();
+        long lastIndex = leader.getLog().lastIndex();
+
+        long deadline = System.currentTimeMillis() + TAKEOVER_TIMEOUT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            for (int p = 1; p < ports.length; p++) {
+                ReplicationProtocol.State state = readState(ports[p]);
+                if (state == null) {
+                    continue;
+                }
+                long taken = state.index() - 1; // The new leader's STATE follows the last entry it had
+                String expected;
+                synchronized (fingerprints) {
+                    expected = fingerprints.get(taken);
+                }
+                AuctionState snapshot = SnapshotCodec.decode(state.snapshot());
+                AuctionEngine engine = new AuctionEngine(state.teams(), snapshot.players);
+                engine.restore(snapshot, false);
+                boolean complete = taken >= committed;
+                boolean matches = fingerprint(engine).equals(expected);
+                System.out.printf("Failover: node %d took over term %d in %d ms with entries up to %,d "
+                        + "(committed %,d, last %,d): %s%n", p, state.term(), (System.nanoTime() - crashed) / 1_000_000,
+                    taken, committed, lastIndex, complete && matches ? "no committed entry lost, state matches"
+                        : !complete ? "LOST COMMITTED ENTRIES" : "STATE DIFFERS");
+                return complete && matches;
+            }
+            Thread.sleep(50);
+        }
+        System.out.println("Failover: no follower took over");
+        return false;
+    }
+
+    // The first STATE a leader on the port sends, null if nobody leads there
+    private static ReplicationProtocol.State readState(int port) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("localhost", port), 200);
+            socket.setSoTimeout(2000);
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            ReplicationProtocol.writeHello(out, -1, -1, -1);
+            out.flush();
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            return in.readByte() == ReplicationProtocol.STATE ? ReplicationProtocol.readState(in) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Engine fingerprint after every entry the leader appends
+    private static void recordFingerprints(AuctionRoom room, ReplicationLog log, Map<Long, String> fingerprints) {
+        var recorder = new AuctionListener() {
+            private long recorded = -1;
+
+            @Override
+            public void lotStarted(PlayerInfo player) {
+                record();
+            }
+
+            @Override
+            public void bidPlaced(String team, int amount) {
+                record();
+            }
+
+            @Override
+            public void timerTicked(int timeLeft) {
+                record();
+            }
+
+            @Override
+            public void playerSold(PlayerInfo player, String team, int price) {
+                record();
+            }
+
+            @Override
+            public void playerUnsold(PlayerInfo player) {
+                record();
+            }
+
+            // Listeners run after the leader's, so every entry up to the last one has been
+            // appended, and any entry since the last call left the engine as it is now
+            private void record() {
+                String fingerprint = fingerprint(room.getEngine());
+                synchronized (fingerprints) {
+                    for (long index = recorded + 1; index <= log.lastIndex(); index++) {
+                        fingerprints.put(index, fingerprint);
+                    }
+                }
+                recorded = log.lastIndex();
+            }
+        };
+        room.query(engine -> {
+            engine.addListener(recorder);
+            recorder.record();
+            return null;
+        }).join();
+    }
+
+    private static String fingerprint(AuctionEngine engine) {
+        StringJoiner s = new StringJoiner(",");
+        s.add("lot " + engine.getCurrentPlayerIndex()).add("bid " + (int) engine.getCurrentBid())
+            .add("by " + engine.getHighestBidderId()).add("time " + engine.getTimeLeft())
+            .add("sold " + engine.getSoldCount());
+        for (int t = 0; t < engine.getTeamCount(); t++) {
+            s.add(engine.getTeamBudget(t) + "/" + engine.getTeamPlayers(t).size());
+        }
+        return s.toString();
+    }
+
+    private static Process startFollower(int id, int[] ports) throws IOException {
+        StringJoiner portList = new StringJoiner(",");
+        for (int port : ports) {
+            portList.add(Integer.toString(port));
+        }
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+            ReplicatedAuctionNode.class.getName(), Integer.toString(id), portList.toString(), "0",
+            Integer.toString(ports.length - 1))
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .redirectError(ProcessBuilder.Redirect.INHERIT)
+            .start();
+    }
+}
@@ -0,0 +1,87 @@
+package resources.logos.src.main.java;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+// Shows that time to the first player stays flat as the roster grows, for both the
+// streamed CSV and the memory-mapped binary roster, and reports full-scan throughput.
+// Usage: RosterBenchmark [largest roster size]
+public class RosterBenchmark {
+    private static final String[] ROLES = {"Batsman", "Bowler", "All-Rounder", "Wicketkeeper"};
+    private static final String[] NATIONALITIES = {"India", "Australia", "England", "New Zealand", "South Africa"};
+
+    public static void main(String[] args) throws IOException {
+        int largest = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path dir = Files.createTempDirectory("roster-benchmark");
+
+        run(dir, 10_000, false); // warm up
+        System.out.printf("%12s %16s %16s %14s %14s%n", "Players", "CSV first (ms)", "Binary first (ms)",
+            "CSV scan (ms)", "Binary scan (ms)");
+        for (int count = 10_000; count <= largest; count *= 10) {
+            run(dir, count, true);
+        }
+        Files.delete(dir);
+    }
+
+    private static void run(Path dir, int count, boolean print) throws IOException {
+        Path csv = dir.resolve("players-" + count + ".csv");
+        Path binary = dir.resolve("players-" + count + BinaryRoster.EXTENSION);
+        generateCsv(csv, count, new Random(count));
+        RosterLoader.convertToBinary(csv, binary, null);
+
+        long start = System.nanoTime();
+        try (RosterLoader.CsvReader reader = RosterLoader.streamCsv(csv, null)) {
+            new AuctionEngine(AuctionEngine.IPL_TEAMS, reader).getCurrentPlayer();
+        }
+        double csvFirst = millisSince(start);
+
+        start = System.nanoTime();
+        new AuctionEngine(AuctionEngine.IPL_TEAMS, BinaryRoster.open(binary).asList()).getCurrentPlayer();
+        double binaryFirst = millisSince(start);
+
+        start = System.nanoTime();
+        int scanned = 0;
+        try (RosterLoader.CsvReader reader = RosterLoader.streamCsv(csv, null)) {
+            while (reader.hasNext()) {
+                reader.next();
+                scanned++;
+            }
+        }
+        double csvScan = millisSince(start);
+
+        start = System.nanoTime();
+        List<PlayerInfo> players = BinaryRoster.open(binary).asList();
+        for (Iterator<PlayerInfo> it = players.iterator(); it.hasNext(); it.next()) {
+            scanned--;
+        }
+        double binaryScan = millisSince(start);
+        if (scanned != 0) {
+            throw new IllegalStateException("CSV and binary rosters differ in size");
+        }
+
+        if (print) {
+            System.out.printf("%,12d %16.2f %16.2f %14.1f %14.1f%n", count, csvFirst, binaryFirst, csvScan, binaryScan);
+        }
+        Files.delete(csv);
+        Files.delete(binary);
+    }
+
+    private static void generateCsv(Path path, int count, Random rand) throws IOException {
+        try (Writer out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            out.write("name,role,basePrice,nationality\n");
+            for (int i = 0; i < count; i++) {
+                out.write("Player " + i + "," + ROLES[rand.nextInt(ROLES.length)] + ","
+                    + (AuctionEngine.MIN_BID + 500 * rand.nextInt(30)) + ","
+                    + NATIONALITIES[rand.nextInt(NATIONALITIES.length)] + "\n");
+            }
+        }
+    }
+
+    private static double millisSince(long start) {
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+}
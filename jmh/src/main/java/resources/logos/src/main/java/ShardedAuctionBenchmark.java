@@ -0,0 +1,182 @@
+package resources.logos.src.main.java;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.locks.LockSupport;
+
+// How LotScheduler's bid throughput scales with the number of lots running at once. Every
+// shard gets the same number of lots and a bidder thread of its own, which bids for random
+// teams and closes the lot after a fixed number of bids, so ideally the time stays the same as
+// shards are added and bids/s grows with them up to the number of cores. All shards share
+// one ledger of 64 teams, whose budgets and squads are large enough to keep bids accepted.
+//
+// Then a check under the engine's own rules: the IPL teams bid on parallel sessions per
+// role, with lots closed by a timer, followed by an accelerated round for the unsold
+// players. No team may end up over budget, over its squad or overseas limits, or unable
+// to afford a minimum squad. Exits with status 1 if either run breaks a ledger invariant.
+//
+// Usage: ShardedAuctionBenchmark [max shards] [lots per shard] [bids per lot]
+public class ShardedAuctionBenchmark {
+    private static final int TEAMS = 64;
+    private static final int LEDGER_BUDGET = 1_000_000_000;
+    private static final int LEDGER_SQUAD = 60_000;
+
+    public static void main(String[] args) throws Exception {
+        int maxShards = args.length > 0 ? Integer.parseInt(args[0]) : 2 * Runtime.getRuntime().availableProcessors();
+        int lotsPerShard = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int bidsPerLot = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+
+        String[] teams = new String[TEAMS];
+        for (int t = 0; t < TEAMS; t++) {
+            teams[t] = "Team " + t;
+        }
+        System.out.printf("%d cores, %,d lots per shard, %d bids per lot%n",
+            Runtime.getRuntime().availableProcessors(), lotsPerShard, bidsPerLot);
+        for (int shards = 1; shards <= maxShards; shards *= 2) {
+            run(create(teams, shards, lotsPerShard / 4), bidsPerLot); // warm up
+        }
+        double single = 0;
+        boolean consistent = true;
+        for (int shards = 1; shards <= maxShards; shards *= 2) {
+            LotScheduler auction = create(teams, shards, lotsPerShard);
+            double seconds = run(auction, bidsPerLot) / 1e9;
+            double throughput = (double) shards * lotsPerShard * bidsPerLot / seconds;
+            single = shards == 1 ? throughput : single;
+            System.out.printf("%3d shards: %,6d ms, %,12.0f bids/s (%.2fx), %,d ledger retries%n", shards,
+                Math.round(seconds * 1000), throughput, throughput / single, auction.getLedger().getRetries());
+            consistent &= check(auction, shards * lotsPerShard);
+        }
+        consistent &= checkRules();
+        if (!consistent) {
+            System.exit(1);
+        }
+    }
+
+    // Lots close when the shard's bidder has placed its bids, not on a timer
+    private static LotScheduler create(String[] teams, int shardCount, int lotsPerShard) {
+        List<PlayerInfo> players = StrategyTournament.generateRoster(shardCount * lotsPerShard, 42);
+        BudgetLedger ledger = new BudgetLedger(teams.length, LEDGER_BUDGET, LEDGER_SQUAD, 0, LEDGER_SQUAD);
+        return LotScheduler.create(teams, players, LotScheduler.roundRobin(players.size(), shardCount), ledger, 0, null);
+    }
+
+    // Nanoseconds until every shard has closed its last lot
+    private static long run(LotScheduler auction, int bidsPerLot) throws InterruptedException {
+        int teamCount = auction.getTeams().length;
+        auction.start();
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Thread> bidders = new ArrayList<>();
+        for (LotShard shard : auction.getShards()) {
+            SplittableRandom rand = new SplittableRandom(shard.getId());
+            bidders.add(Thread.ofPlatform().name("bidder-" + shard.getId()).start(() -> {
+                try {
+                    ready.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                while (!shard.whenFinished().isDone()) {
+                    for (int b = 0; b < bidsPerLot; b++) {
+                        shard.placeBid(rand.nextInt(teamCount));
+                    }
+                    shard.closeLot();
+                }
+            }));
+        }
+        long start = System.nanoTime();
+        ready.countDown();
+        for (Thread bidder : bidders) {
+            bidder.join();
+        }
+        return System.nanoTime() - start;
+    }
+
+    // The engine's rules, with lots closed by a timer and a bid on every shard every millisecond
+    private static boolean checkRules() throws InterruptedException {
+        String[] teams = AuctionEngine.IPL_TEAMS;
+        List<PlayerInfo> players = StrategyTournament.generateRoster(400, 7);
+        ScheduledExecutorService timers = Executors.newScheduledThreadPool(2);
+        try {
+            AuctionScheduler scheduler = new RoomScheduler(timers, Runnable::run);
+            LotScheduler auction = LotScheduler.create(teams, players, LotScheduler.byRole(players),
+                new BudgetLedger(teams.length), 20, scheduler);
+            bidUntilFinished(auction, teams.length);
+            LotScheduler accelerated = auction.nextRound(5, 4);
+            int unsold = auction.getUnsoldCount();
+            bidUntilFinished(accelerated, teams.length);
+            System.out.printf("Rules: %d role sessions of %,d players, %,d unsold then %,d after the accelerated round%n",
+                auction.getShardCount(), players.size(), unsold, accelerated.getUnsoldCount());
+            return check(accelerated, players.size()) & checkSquads(accelerated);
+        } finally {
+            timers.shutdownNow();
+        }
+    }
+
+    private static void bidUntilFinished(LotScheduler auction, int teamCount) throws InterruptedException {
+        auction.start();
+        List<Thread> bidders = new ArrayList<>();
+        for (LotShard shard : auction.getShards()) {
+            SplittableRandom rand = new SplittableRandom(shard.getId());
+            bidders.add(Thread.ofPlatform().start(() -> {
+                while (!shard.whenFinished().isDone()) {
+                    shard.placeBid(rand.nextInt(teamCount));
+                    LockSupport.parkNanos(1_000_000);
+                }
+            }));
+        }
+        for (Thread bidder : bidders) {
+            bidder.join();
+        }
+    }
+
+    // Once every lot has closed nothing is left reserved: what each team has not spent is
+    // available, and its open places are what its squad has not filled
+    private static boolean check(LotScheduler auction, int lots) {
+        BudgetLedger ledger = auction.getLedger();
+        List<String> failures = new ArrayList<>();
+        int sold = 0;
+        for (int t = 0; t < ledger.getTeamCount(); t++) {
+            List<PlayerInfo> squad = auction.getSquad(t);
+            long paid = 0;
+            int overseas = 0;
+            for (PlayerInfo player : squad) {
+                paid += player.finalPrice;
+                overseas += SquadConstraints.isOverseas(player) ? 1 : 0;
+            }
+            sold += squad.size();
+            if (paid != ledger.getSpent(t) || ledger.getAvailable(t) != ledger.getBudget() - paid
+                    || ledger.getOpenPlaces(t) != ledger.getMaxSquad() - squad.size()
+                    || ledger.getOpenOverseasPlaces(t) != ledger.getMaxOverseas() - overseas) {
+                failures.add(String.format("%s paid %,d of %,d spent, %,d available, %d places for %d players",
+                    auction.getTeams()[t], paid, ledger.getSpent(t), ledger.getAvailable(t),
+                    ledger.getOpenPlaces(t), squad.size()));
+            }
+        }
+        if (sold + auction.getUnsoldCount() != lots) {
+            failures.add(String.format("%,d sold and %,d unsold of %,d lots", sold, auction.getUnsoldCount(), lots));
+        }
+        for (String failure : failures) {
+            System.out.println("LEDGER MISMATCH: " + failure);
+        }
+        return failures.isEmpty();
+    }
+
+    private static boolean checkSquads(LotScheduler auction) {
+        boolean ok = true;
+        for (int t = 0; t < auction.getTeams().length; t++) {
+            List<PlayerInfo> squad = auction.getSquad(t);
+            int spent = auction.getLedger().getSpent(t);
+            int needed = Math.max(0, AuctionEngine.MIN_PLAYERS_PER_TEAM - squad.size());
+            long overseas = squad.stream().filter(SquadConstraints::isOverseas).count();
+            if (spent + needed * AuctionEngine.MIN_BID > AuctionEngine.TEAM_BUDGET
+                    || squad.size() > AuctionEngine.MAX_PLAYERS_PER_TEAM
+                    || overseas > SquadConstraints.MAX_OVERSEAS_PER_TEAM) {
+                System.out.printf("RULE BROKEN: %s spent %,d on %d players, %d overseas%n", auction.getTeams()[t],
+                    spent, squad.size(), overseas);
+                ok = false;
+            }
+        }
+        return ok;
+    }
+}
@@ -0,0 +1,98 @@
+package resources.logos.src.main.java;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Saving and loading the auction as IPLAuctionSystem's File menu does: a snapshot written
+// with SnapshotCodec, then read back and restored into the engine. A third of the roster
+// is sold, see BenchmarkRosters.createState. The codec on its own is measured against the Java
+// serialization it replaced, and the memory-mapped read against decoding a heap array.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class SnapshotBenchmarks {
+    @Param({"10", "1000", "100000", "1000000"})
+    int players;
+
+    private AuctionEngine engine;
+    private Path file;
+    private AuctionState state;
+    private byte[] encoded;
+    private byte[] serialized;
+    private final SnapshotCodec.Encoder encoder = new SnapshotCodec.Encoder();
+
+    @Setup(Level.Trial)
+    public void createState() throws IOException {
+        engine = new AuctionEngine(AuctionEngine.IPL_TEAMS, BenchmarkRosters.create(1, 42));
+        engine.restore(BenchmarkRosters.createState(players, new Random(players)));
+        file = Files.createTempFile("auction-snapshot", ".dat");
+        SnapshotCodec.write(engine.snapshot(), file);
+        state = engine.snapshot();
+        encoded = SnapshotCodec.encode(state);
+        serialized = serialize();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public Path saveAuctionState() throws IOException {
+        encoder.write(engine.snapshot(), file);
+        return file;
+    }
+
+    @Benchmark
+    public int loadAuctionState() throws IOException {
+        engine.restore(SnapshotCodec.read(file));
+        return engine.getSoldCount();
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return SnapshotCodec.encode(state);
+    }
+
+    @Benchmark
+    public ByteBuffer encodeReused() throws IOException {
+        return encoder.encode(state);
+    }
+
+    @Benchmark
+    public AuctionState decode() throws IOException {
+        return SnapshotCodec.decode(encoded);
+    }
+
+    @Benchmark
+    public AuctionState decodeMapped() throws IOException {
+        return SnapshotCodec.read(file);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(state);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public AuctionState deserialize() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return (AuctionState) in.readObject();
+        }
+    }
+}
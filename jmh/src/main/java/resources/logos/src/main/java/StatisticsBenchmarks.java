@@ -0,0 +1,72 @@
+package resources.logos.src.main.java;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// AuctionStatistics over an auction with a third of the roster sold: the full rebuild done
+// after a restore, the per-sale update, and reading what the dashboard shows, against
+// recomputing the same figures by walking every squad as the statistics dialog used to.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class StatisticsBenchmarks {
+    @Param({"10", "1000", "100000", "1000000"})
+    int players;
+
+    private AuctionEngine engine;
+    private AuctionStatistics stats;
+    private PlayerInfo[] sold;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void createState() {
+        engine = new AuctionEngine(AuctionEngine.IPL_TEAMS, BenchmarkRosters.create(1, 42));
+        engine.restore(BenchmarkRosters.createState(players, new Random(players)));
+        stats = new AuctionStatistics(engine);
+        sold = engine.getPlayers().stream().filter(p -> p.purchasedBy != null).toArray(PlayerInfo[]::new);
+        if (sold.length == 0) {
+            sold = engine.getPlayers().toArray(new PlayerInfo[0]);
+            sold[0].purchasedBy = AuctionEngine.IPL_TEAMS[0];
+        }
+    }
+
+    @Benchmark
+    public long rebuild() {
+        stats.stateRestored();
+        return stats.getVersion();
+    }
+
+    @Benchmark
+    public long playerSold() {
+        PlayerInfo player = sold[next];
+        next = next + 1 == sold.length ? 0 : next + 1;
+        stats.playerSold(player, player.purchasedBy, player.finalPrice);
+        return stats.getVersion();
+    }
+
+    @Benchmark
+    public long read() {
+        List<PlayerInfo> top = stats.getTopPlayers();
+        return stats.getTotalSpent() + stats.getSoldCount() + stats.getAveragePrice()
+            + (top.isEmpty() ? 0 : top.get(0).finalPrice);
+    }
+
+    @Benchmark
+    public long recompute() {
+        long spent = 0;
+        int soldCount = 0;
+        int top = 0;
+        for (int t = 0; t < engine.getTeamCount(); t++) {
+            for (PlayerInfo player : engine.getTeamPlayers(t)) {
+                spent += player.finalPrice;
+                soldCount++;
+                top = Math.max(top, player.finalPrice);
+            }
+        }
+        return spent + soldCount + (soldCount == 0 ? 0 : spent / soldCount) + top;
+    }
+}
@@ -0,0 +1,75 @@
+package resources.logos.src.main.java;
+import java.util.random.RandomGenerator;
+
+// Drives an engine's countdown and random bidder from a scheduler: a SwingScheduler
+// for the GUI, or a VirtualTimeScheduler to simulate auctions at CPU speed
+public class AuctionDriver implements AuctionListener {
+    public static final long TICK_PERIOD = 1000; // Countdown step
+    public static final long RANDOM_BID_PERIOD = 2000; // Random bidder interval
+
+    private final AuctionEngine engine;
+    private final AuctionScheduler scheduler;
+    private final RandomGenerator rand;
+    private AuctionScheduler.Cancellable tickTask;
+    private AuctionScheduler.Cancellable randomBidTask;
+    private boolean stopWhenComplete = false;
+
+    private AuctionDriver(AuctionEngine engine, AuctionScheduler scheduler, RandomGenerator rand) {
+        this.engine = engine;
+        this.scheduler = scheduler;
+        this.rand = rand;
+    }
+
+    // A driver listening to the engine, its timers start with start()
+    public static AuctionDriver attach(AuctionEngine engine, AuctionScheduler scheduler, RandomGenerator rand) {
+        AuctionDriver driver = new AuctionDriver(engine, scheduler, rand);
+        engine.addListener(driver);
+        return driver;
+    }
+
+    // Starts the timers, calling it again while they run has no effect
+    public void start() {
+        if (tickTask != null) {
+            return;
+        }
+        tickTask = scheduler.scheduleAtFixedRate(TICK_PERIOD, engine::tick);
+        randomBidTask = scheduler.scheduleAtFixedRate(RANDOM_BID_PERIOD, () -> engine.generateRandomBid(rand));
+    }
+
+    public void stop() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            randomBidTask.cancel();
+            tickTask = null;
+            randomBidTask = null;
+        }
+    }
+
+    public boolean isRunning() {
+        return tickTask != null;
+    }
+
+    // Headless runs stop once every player has been auctioned instead of wrapping around
+    public void setStopWhenComplete(boolean stopWhenComplete) {
+        this.stopWhenComplete = stopWhenComplete;
+    }
+
+    @Override
+    public void auctionCompleted() {
+        if (stopWhenComplete) {
+            stop();
+        }
+    }
+
+    // Runs a whole auction in virtual time and returns the simulated duration in milliseconds
+    public static long simulate(AuctionEngine engine, RandomGenerator rand) {
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        AuctionDriver driver = attach(engine, scheduler, rand);
+        driver.setStopWhenComplete(true);
+        engine.startAuction();
+        driver.start();
+        scheduler.runUntilIdle();
+        engine.removeListener(driver);
+        return scheduler.now();
+    }
+}
@@ -0,0 +1,569 @@
+package resources.logos.src.main.java;
+import java.util.*;
+import java.util.random.RandomGenerator;
+
+// Auction state and rules without any AWT/Swing dependency.
+// Not thread-safe: drive it from a single thread (the EDT for the GUI).
+public class AuctionEngine {
+    public static final int MAX_PLAYERS_PER_TEAM = 25;
+    public static final int MIN_PLAYERS_PER_TEAM = 18;
+    public static final int TEAM_BUDGET = 100000; // Increased budget for more realistic values
+    public static final double BID_INCREMENT = 500; // Fixed increment
+    public static final int MIN_BID = 2000; // Minimum bid amount
+    public static final int BID_DURATION = 30; // Countdown per player in seconds
+    public static final double RANDOM_BID_CHANCE = 0.6; // Chance of a random bid every 2 seconds
+
+    // IPL franchises taking part in the auction
+    public static final String[] IPL_TEAMS = {
+        "Chennai Super Kings",
+        "Delhi Capitals",
+        "Gujarat Titans",
+        "Kolkata Knight Riders",
+        "Lucknow Super Giants",
+        "Mumbai Indians",
+        "Punjab Kings",
+        "Rajasthan Royals",
+        "Royal Challengers Bengaluru",
+        "Sunrisers Hyderabad"
+    };
+
+    // Sample players with realistic base prices
+    public static final String[][] SAMPLE_PLAYERS = {
+        {"Virat Kohli", "Batsman", "20000", "India"},
+        {"Rohit Sharma", "Batsman", "18000", "India"},
+        {"MS Dhoni", "Wicketkeeper", "15000", "India"},
+        {"Jos Buttler", "Wicketkeeper", "14000", "England"},
+        {"Pat Cummins", "Bowler", "15000", "Australia"},
+        {"Hardik Pandya", "All-Rounder", "15000", "India"},
+        {"Ben Stokes", "All-Rounder", "16500", "England"},
+        {"Jasprit Bumrah", "Bowler", "16000", "India"},
+        {"Kane Williamson", "Batsman", "14000", "New Zealand"},
+        {"Mitchell Starc", "Bowler", "15500", "Australia"}
+    };
+
+    public enum BidResult {
+        ACCEPTED,
+        CONSECUTIVE_BID,
+        INSUFFICIENT_BUDGET,
+        LOT_CLOSED,
+        BUDGET_RESERVED, // Would leave too little to reach MIN_PLAYERS_PER_TEAM at MIN_BID
+        SQUAD_FULL,
+        OVERSEAS_QUOTA,
+        ROLE_QUOTA
+    }
+
+    // Team ids index into getTeams(); highestBidderId is this when nobody has bid
+    public static final int NO_BIDDER = -1;
+    public static final int MAX_TEAMS = Long.SIZE; // Eligibility is a long bitmask
+
+    private static final int BID_STEP = (int) BID_INCREMENT;
+    private static final BidderStrategy DEFAULT_STRATEGY = new RandomStrategy();
+
+    private final String[] teams;
+    private final List<AuctionListener> listeners = new ArrayList<>();
+
+    // Per-team state indexed by team id, so the bidding path never hashes a team name
+    private final int[] budgets;
+    private final List<List<PlayerInfo>> squads;
+    private final SquadConstraints constraints;
+    private final BidderStrategy[] strategies;
+    private List<PlayerInfo> players;
+    private BitSet soldPlayers; // By player index, names are not unique
+
+    // Rest of a streamed roster, players are pulled in as the auction reaches them
+    private Iterator<PlayerInfo> pendingPlayers;
+
+    private int strategyCount = 0;
+
+    private int currentPlayerIndex = 0;
+    private int currentBid = MIN_BID;
+    private int highestBidderId = NO_BIDDER;
+    private int timeLeft = BID_DURATION;
+    private boolean isAuctionPaused = false;
+
+    public AuctionEngine(String[] teams, List<PlayerInfo> players) {
+        this(teams, players, new SquadConstraints(teams.length));
+    }
+
+    public AuctionEngine(String[] teams, List<PlayerInfo> players, SquadConstraints constraints) {
+        if (teams.length > MAX_TEAMS) {
+            throw new IllegalArgumentException("At most " + MAX_TEAMS + " teams are supported");
+        }
+        this.teams = teams.clone();
+        this.players = players;
+        this.constraints = constraints;
+        budgets = new int[teams.length];
+        strategies = new BidderStrategy[teams.length];
+        squads = new ArrayList<>(teams.length);
+        soldPlayers = new BitSet();
+
+        // Initialize team data
+        for (int t = 0; t < teams.length; t++) {
+            budgets[t] = TEAM_BUDGET;
+            squads.add(new ArrayList<>());
+        }
+    }
+
+    // Streams the roster in lazily, for pools too large to load up front
+    public AuctionEngine(String[] teams, Iterator<PlayerInfo> roster) {
+        this(teams, new ArrayList<>());
+        pendingPlayers = roster;
+        loadPlayersUpTo(0);
+    }
+
+    // Pulls streamed players until the index is loaded, returns false if the roster is shorter
+    private boolean loadPlayersUpTo(int index) {
+        while (players.size() <= index && pendingPlayers != null && pendingPlayers.hasNext()) {
+            players.add(pendingPlayers.next());
+        }
+        return index < players.size();
+    }
+
+    // Builds the sample roster used by the GUI and headless runs
+    public static List<PlayerInfo> sampleRoster() {
+        List<PlayerInfo> roster = new ArrayList<>();
+        for (String[] data : SAMPLE_PLAYERS) {
+            roster.add(new PlayerInfo(
+                data[0],
+                data[1],
+                Integer.parseInt(data[2]),
+                data[3]
+            ));
+        }
+        return roster;
+    }
+
+    public void addListener(AuctionListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(AuctionListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Id of the team in getTeams()
+    public int teamId(String team) {
+        for (int t = 0; t < teams.length; t++) {
+            if (teams[t].equals(team)) {
+                return t;
+            }
+        }
+        throw new IllegalArgumentException("Unknown team: " + team);
+    }
+
+    // Opens bidding on the current player
+    public void startAuction() {
+        timeLeft = BID_DURATION;
+        currentBid = players.get(currentPlayerIndex).basePrice;
+        highestBidderId = NO_BIDDER;
+        PlayerInfo player = players.get(currentPlayerIndex);
+        constraints.openLot(player);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).lotStarted(player);
+        }
+    }
+
+    // Advances the countdown by one second, closing the lot when it reaches zero
+    public void tick() {
+        if (isAuctionPaused || timeLeft <= 0) {
+            return;
+        }
+        timeLeft--;
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).timerTicked(timeLeft);
+        }
+        if (timeLeft <= 0) {
+            handleBidEnd();
+        }
+    }
+
+    // Allocation-free: eligibility is a bitmask and the bidder is picked by rank. Without
+    // strategies a team bids with RANDOM_BID_CHANCE, drawn once per call as it always was,
+    // so seeded runs are unchanged. Once any team has a strategy, every eligible team is
+    // asked (RandomStrategy for teams without one) and a willing team is picked.
+    public void generateRandomBid(RandomGenerator rand) {
+        if (isAuctionPaused || timeLeft <= 2) {
+            return;
+        }
+        if (strategyCount == 0) {
+            if (rand.nextDouble() < RANDOM_BID_CHANCE) {
+                placeRandomBid(eligibleTeams(), rand);
+            }
+            return;
+        }
+        int amount = currentBid + BID_STEP;
+        long willing = 0;
+        for (long eligible = eligibleTeams(); eligible != 0; eligible &= eligible - 1) {
+            int team = Long.numberOfTrailingZeros(eligible);
+            BidderStrategy strategy = strategies[team] != null ? strategies[team] : DEFAULT_STRATEGY;
+            if (strategy.wantsToBid(this, team, amount, rand)) {
+                willing |= 1L << team;
+            }
+        }
+        placeRandomBid(willing, rand);
+    }
+
+    // Same draw as picking from a list of the teams in team order
+    private void placeRandomBid(long teams, RandomGenerator rand) {
+        if (teams != 0) {
+            for (int skip = rand.nextInt(Long.bitCount(teams)); skip > 0; skip--) {
+                teams &= teams - 1;
+            }
+            placeBid(Long.numberOfTrailingZeros(teams));
+        }
+    }
+
+    // Null restores the default random bidding for the team
+    public void setStrategy(int team, BidderStrategy strategy) {
+        if (strategies[team] != null) {
+            strategyCount--;
+        }
+        strategies[team] = strategy;
+        if (strategy != null) {
+            strategyCount++;
+        }
+    }
+
+    public BidderStrategy getStrategy(int team) {
+        return strategies[team];
+    }
+
+    // Bit t is set if team t may bid the next increment (see SquadConstraints) and is not
+    // the highest bidder
+    public long eligibleTeams() {
+        long eligible = constraints.eligibleTeams(currentBid + BID_STEP);
+        if (highestBidderId != NO_BIDDER) {
+            eligible &= ~(1L << highestBidderId);
+        }
+        return eligible;
+    }
+
+    public BidResult placeBid(String team) {
+        return placeBid(teamId(team));
+    }
+
+    public BidResult placeBid(int team) {
+        BidResult result;
+        if (team == highestBidderId) {
+            result = BidResult.CONSECUTIVE_BID;
+        } else if ((result = constraints.check(team, currentBid + BID_STEP, budgets[team])) == BidResult.ACCEPTED) {
+            currentBid += BID_STEP;
+            highestBidderId = team;
+            for (int i = 0; i < listeners.size(); i++) {
+                listeners.get(i).bidPlaced(teams[team], currentBid);
+            }
+            return BidResult.ACCEPTED;
+        }
+
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).bidRejected(teams[team], result);
+        }
+        return result;
+    }
+
+    public void handleBidEnd() {
+        PlayerInfo currentPlayer = players.get(currentPlayerIndex);
+        if (highestBidderId != NO_BIDDER) {
+            String buyer = teams[highestBidderId];
+            currentPlayer.finalPrice = currentBid;
+            currentPlayer.purchasedBy = buyer;
+
+            // Update team budget and player list
+            budgets[highestBidderId] -= currentBid;
+            squads.get(highestBidderId).add(currentPlayer);
+            constraints.recordPurchase(highestBidderId, currentPlayer, budgets[highestBidderId]);
+            soldPlayers.set(currentPlayerIndex);
+
+            for (AuctionListener listener : listeners) {
+                listener.playerSold(currentPlayer, buyer, currentBid);
+            }
+        } else {
+            for (AuctionListener listener : listeners) {
+                listener.playerUnsold(currentPlayer);
+            }
+        }
+
+        nextPlayer();
+    }
+
+    public void nextPlayer() {
+        currentPlayerIndex++;
+        if (!loadPlayersUpTo(currentPlayerIndex)) {
+            currentPlayerIndex = 0;
+            for (AuctionListener listener : listeners) {
+                listener.auctionCompleted();
+            }
+        }
+        startAuction();
+    }
+
+    public void togglePause() {
+        isAuctionPaused = !isAuctionPaused;
+    }
+
+    // Runs every player through a full countdown in virtual time, without any wall-clock delay.
+    // Returns the simulated auction length in milliseconds.
+    public long runAuction(RandomGenerator rand) {
+        currentPlayerIndex = 0;
+        isAuctionPaused = false;
+        return AuctionDriver.simulate(this, rand);
+    }
+
+    // Team budgets and squads are copied into name-keyed maps, the snapshot format is unchanged
+    public AuctionState snapshot() {
+        Map<String, Integer> teamBudgets = new HashMap<>();
+        Map<String, List<PlayerInfo>> teamPlayers = new HashMap<>();
+        for (int t = 0; t < teams.length; t++) {
+            teamBudgets.put(teams[t], budgets[t]);
+            teamPlayers.put(teams[t], new ArrayList<>(squads.get(t)));
+        }
+        Set<String> soldNames = new HashSet<>();
+        for (int i = soldPlayers.nextSetBit(0); i >= 0; i = soldPlayers.nextSetBit(i + 1)) {
+            soldNames.add(players.get(i).name);
+        }
+        return new AuctionState(
+            teamBudgets,
+            teamPlayers,
+            players,
+            soldNames,
+            currentPlayerIndex,
+            currentBid,
+            getHighestBidder(),
+            timeLeft,
+            isAuctionPaused
+        );
+    }
+
+    public void restore(AuctionState state) {
+        restore(state, true);
+    }
+
+    // Replay seeks restore quietly and notify once the rest of their records are applied
+    void restore(AuctionState state, boolean notify) {
+        if (pendingPlayers != null) {
+            // Keep streaming after the players the snapshot already holds
+            List<PlayerInfo> loaded = players;
+            for (int i = loaded.size(); i < state.players.size() && pendingPlayers.hasNext(); i++) {
+                pendingPlayers.next();
+            }
+            for (int i = state.players.size(); i < loaded.size(); i++) {
+                state.players.add(loaded.get(i));
+            }
+        }
+        for (int t = 0; t < teams.length; t++) {
+            budgets[t] = state.teamBudgets.getOrDefault(teams[t], TEAM_BUDGET);
+            squads.set(t, new ArrayList<>(state.teamPlayers.getOrDefault(teams[t], List.of())));
+        }
+        players = state.players;
+        // Sold state comes from the players themselves, the saved name set can collide
+        soldPlayers = new BitSet(players.size());
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).purchasedBy != null) {
+                soldPlayers.set(i);
+            }
+        }
+        currentPlayerIndex = state.currentPlayerIndex;
+        currentBid = (int) state.currentBid;
+        highestBidderId = state.highestBidder == null ? NO_BIDDER : teamId(state.highestBidder);
+        timeLeft = state.timeLeft;
+        isAuctionPaused = state.isAuctionPaused;
+        rebuildConstraints();
+        if (notify) {
+            for (AuctionListener listener : listeners) {
+                listener.stateRestored();
+            }
+        }
+    }
+
+    // Journal replay: re-applies recorded decisions without notifying listeners.
+    // Call replayFinished() once the last record has been applied.
+    void replayLotStarted(int playerIndex) {
+        loadPlayersUpTo(playerIndex);
+        currentPlayerIndex = playerIndex;
+        timeLeft = BID_DURATION;
+        currentBid = players.get(playerIndex).basePrice;
+        highestBidderId = NO_BIDDER;
+        constraints.openLot(players.get(playerIndex));
+    }
+
+    void replayBid(String team, int amount) {
+        replayBid(teamId(team), amount);
+    }
+
+    void replayBid(int team, int amount) {
+        currentBid = amount;
+        highestBidderId = team;
+    }
+
+    void replayTick(int timeLeft) {
+        this.timeLeft = timeLeft;
+    }
+
+    void replaySale(int playerIndex, String team, int price) {
+        loadPlayersUpTo(playerIndex);
+        PlayerInfo player = players.get(playerIndex);
+        player.finalPrice = price;
+        player.purchasedBy = team;
+        int id = teamId(team);
+        budgets[id] -= price;
+        squads.get(id).add(player);
+        constraints.recordPurchase(id, player, budgets[id]);
+        soldPlayers.set(playerIndex);
+    }
+
+    void replayFinished() {
+        for (AuctionListener listener : listeners) {
+            listener.stateRestored();
+        }
+    }
+
+    // Recording playback (see AuctionReplay): applies recorded events and notifies
+    // listeners as the live events did, so a window can show the auction as it ran
+    void playbackLotStarted(int playerIndex) {
+        replayLotStarted(playerIndex);
+        PlayerInfo player = players.get(playerIndex);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).lotStarted(player);
+        }
+    }
+
+    void playbackBid(int team, int amount) {
+        replayBid(team, amount);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).bidPlaced(teams[team], amount);
+        }
+    }
+
+    void playbackRejected(int team, BidResult reason) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).bidRejected(teams[team], reason);
+        }
+    }
+
+    void playbackTick(int timeLeft) {
+        replayTick(timeLeft);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).timerTicked(timeLeft);
+        }
+    }
+
+    void playbackSale(int playerIndex, int team, int price) {
+        replaySale(playerIndex, teams[team], price);
+        PlayerInfo player = players.get(playerIndex);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).playerSold(player, teams[team], price);
+        }
+    }
+
+    void playbackUnsold(int playerIndex) {
+        PlayerInfo player = players.get(playerIndex);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).playerUnsold(player);
+        }
+    }
+
+    // Squads were replaced wholesale, recount them
+    private void rebuildConstraints() {
+        constraints.reset(TEAM_BUDGET);
+        for (int t = 0; t < teams.length; t++) {
+            for (PlayerInfo player : squads.get(t)) {
+                constraints.recordPurchase(t, player, budgets[t]);
+            }
+        }
+        if (currentPlayerIndex < players.size()) {
+            constraints.openLot(players.get(currentPlayerIndex));
+        }
+    }
+
+    public SquadConstraints getConstraints() {
+        return constraints;
+    }
+
+    public String[] getTeams() {
+        return teams.clone();
+    }
+
+    public int getTeamCount() {
+        return teams.length;
+    }
+
+    public int getTeamBudget(String team) {
+        return budgets[teamId(team)];
+    }
+
+    public int getTeamBudget(int team) {
+        return budgets[team];
+    }
+
+    public List<PlayerInfo> getTeamPlayers(String team) {
+        return getTeamPlayers(teamId(team));
+    }
+
+    public List<PlayerInfo> getTeamPlayers(int team) {
+        return Collections.unmodifiableList(squads.get(team));
+    }
+
+    public List<PlayerInfo> getPlayers() {
+        return Collections.unmodifiableList(players);
+    }
+
+    public int getSoldCount() {
+        return soldPlayers.cardinality();
+    }
+
+    public boolean isSold(int playerIndex) {
+        return soldPlayers.get(playerIndex);
+    }
+
+    public PlayerInfo getCurrentPlayer() {
+        return players.get(currentPlayerIndex);
+    }
+
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
+    public double getCurrentBid() {
+        return currentBid;
+    }
+
+    public String getHighestBidder() {
+        return highestBidderId == NO_BIDDER ? null : teams[highestBidderId];
+    }
+
+    public int getHighestBidderId() {
+        return highestBidderId;
+    }
+
+    public int getTimeLeft() {
+        return timeLeft;
+    }
+
+    public boolean isPaused() {
+        return isAuctionPaused;
+    }
+
+    // Runs the sample auction headless and prints how long it took.
+    // Usage: AuctionEngine [auctions] [seed], the same seed always gives the same results.
+    public static void main(String[] args) {
+        int auctions = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42;
+        Random rand = new Random(seed);
+        long start = System.nanoTime();
+        long simulatedMillis = 0;
+        long totalSpent = 0;
+        int sold = 0;
+        for (int i = 0; i < auctions; i++) {
+            AuctionEngine engine = new AuctionEngine(IPL_TEAMS, sampleRoster());
+            simulatedMillis += engine.runAuction(rand);
+            sold += engine.getSoldCount();
+            for (int t = 0; t < IPL_TEAMS.length; t++) {
+                totalSpent += TEAM_BUDGET - engine.getTeamBudget(t);
+            }
+        }
+        double micros = (System.nanoTime() - start) / 1000.0 / auctions;
+        System.out.printf("%d auctions, %.1f us per auction (%.0f s simulated each), %.2f players sold on average%n",
+            auctions, micros, simulatedMillis / 1000.0 / auctions, (double) sold / auctions);
+        System.out.printf("Seed %d, total spent %,d%n", seed, totalSpent);
+    }
+}
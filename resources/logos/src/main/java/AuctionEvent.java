@@ -0,0 +1,44 @@
+package resources.logos.src.main.java;
+
+// Typed auction events as AuctionEventBus delivers them to its subscribers. They carry
+// everything a consumer needs, subscribers run on their own threads and must not read the
+// engine. Sequence numbers count every event published on the bus, a gap means the
+// subscriber's queue overflowed and events were dropped. Times are epoch milliseconds.
+public sealed interface AuctionEvent {
+    long sequence();
+
+    long time();
+
+    record LotStarted(long sequence, long time, int playerIndex, PlayerInfo player) implements AuctionEvent {}
+
+    record BidPlaced(long sequence, long time, int playerIndex, String team, int amount) implements AuctionEvent {}
+
+    record BidRejected(long sequence, long time, int playerIndex, String team, AuctionEngine.BidResult reason)
+        implements AuctionEvent {}
+
+    record TimerTick(long sequence, long time, int playerIndex, int timeLeft) implements AuctionEvent {}
+
+    record PlayerSold(long sequence, long time, int playerIndex, PlayerInfo player, String team, int price)
+        implements AuctionEvent {}
+
+    record PlayerUnsold(long sequence, long time, int playerIndex, PlayerInfo player) implements AuctionEvent {}
+
+    record AuctionCompleted(long sequence, long time) implements AuctionEvent {}
+
+    // Engine state was replaced wholesale, consumers keeping their own totals start again
+    record StateRestored(long sequence, long time) implements AuctionEvent {}
+
+    // Hands the event to the matching listener method, so existing listeners can subscribe
+    static void dispatch(AuctionEvent event, AuctionListener listener) {
+        switch (event) {
+            case LotStarted e -> listener.lotStarted(e.player());
+            case BidPlaced e -> listener.bidPlaced(e.team(), e.amount());
+            case BidRejected e -> listener.bidRejected(e.team(), e.reason());
+            case TimerTick e -> listener.timerTicked(e.timeLeft());
+            case PlayerSold e -> listener.playerSold(e.player(), e.team(), e.price());
+            case PlayerUnsold e -> listener.playerUnsold(e.player());
+            case AuctionCompleted e -> listener.auctionCompleted();
+            case StateRestored e -> listener.stateRestored();
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package resources.logos.src.main.java;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Publishes the engine's events as typed AuctionEvents to subscribers that each run on a
+// thread of their own, so persistence, metrics or broadcasting can be added without doing
+// their work on the engine's thread. Add the bus to the engine as a listener.
+//
+// Every subscriber has a bounded queue and an Overflow policy. Publishing only copies the
+// event into each queue under that queue's lock; a full queue drops an event rather than
+// wait, so a slow subscriber loses events (and sees a gap in the sequence numbers) but
+// never holds up bidding. Demand follows java.util.concurrent.Flow: events stay queued
+// until the subscriber has requested them. Listeners that must see every event, like the
+// journal and AuctionMetrics' counters, stay on the engine.
+public class AuctionEventBus implements AuctionListener, Flow.Publisher<AuctionEvent>, AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    // What a full queue does with the next event
+    public enum Overflow {
+        DROP_OLDEST, // Keep the latest, for consumers that show current state
+        DROP_NEWEST  // Keep what is queued, for consumers that work through events in order
+    }
+
+    private final AuctionEngine engine;
+    private final List<Channel> channels = new CopyOnWriteArrayList<>();
+    private long nextSequence; // Published from the engine's thread only
+    private volatile boolean closed;
+
+    public AuctionEventBus(AuctionEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super AuctionEvent> subscriber) {
+        subscribe(subscriber, subscriber.getClass().getSimpleName(), DEFAULT_CAPACITY, Overflow.DROP_OLDEST);
+    }
+
+    // Starts a thread named auction-bus-<name> that delivers to the subscriber
+    public Channel subscribe(Flow.Subscriber<? super AuctionEvent> subscriber, String name, int capacity,
+                             Overflow overflow) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        Channel channel = new Channel(subscriber, name, capacity, overflow);
+        channels.add(channel);
+        if (closed) {
+            channel.complete(); // A closed bus completes new subscribers straight away
+        }
+        channel.thread.start();
+        return channel;
+    }
+
+    // Calls the listener on a thread of its own, it must be thread-safe with respect to
+    // anything else it shares
+    public Channel subscribe(AuctionListener listener, String name, int capacity, Overflow overflow) {
+        return subscribe(new ListenerSubscriber(listener), name, capacity, overflow);
+    }
+
+    @Override
+    public void lotStarted(PlayerInfo player) {
+        int index = engine.getCurrentPlayerIndex();
+        publish(new AuctionEvent.LotStarted(nextSequence++, System.currentTimeMillis(), index, player));
+    }
+
+    @Override
+    public void bidPlaced(String team, int amount) {
+        int index = engine.getCurrentPlayerIndex();
+        publish(new AuctionEvent.BidPlaced(nextSequence++, System.currentTimeMillis(), index, team, amount));
+    }
+
+    @Override
+    public void bidRejected(String team, AuctionEngine.BidResult reason) {
+        int index = engine.getCurrentPlayerIndex();
+        publish(new AuctionEvent.BidRejected(nextSequence++, System.currentTimeMillis(), index, team, reason));
+    }
+
+    @Override
+    public void timerTicked(int timeLeft) {
+        int index = engine.getCurrentPlayerIndex();
+        publish(new AuctionEvent.TimerTick(nextSequence++, System.currentTimeMillis(), index, timeLeft));
+    }
+
+    @Override
+    public void playerSold(PlayerInfo player, String team, int price) {
+        int index = engine.getCurrentPlayerIndex();
+        publish(new AuctionEvent.PlayerSold(nextSequence++, System.currentTimeMillis(), index, player, team, price));
+    }
+
+    @Override
+    public void playerUnsold(PlayerInfo player) {
+        int index = engine.getCurrentPlayerIndex();
+        publish(new AuctionEvent.PlayerUnsold(nextSequence++, System.currentTimeMillis(), index, player));
+    }
+
+    @Override
+    public void auctionCompleted() {
+        publish(new AuctionEvent.AuctionCompleted(nextSequence++, System.currentTimeMillis()));
+    }
+
+    @Override
+    public void stateRestored() {
+        publish(new AuctionEvent.StateRestored(nextSequence++, System.currentTimeMillis()));
+    }
+
+    private void publish(AuctionEvent event) {
+        for (Channel channel : channels) {
+            channel.offer(event);
+        }
+    }
+
+    public List<Channel> getChannels() {
+        return List.copyOf(channels);
+    }
+
+    // Subscribers get the events already queued, then onComplete
+    @Override
+    public void close() {
+        closed = true;
+        for (Channel channel : channels) {
+            channel.complete();
+        }
+    }
+
+    // One subscriber's queue, thread and demand
+    public final class Channel implements Flow.Subscription {
+        private final Flow.Subscriber<? super AuctionEvent> subscriber;
+        private final String name;
+        private final Overflow overflow;
+        private final Thread thread;
+
+        // Ring buffer of queued events, guarded by lock
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition ready = lock.newCondition();
+        private final AuctionEvent[] queue;
+        private int head;
+        private int size;
+        private long demand;
+        private long dropped;
+        private long delivered;
+        private boolean cancelled;
+        private boolean completed;
+
+        private Channel(Flow.Subscriber<? super AuctionEvent> subscriber, String name, int capacity, Overflow overflow) {
+            this.subscriber = subscriber;
+            this.name = name;
+            this.overflow = overflow;
+            queue = new AuctionEvent[capacity];
+            thread = new Thread(this::run, "auction-bus-" + name);
+            thread.setDaemon(true);
+        }
+
+        private void offer(AuctionEvent event) {
+            lock.lock();
+            try {
+                if (cancelled || completed) {
+                    return;
+                }
+                if (size == queue.length) {
+                    dropped++;
+                    if (overflow == Overflow.DROP_NEWEST) {
+                        return;
+                    }
+                    queue[head] = null;
+                    head = (head + 1) % queue.length;
+                    size--;
+                }
+                queue[(head + size) % queue.length] = event;
+                if (++size == 1) {
+                    ready.signal(); // The thread only waits on an empty queue or on demand
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("Requested " + n + " events"));
+                return;
+            }
+            lock.lock();
+            try {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n; // Saturates, MAX_VALUE is unbounded
+                ready.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            lock.lock();
+            try {
+                cancelled = true;
+                Arrays.fill(queue, null);
+                size = 0;
+                ready.signal();
+            } finally {
+                lock.unlock();
+            }
+            channels.remove(this);
+        }
+
+        private void complete() {
+            lock.lock();
+            try {
+                completed = true;
+                ready.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void run() {
+            subscriber.onSubscribe(this);
+            while (true) {
+                AuctionEvent event;
+                lock.lock();
+                try {
+                    while (!cancelled && (size == 0 || demand == 0) && !(completed && size == 0)) {
+                        ready.awaitUninterruptibly();
+                    }
+                    if (cancelled) {
+                        return;
+                    }
+                    if (size == 0) {
+                        break; // Completed and drained
+                    }
+                    event = queue[head];
+                    queue[head] = null;
+                    head = (head + 1) % queue.length;
+                    size--;
+                    if (demand != Long.MAX_VALUE) {
+                        demand--;
+                    }
+                    delivered++;
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    subscriber.onNext(event);
+                } catch (RuntimeException e) {
+                    // A subscriber that throws is cut off, the others carry on
+                    System.err.println("Auction bus subscriber " + name + " failed: " + e);
+                    cancel();
+                    return;
+                }
+            }
+            channels.remove(this);
+            subscriber.onComplete();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        // Events lost to a full queue
+        public long getDropped() {
+            lock.lock();
+            try {
+                return dropped;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public long getDelivered() {
+            lock.lock();
+            try {
+                return delivered;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public int getQueued() {
+            lock.lock();
+            try {
+                return size;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Adapts a listener: takes everything as it comes and dispatches each event to it
+    private static final class ListenerSubscriber implements Flow.Subscriber<AuctionEvent> {
+        private final AuctionListener listener;
+
+        ListenerSubscriber(AuctionListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(AuctionEvent event) {
+            AuctionEvent.dispatch(event, listener);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            System.err.println("Auction bus error: " + error);
+        }
+
+        @Override
+        public void onComplete() {
+            // Nothing to flush
+        }
+    }
+}
@@ -0,0 +1,469 @@
+package resources.logos.src.main.java;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongConsumer;
+
+// Write-ahead journal of auction decisions. Every lot start, bid, sale and unsold
+// decision is appended as a fixed-size binary record; a background thread writes and
+// fsyncs the pending records in one batch every FLUSH_INTERVAL_MS (group commit), so
+// the EDT never waits on the disk. Every SNAPSHOT_INTERVAL records the full state is
+// encoded on the EDT, then the same thread writes it to a snapshot file and restarts the
+// journal, which bounds replay time. finish() deletes the journal when the user quits on
+// purpose, so only a crash leaves an auction to recover.
+// Every record is also appended to a history file that is never restarted, so the full
+// auction stays on disk for the log view after it leaves memory (see AuctionLog).
+//
+// Journal and history files: header (magic, version, number of the first record, team
+// names) followed by records of [type:1][time:8][player:4][team:2][amount:4].
+public class AuctionJournal implements AuctionListener, Closeable {
+    public static final long FLUSH_INTERVAL_MS = 50;
+    public static final int SNAPSHOT_INTERVAL = 1000;
+
+    private static final int MAGIC = 0x49504C4A; // "IPLJ"
+    private static final short VERSION = 1;
+    private static final int RECORD_SIZE = 19;
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    static final byte LOT_STARTED = 1;
+    static final byte BID = 2;
+    static final byte SOLD = 3;
+    static final byte UNSOLD = 4;
+
+    private final AuctionEngine engine;
+    private final Path journalPath;
+    private final Path snapshotPath;
+    private final String[] teams;
+    private final Map<String, Integer> teamIds = new HashMap<>();
+    private final FileChannel channel;
+    private final FileChannel history;
+    private final ScheduledExecutorService flusher;
+    private final SnapshotCodec.Encoder encoder = new SnapshotCodec.Encoder(); // Auction thread only
+
+    // Records appended by the auction thread and not yet written, guarded by bufferLock
+    private final Object bufferLock = new Object();
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private ByteBuffer writing = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    // Encoded snapshot waiting for the flush thread and the records it covers, which only
+    // go to the history, also guarded by bufferLock
+    private byte[] queuedSnapshot;
+    private long queuedCovered;
+    private ByteBuffer snapshotted = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+
+    // Guards the file channel, so a flush and a snapshot never interleave
+    private final Object channelLock = new Object();
+
+    private long records;          // Records appended since the auction began
+    private long recordsAtSnapshot; // Records covered by the last snapshot taken
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile IOException failure;
+    private volatile LongConsumer snapshotTimes = nanos -> {};
+
+    private AuctionJournal(AuctionEngine engine, Path journalPath, Path snapshotPath,
+                           FileChannel channel, FileChannel history, long records, long recordsAtSnapshot) {
+        this.engine = engine;
+        this.journalPath = journalPath;
+        this.snapshotPath = snapshotPath;
+        this.teams = engine.getTeams();
+        for (int i = 0; i < teams.length; i++) {
+            teamIds.put(teams[i], i);
+        }
+        this.channel = channel;
+        this.history = history;
+        this.records = records;
+        this.recordsAtSnapshot = recordsAtSnapshot;
+
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "auction-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        engine.addListener(this);
+    }
+
+    private record Header(long firstRecord, String[] teams) {}
+
+    // Fields of one journal record, as handed to readHistory
+    public interface RecordVisitor {
+        void record(long number, byte type, long time, int player, int team, int amount);
+    }
+
+    // The history file kept next to a journal
+    public static Path historyPath(Path journalPath) {
+        return journalPath.resolveSibling(journalPath.getFileName() + ".history");
+    }
+
+    // True if a journal from an earlier run holds records that can be recovered
+    public static boolean hasRecoverableState(Path journalPath, Path snapshotPath) {
+        if (Files.exists(snapshotPath)) {
+            return true;
+        }
+        try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            channel.read(buffer, 0);
+            buffer.flip();
+            readHeader(buffer);
+            return buffer.remaining() >= RECORD_SIZE;
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    // Starts a new journal for the engine, discarding any earlier journal and snapshot
+    public static AuctionJournal create(AuctionEngine engine, Path journalPath, Path snapshotPath) throws IOException {
+        Files.deleteIfExists(snapshotPath);
+        FileChannel channel = FileChannel.open(journalPath,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        writeHeader(channel, 0, engine.getTeams());
+        FileChannel history = FileChannel.open(historyPath(journalPath),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        writeHeader(history, 0, engine.getTeams());
+        return new AuctionJournal(engine, journalPath, snapshotPath, channel, history, 0, 0);
+    }
+
+    // Rebuilds the engine from the last snapshot plus the journal, then keeps appending to it
+    public static AuctionJournal recover(AuctionEngine engine, Path journalPath, Path snapshotPath) throws IOException {
+        long recordsAtSnapshot = 0;
+        if (Files.exists(snapshotPath)) {
+            // Record count followed by a SnapshotCodec snapshot
+            try (FileChannel snapshot = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+                ByteBuffer buffer = snapshot.map(FileChannel.MapMode.READ_ONLY, 0, snapshot.size());
+                recordsAtSnapshot = buffer.getLong();
+                engine.restore(SnapshotCodec.decode(buffer));
+            }
+        }
+
+        FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long records = recordsAtSnapshot;
+        if (channel.size() == 0) {
+            writeHeader(channel, recordsAtSnapshot, engine.getTeams());
+        } else {
+            records = replay(engine, channel, recordsAtSnapshot);
+        }
+        engine.replayFinished();
+        return new AuctionJournal(engine, journalPath, snapshotPath, channel,
+            openHistory(historyPath(journalPath), engine.getTeams()), records, recordsAtSnapshot);
+    }
+
+    // Reopens the history for appending, cutting off a torn record at the end
+    private static FileChannel openHistory(Path path, String[] teams) throws IOException {
+        FileChannel history = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        int headerSize = headerSize(teams);
+        if (history.size() < headerSize) {
+            writeHeader(history, 0, teams);
+        } else {
+            long whole = headerSize + (history.size() - headerSize) / RECORD_SIZE * RECORD_SIZE;
+            history.truncate(whole);
+            history.position(whole);
+        }
+        return history;
+    }
+
+    // Reads every record in a history file, oldest first
+    public static void readHistory(Path journalPath, RecordVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(historyPath(journalPath), StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            long number = readHeader(buffer).firstRecord();
+            while (buffer.remaining() >= RECORD_SIZE) {
+                visitor.record(number++, buffer.get(), buffer.getLong(), buffer.getInt(), buffer.getShort(), buffer.getInt());
+            }
+        }
+    }
+
+    // Applies every record not covered by the snapshot and returns the total record count.
+    // A torn record at the end of the file (crash mid-write) is cut off.
+    private static long replay(AuctionEngine engine, FileChannel channel, long recordsAtSnapshot) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+        channel.read(buffer, 0);
+        buffer.flip();
+
+        Header header = readHeader(buffer);
+        String[] teams = header.teams();
+
+        long record = header.firstRecord();
+        while (buffer.remaining() >= RECORD_SIZE) {
+            byte type = buffer.get();
+            buffer.getLong(); // timestamp, only used by tools reading the journal
+            int player = buffer.getInt();
+            short team = buffer.getShort();
+            int amount = buffer.getInt();
+
+            if (record++ < recordsAtSnapshot) {
+                continue;
+            }
+            switch (type) {
+                case LOT_STARTED -> engine.replayLotStarted(player);
+                case BID -> engine.replayBid(teams[team], amount);
+                case SOLD -> engine.replaySale(player, teams[team], amount);
+                case UNSOLD -> { } // Nothing changes until the next lot starts
+                default -> throw new IOException("Corrupt journal record type " + type);
+            }
+        }
+        channel.truncate(buffer.position());
+        channel.position(buffer.position());
+        return Math.max(record, recordsAtSnapshot);
+    }
+
+    private static Header readHeader(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < 16 || buffer.getInt() != MAGIC) {
+            throw new IOException("Not an auction journal");
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported journal version " + version);
+        }
+        long firstRecord = buffer.getLong();
+        String[] teams = new String[buffer.getShort()];
+        for (int i = 0; i < teams.length; i++) {
+            byte[] name = new byte[buffer.getShort()];
+            buffer.get(name);
+            teams[i] = new String(name, StandardCharsets.UTF_8);
+        }
+        return new Header(firstRecord, teams);
+    }
+
+    private static int headerSize(String[] teams) {
+        int size = 4 + 2 + 8 + 2;
+        for (String team : teams) {
+            size += 2 + team.getBytes(StandardCharsets.UTF_8).length;
+        }
+        return size;
+    }
+
+    private static void writeHeader(FileChannel channel, long firstRecord, String[] teams) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(headerSize(teams));
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.putLong(firstRecord);
+        header.putShort((short) teams.length);
+        for (String team : teams) {
+            byte[] name = team.getBytes(StandardCharsets.UTF_8);
+            header.putShort((short) name.length);
+            header.put(name);
+        }
+        header.flip();
+        channel.truncate(0);
+        channel.position(0);
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(true);
+    }
+
+    @Override
+    public void lotStarted(PlayerInfo player) {
+        append(LOT_STARTED, engine.getCurrentPlayerIndex(), -1, player.basePrice);
+        if (records - recordsAtSnapshot >= SNAPSHOT_INTERVAL) {
+            snapshotQuietly();
+        }
+    }
+
+    @Override
+    public void bidPlaced(String team, int amount) {
+        append(BID, engine.getCurrentPlayerIndex(), teamIds.get(team), amount);
+    }
+
+    @Override
+    public void playerSold(PlayerInfo player, String team, int price) {
+        append(SOLD, engine.getCurrentPlayerIndex(), teamIds.get(team), price);
+    }
+
+    @Override
+    public void playerUnsold(PlayerInfo player) {
+        append(UNSOLD, engine.getCurrentPlayerIndex(), -1, 0);
+    }
+
+    // A loaded save file replaces the whole state, so it becomes the new snapshot
+    @Override
+    public void stateRestored() {
+        snapshotQuietly();
+    }
+
+    private void append(byte type, int player, int team, int amount) {
+        synchronized (bufferLock) {
+            pending = ensureRemaining(pending, RECORD_SIZE);
+            pending.put(type);
+            pending.putLong(System.currentTimeMillis());
+            pending.putInt(player);
+            pending.putShort((short) team);
+            pending.putInt(amount);
+            records++;
+        }
+    }
+
+    private static ByteBuffer ensureRemaining(ByteBuffer buffer, int needed) {
+        if (buffer.remaining() >= needed) {
+            return buffer;
+        }
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + needed));
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+
+    // Writes a queued snapshot, then writes and fsyncs every record appended so far
+    public void flush() throws IOException {
+        synchronized (channelLock) {
+            ByteBuffer batch;
+            byte[] snapshot;
+            long covered;
+            ByteBuffer covering = null;
+            synchronized (bufferLock) {
+                snapshot = queuedSnapshot;
+                covered = queuedCovered;
+                if (snapshot == null && pending.position() == 0) {
+                    return;
+                }
+                if (snapshot != null) {
+                    queuedSnapshot = null;
+                    covering = snapshotted;
+                    snapshotted = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+                }
+                batch = pending;
+                pending = writing.capacity() >= batch.capacity() ? writing : ByteBuffer.allocate(batch.capacity());
+                pending.clear();
+            }
+            // Records still pending all came after the snapshot, so they go after the new header
+            if (snapshot != null) {
+                writeSnapshot(snapshot, covered, covering.flip());
+            }
+            batch.flip();
+            if (batch.hasRemaining()) {
+                writeHistory(batch);
+                while (batch.hasRemaining()) {
+                    channel.write(batch);
+                }
+                channel.force(false);
+            }
+            batch.clear();
+            writing = batch;
+        }
+    }
+
+    // History is not needed for recovery, so it is written without an fsync
+    private void writeHistory(ByteBuffer batch) throws IOException {
+        ByteBuffer records = batch.duplicate();
+        while (records.hasRemaining()) {
+            history.write(records);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException e) {
+            reportFailure(e);
+        }
+    }
+
+    // Writes the full state to the snapshot file and restarts the journal after it, on the
+    // auction thread like the listener calls
+    public void snapshot() throws IOException {
+        queueSnapshot();
+        flush();
+    }
+
+    // Encodes the state on the auction thread, so it cannot change underneath, and leaves the
+    // writing to the flush thread. Records pending now are part of the snapshot.
+    private void queueSnapshot() throws IOException {
+        byte[] snapshot = encoder.encodeToArray(engine.snapshot());
+        synchronized (bufferLock) {
+            pending.flip();
+            snapshotted = ensureRemaining(snapshotted, pending.remaining());
+            snapshotted.put(pending);
+            pending.clear();
+            queuedSnapshot = snapshot;
+            queuedCovered = records;
+        }
+        recordsAtSnapshot = records;
+    }
+
+    // Called with channelLock held
+    private void writeSnapshot(byte[] snapshot, long covered, ByteBuffer covering) throws IOException {
+        long start = System.nanoTime();
+        writeHistory(covering);
+        Path temp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeLong(covered);
+            out.write(snapshot);
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        writeHeader(channel, covered, teams);
+        snapshotTimes.accept(System.nanoTime() - start);
+    }
+
+    // Receives the duration in nanoseconds of every snapshot written, e.g. AuctionMetrics::recordSnapshot
+    public void onSnapshot(LongConsumer listener) {
+        snapshotTimes = listener;
+    }
+
+    private void snapshotQuietly() {
+        try {
+            queueSnapshot();
+            flusher.execute(this::flushQuietly);
+        } catch (IOException e) {
+            reportFailure(e);
+        } catch (RejectedExecutionException e) {
+            // Closing, the final flush writes it
+        }
+    }
+
+    private void reportFailure(IOException e) {
+        if (failure == null) {
+            System.err.println("Auction journal error for " + journalPath + ": " + e.getMessage());
+        }
+        failure = e;
+    }
+
+    // Last write error, or null if the journal is healthy
+    public IOException getFailure() {
+        return failure;
+    }
+
+    public long getRecordCount() {
+        return records;
+    }
+
+    // Closes the journal and deletes it, for an auction the user quit on purpose. The
+    // history is left alone, the next auction starts a new one.
+    public void finish() throws IOException {
+        close();
+        Files.deleteIfExists(journalPath);
+        Files.deleteIfExists(snapshotPath);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        engine.removeListener(this);
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        channel.close();
+        history.close();
+    }
+}
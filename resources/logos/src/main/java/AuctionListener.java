@@ -0,0 +1,24 @@
+package resources.logos.src.main.java;
+
+// Receives auction events from AuctionEngine, all methods are optional
+public interface AuctionListener {
+    // A new player is under the hammer
+    default void lotStarted(PlayerInfo player) {}
+
+    default void bidPlaced(String team, int amount) {}
+
+    default void bidRejected(String team, AuctionEngine.BidResult reason) {}
+
+    // Called once per countdown second
+    default void timerTicked(int timeLeft) {}
+
+    default void playerSold(PlayerInfo player, String team, int price) {}
+
+    default void playerUnsold(PlayerInfo player) {}
+
+    // The last player has been auctioned and the engine wrapped back to the first
+    default void auctionCompleted() {}
+
+    // Engine state was replaced by a loaded snapshot
+    default void stateRestored() {}
+}
@@ -0,0 +1,153 @@
+package resources.logos.src.main.java;
+import java.text.NumberFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+// Bounded in-memory auction log. Events are kept as primitive fields in a ring buffer of
+// fixed capacity, so a long auction costs the same memory as a short one and appending
+// never copies. Every event gets a sequence number; once the ring is full the oldest are
+// overwritten, and the full history remains in the journal's history file.
+// Event types are the AuctionJournal record types. Not thread-safe, like the engine.
+public class AuctionLog implements AuctionListener {
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    private final AuctionEngine engine;
+    private final String[] teams;
+    private final int capacity;
+    private final byte[] types;
+    private final int[] teamIds;
+    private final int[] players;
+    private final int[] amounts;
+    private final long[] times;
+    private final LongSupplier clock;
+    private long nextSequence = 0;
+
+    public AuctionLog(AuctionEngine engine, int capacity) {
+        this(engine, capacity, System::currentTimeMillis);
+    }
+
+    // Events are stamped with the clock's epoch milliseconds, a replay's for a replayed auction
+    public AuctionLog(AuctionEngine engine, int capacity, LongSupplier clock) {
+        this.engine = engine;
+        this.clock = clock;
+        this.teams = engine.getTeams();
+        this.capacity = capacity;
+        types = new byte[capacity];
+        teamIds = new int[capacity];
+        players = new int[capacity];
+        amounts = new int[capacity];
+        times = new long[capacity];
+    }
+
+    public void add(byte type, int team, int player, int amount, long time) {
+        int slot = (int) (nextSequence % capacity);
+        types[slot] = type;
+        teamIds[slot] = team;
+        players[slot] = player;
+        amounts[slot] = amount;
+        times[slot] = time;
+        nextSequence++;
+    }
+
+    @Override
+    public void bidPlaced(String team, int amount) {
+        add(AuctionJournal.BID, engine.getHighestBidderId(), engine.getCurrentPlayerIndex(), amount, clock.getAsLong());
+    }
+
+    @Override
+    public void playerSold(PlayerInfo player, String team, int price) {
+        add(AuctionJournal.SOLD, engine.teamId(team), engine.getCurrentPlayerIndex(), price, clock.getAsLong());
+    }
+
+    @Override
+    public void playerUnsold(PlayerInfo player) {
+        add(AuctionJournal.UNSOLD, AuctionEngine.NO_BIDDER, engine.getCurrentPlayerIndex(), 0, clock.getAsLong());
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Sequence number of the oldest event still held
+    public long getFirstSequence() {
+        return Math.max(0, nextSequence - capacity);
+    }
+
+    // Sequence number the next event will get, also the number of events ever logged
+    public long getNextSequence() {
+        return nextSequence;
+    }
+
+    public boolean contains(long sequence) {
+        return sequence >= getFirstSequence() && sequence < nextSequence;
+    }
+
+    public byte getType(long sequence) {
+        return types[slot(sequence)];
+    }
+
+    public int getTeam(long sequence) {
+        return teamIds[slot(sequence)];
+    }
+
+    public int getPlayer(long sequence) {
+        return players[slot(sequence)];
+    }
+
+    public int getAmount(long sequence) {
+        return amounts[slot(sequence)];
+    }
+
+    public long getTime(long sequence) {
+        return times[slot(sequence)];
+    }
+
+    // True if the event is for the team (or any team if NO_BIDDER) and the player or team
+    // name contains the text, ignoring case (any player if the text is empty)
+    public boolean matches(long sequence, int team, String text) {
+        int slot = slot(sequence);
+        return matches(teamIds[slot], players[slot], team, text);
+    }
+
+    boolean matches(int eventTeam, int eventPlayer, int team, String text) {
+        if (team != AuctionEngine.NO_BIDDER && eventTeam != team) {
+            return false;
+        }
+        if (text.isEmpty()) {
+            return true;
+        }
+        List<PlayerInfo> roster = engine.getPlayers();
+        String lower = text.toLowerCase();
+        return (eventPlayer < roster.size() && roster.get(eventPlayer).name.toLowerCase().contains(lower))
+            || (eventTeam >= 0 && teams[eventTeam].toLowerCase().contains(lower));
+    }
+
+    // Display text for an event, built only when a row is shown
+    public String describe(long sequence) {
+        int slot = slot(sequence);
+        return describe(types[slot], times[slot], players[slot], teamIds[slot], amounts[slot]);
+    }
+
+    String describe(byte type, long time, int player, int team, int amount) {
+        List<PlayerInfo> roster = engine.getPlayers();
+        String name = player < roster.size() ? roster.get(player).name : "Player #" + player;
+        String clock = new SimpleDateFormat("HH:mm:ss").format(new Date(time));
+        String price = "₹" + NumberFormat.getInstance().format(amount);
+        return switch (type) {
+            case AuctionJournal.BID -> clock + "  " + teams[team] + " bids " + price + " for " + name;
+            case AuctionJournal.SOLD -> clock + "  " + name + " sold to " + teams[team] + " for " + price;
+            case AuctionJournal.UNSOLD -> clock + "  " + name + " went unsold";
+            case AuctionJournal.LOT_STARTED -> clock + "  " + name + " up for auction at " + price;
+            default -> clock + "  Unknown event " + type;
+        };
+    }
+
+    private int slot(long sequence) {
+        if (!contains(sequence)) {
+            throw new IndexOutOfBoundsException("Event " + sequence + " is no longer in the log");
+        }
+        return (int) (sequence % capacity);
+    }
+}
@@ -0,0 +1,240 @@
+package resources.logos.src.main.java;
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Virtualized view of an AuctionLog: a JList with a fixed row height only builds text for
+// the rows on screen. Rows can be filtered by team and searched by player or team name,
+// and the full history can be searched from the journal's history file, when there is a
+// journal (a replayed auction has none). EDT only.
+public final class AuctionLogView extends JPanel {
+    private static final long serialVersionUID = 1L;
+
+    private static final int ROW_HEIGHT = 18;
+
+    private final transient AuctionLog log;
+    private final transient Path journalPath;
+    private final JTextField searchField = new JTextField(16);
+    private final JComboBox<String> teamFilter;
+    private final RowModel model = new RowModel();
+    private final JList<Long> list = new JList<>(model);
+
+    public AuctionLogView(AuctionLog log, String[] teams, Path journalPath) {
+        super(new BorderLayout(5, 5));
+        this.log = log;
+        this.journalPath = journalPath;
+
+        String[] teamChoices = new String[teams.length + 1];
+        teamChoices[0] = "All Teams";
+        System.arraycopy(teams, 0, teamChoices, 1, teams.length);
+        teamFilter = new JComboBox<>(teamChoices);
+        teamFilter.addActionListener(e -> model.rebuild());
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) {
+                model.rebuild();
+            }
+
+            public void removeUpdate(DocumentEvent e) {
+                model.rebuild();
+            }
+
+            public void changedUpdate(DocumentEvent e) {
+                model.rebuild();
+            }
+        });
+        JButton historyButton = new JButton("Full History...");
+        historyButton.addActionListener(e -> showHistory());
+
+        JPanel filters = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        filters.add(new JLabel("Search:"));
+        filters.add(searchField);
+        filters.add(teamFilter);
+        if (journalPath != null) {
+            filters.add(historyButton);
+        }
+
+        list.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        list.setBackground(new Color(250, 250, 250));
+        list.setFixedCellHeight(ROW_HEIGHT); // Rows are never measured one by one
+        list.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                long sequence = (Long) value;
+                String text = log.contains(sequence) ? log.describe(sequence) : "...";
+                return super.getListCellRendererComponent(list, text, index, isSelected, cellHasFocus);
+            }
+        });
+
+        JScrollPane scrollPane = new JScrollPane(list);
+        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
+        add(filters, BorderLayout.NORTH);
+        add(scrollPane, BorderLayout.CENTER);
+    }
+
+    // Picks up events logged since the last call, call it once per rendered frame
+    public void sync() {
+        int last = model.getSize() - 1;
+        boolean following = last < 0 || list.getLastVisibleIndex() >= last;
+        model.sync();
+        if (following && model.getSize() > 0) {
+            list.ensureIndexIsVisible(model.getSize() - 1);
+        }
+    }
+
+    private int selectedTeam() {
+        return teamFilter.getSelectedIndex() - 1; // "All Teams" becomes NO_BIDDER
+    }
+
+    // Searches every event ever journaled with the current filter, not only those in memory
+    private void showHistory() {
+        int team = selectedTeam();
+        String text = searchField.getText().trim();
+        HistoryModel history = new HistoryModel();
+        try {
+            AuctionJournal.readHistory(journalPath, (number, type, time, player, eventTeam, amount) -> {
+                if (type != AuctionJournal.LOT_STARTED && log.matches(eventTeam, player, team, text)) {
+                    history.add(type, time, player, eventTeam, amount);
+                }
+            });
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "Error reading auction history: " + e.getMessage(),
+                "History Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        JList<Integer> rows = new JList<>(history);
+        rows.setFont(list.getFont());
+        rows.setFixedCellHeight(ROW_HEIGHT);
+        rows.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                return super.getListCellRendererComponent(list, history.describe((Integer) value),
+                    index, isSelected, cellHasFocus);
+            }
+        });
+        JScrollPane scrollPane = new JScrollPane(rows);
+        scrollPane.setPreferredSize(new Dimension(700, 400));
+        JOptionPane.showMessageDialog(this, scrollPane,
+            String.format("Auction History (%,d events)", history.getSize()), JOptionPane.PLAIN_MESSAGE);
+    }
+
+    // Sequence numbers of the logged events that pass the filter, oldest first
+    private final class RowModel extends AbstractListModel<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private long[] rows = new long[1024];
+        private int start = 0;
+        private int end = 0;
+        private long synced = 0;
+
+        @Override
+        public int getSize() {
+            return end - start;
+        }
+
+        @Override
+        public Long getElementAt(int index) {
+            return rows[start + index];
+        }
+
+        void sync() {
+            // Rows that have dropped out of the ring buffer
+            int removed = 0;
+            long first = log.getFirstSequence();
+            while (start < end && rows[start] < first) {
+                start++;
+                removed++;
+            }
+            if (removed > 0) {
+                fireIntervalRemoved(this, 0, removed - 1);
+            }
+
+            int before = getSize();
+            int team = selectedTeam();
+            String text = searchField.getText().trim();
+            for (long sequence = Math.max(synced, first); sequence < log.getNextSequence(); sequence++) {
+                if (log.matches(sequence, team, text)) {
+                    append(sequence);
+                }
+            }
+            synced = log.getNextSequence();
+            if (getSize() > before) {
+                fireIntervalAdded(this, before, getSize() - 1);
+            }
+        }
+
+        // Refilters everything still in memory after the filter changed
+        void rebuild() {
+            int size = getSize();
+            start = 0;
+            end = 0;
+            synced = 0;
+            if (size > 0) {
+                fireIntervalRemoved(this, 0, size - 1);
+            }
+            sync();
+        }
+
+        private void append(long sequence) {
+            if (end == rows.length) {
+                if (start > rows.length / 2) {
+                    // Mostly evicted rows at the front, reuse the space
+                    System.arraycopy(rows, start, rows, 0, end - start);
+                    end -= start;
+                    start = 0;
+                } else {
+                    rows = Arrays.copyOf(rows, rows.length * 2);
+                }
+            }
+            rows[end++] = sequence;
+        }
+    }
+
+    // Matching history records, stored column-wise and described on demand
+    private final class HistoryModel extends AbstractListModel<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private byte[] types = new byte[1024];
+        private long[] times = new long[1024];
+        private int[] players = new int[1024];
+        private int[] eventTeams = new int[1024];
+        private int[] amounts = new int[1024];
+        private int size = 0;
+
+        void add(byte type, long time, int player, int team, int amount) {
+            if (size == types.length) {
+                types = Arrays.copyOf(types, size * 2);
+                times = Arrays.copyOf(times, size * 2);
+                players = Arrays.copyOf(players, size * 2);
+                eventTeams = Arrays.copyOf(eventTeams, size * 2);
+                amounts = Arrays.copyOf(amounts, size * 2);
+            }
+            types[size] = type;
+            times[size] = time;
+            players[size] = player;
+            eventTeams[size] = team;
+            amounts[size] = amount;
+            size++;
+        }
+
+        String describe(int row) {
+            return log.describe(types[row], times[row], players[row], eventTeams[row], amounts[row]);
+        }
+
+        @Override
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public Integer getElementAt(int index) {
+            return index;
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package resources.logos.src.main.java;
+import java.awt.EventQueue;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Counters and histograms for the bidding pipeline. Add it as a listener to an engine (or to
+// several rooms, recording is thread-safe): counters are LongAdders and histograms are
+// LatencyHistograms, so recording never takes a lock or allocates. The UI feeds in what only
+// it can see, bid-to-screen latency and event queue delay, and whoever writes snapshots
+// feeds in their duration. The bid rate is measured over a fixed RATE_WINDOW_MS from totals
+// sampled in the background once startRateSampler has been called, so it does not depend on
+// how often it is read.
+//
+// Read it through JMX (register), the Prometheus text format (writePrometheus, served by
+// MetricsHttpServer) or JFR: every bid, rejection and sale is also a JFR event, which costs
+// a flag check and no allocation unless a recording has them enabled.
+public class AuctionMetrics implements AuctionListener, AuctionMetricsMXBean, AutoCloseable {
+    public static final long EVENT_QUEUE_PROBE_MS = 100;
+    public static final long RATE_WINDOW_MS = 1000;
+    public static final long RATE_SAMPLE_MS = 100;
+
+    private static final AuctionEngine.BidResult[] RESULTS = AuctionEngine.BidResult.values();
+    // Sale price over base price is recorded in thousandths
+    private static final int RATIO_SCALE = 1000;
+    // Events are only created while a recording has them enabled
+    private static final EventType BID_EVENT = EventType.getEventType(BidEvent.class);
+    private static final EventType SALE_EVENT = EventType.getEventType(SaleEvent.class);
+
+    private final LongAdder bids = new LongAdder();
+    private final LongAdder[] rejected = new LongAdder[RESULTS.length];
+    private final LongAdder sold = new LongAdder();
+    private final LongAdder unsold = new LongAdder();
+    private final LatencyHistogram bidToUi = new LatencyHistogram();
+    private final LatencyHistogram eventQueueDelay = new LatencyHistogram();
+    private final LatencyHistogram snapshotTimes = new LatencyHistogram();
+    private final LatencyHistogram priceRatios = new LatencyHistogram();
+
+    // Bid totals and their times, sampled every RATE_SAMPLE_MS, guarded by this. The ring
+    // holds one window, so the oldest sample is RATE_WINDOW_MS older than the newest.
+    private final long[] rateBids = new long[(int) (RATE_WINDOW_MS / RATE_SAMPLE_MS) + 1];
+    private final long[] rateNanos = new long[rateBids.length];
+    private int rateSamples;
+
+    // Runs the event queue probe and the rate sampler
+    private ScheduledExecutorService background;
+    private boolean probing;
+    private boolean sampling;
+    private ObjectName objectName;
+
+    public AuctionMetrics() {
+        for (int r = 0; r < rejected.length; r++) {
+            rejected[r] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void bidPlaced(String team, int amount) {
+        bids.increment();
+        if (!BID_EVENT.isEnabled()) {
+            return;
+        }
+        BidEvent event = new BidEvent();
+        if (event.shouldCommit()) {
+            event.team = team;
+            event.amount = amount;
+            event.result = AuctionEngine.BidResult.ACCEPTED.name();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void bidRejected(String team, AuctionEngine.BidResult reason) {
+        rejected[reason.ordinal()].increment();
+        if (!BID_EVENT.isEnabled()) {
+            return;
+        }
+        BidEvent event = new BidEvent();
+        if (event.shouldCommit()) {
+            event.team = team;
+            event.result = reason.name();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void playerSold(PlayerInfo player, String team, int price) {
+        sold.increment();
+        priceRatios.record((long) price * RATIO_SCALE / Math.max(player.basePrice, 1));
+        if (!SALE_EVENT.isEnabled()) {
+            return;
+        }
+        SaleEvent event = new SaleEvent();
+        if (event.shouldCommit()) {
+            event.player = player.name;
+            event.team = team;
+            event.price = price;
+            event.basePrice = player.basePrice;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void playerUnsold(PlayerInfo player) {
+        unsold.increment();
+    }
+
+    // Time from an accepted bid until the window showed it
+    public void recordBidToUi(long nanos) {
+        bidToUi.record(nanos);
+    }
+
+    public void recordSnapshot(long nanos) {
+        snapshotTimes.record(nanos);
+    }
+
+    // Posts a probe to the EDT every EVENT_QUEUE_PROBE_MS and records how long it waited.
+    // Only one probe is queued at a time, so a stalled EDT shows up as one long delay.
+    public synchronized void startEventQueueProbe() {
+        if (probing) {
+            return;
+        }
+        probing = true;
+        AtomicBoolean queued = new AtomicBoolean();
+        background().scheduleAtFixedRate(() -> {
+            if (queued.compareAndSet(false, true)) {
+                long posted = System.nanoTime();
+                EventQueue.invokeLater(() -> {
+                    eventQueueDelay.record(System.nanoTime() - posted);
+                    queued.set(false);
+                });
+            }
+        }, EVENT_QUEUE_PROBE_MS, EVENT_QUEUE_PROBE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // Samples the bid total every RATE_SAMPLE_MS, getBidsPerSecond is 0 until this has run
+    public synchronized void startRateSampler() {
+        if (sampling) {
+            return;
+        }
+        sampling = true;
+        background().scheduleAtFixedRate(this::sampleRate, 0, RATE_SAMPLE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void sampleRate() {
+        int slot = rateSamples % rateBids.length;
+        rateBids[slot] = bids.sum();
+        rateNanos[slot] = System.nanoTime();
+        rateSamples++;
+    }
+
+    private ScheduledExecutorService background() {
+        if (background == null) {
+            background = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "auction-metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return background;
+    }
+
+    // Registers the MXBean as auction:type=Metrics,name=<name> on the platform server
+    public synchronized void register(String name) throws JMException {
+        ObjectName objectName = ObjectName.getInstance("auction:type=Metrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        this.objectName = objectName;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (background != null) {
+            background.shutdownNow();
+            background = null;
+            probing = false;
+            sampling = false;
+        }
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (JMException e) {
+                // Already gone
+            }
+            objectName = null;
+        }
+    }
+
+    // Prometheus text exposition format, version 0.0.4
+    public void writePrometheus(StringBuilder out) {
+        counter(out, "auction_bids_total", "Accepted bids.", bids.sum());
+        out.append("# HELP auction_bids_rejected_total Rejected bids by reason.\n");
+        out.append("# TYPE auction_bids_rejected_total counter\n");
+        for (AuctionEngine.BidResult result : RESULTS) {
+            if (result != AuctionEngine.BidResult.ACCEPTED) {
+                out.append("auction_bids_rejected_total{reason=\"").append(result.name().toLowerCase())
+                    .append("\"} ").append(rejected[result.ordinal()].sum()).append('\n');
+            }
+        }
+        gauge(out, "auction_bids_per_second", "Accepted bids per second over the last sampled second.",
+            getBidsPerSecond());
+        counter(out, "auction_players_sold_total", "Players sold.", sold.sum());
+        counter(out, "auction_players_unsold_total", "Players that went unsold.", unsold.sum());
+        summary(out, "auction_sale_price_ratio", "Sale price over base price.", priceRatios, RATIO_SCALE);
+        summary(out, "auction_bid_to_ui_seconds", "Time from an accepted bid until it was painted.", bidToUi, 1e9);
+        summary(out, "auction_edt_queue_delay_seconds", "Time an event waited on the Swing event queue.",
+            eventQueueDelay, 1e9);
+        summary(out, "auction_snapshot_duration_seconds", "Time to write a snapshot.", snapshotTimes, 1e9);
+    }
+
+    private static void counter(StringBuilder out, String name, String help, long value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, double value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" gauge\n");
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void summary(StringBuilder out, String name, String help, LatencyHistogram histogram, double scale) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" summary\n");
+        for (double quantile : new double[] {0.5, 0.9, 0.99}) {
+            out.append(name).append("{quantile=\"").append(quantile).append("\"} ")
+                .append(histogram.getPercentile(quantile) / scale).append('\n');
+        }
+        out.append(name).append("_sum ").append(histogram.getSum() / scale).append('\n');
+        out.append(name).append("_count ").append(histogram.getCount()).append('\n');
+    }
+
+    public LatencyHistogram getBidToUiTimes() {
+        return bidToUi;
+    }
+
+    public LatencyHistogram getEventQueueDelays() {
+        return eventQueueDelay;
+    }
+
+    public LatencyHistogram getSnapshotTimes() {
+        return snapshotTimes;
+    }
+
+    public long getRejectedCount(AuctionEngine.BidResult reason) {
+        return rejected[reason.ordinal()].sum();
+    }
+
+    // MXBean attributes
+
+    @Override
+    public long getBidCount() {
+        return bids.sum();
+    }
+
+    @Override
+    public synchronized double getBidsPerSecond() {
+        if (rateSamples < 2) {
+            return 0;
+        }
+        // Newest sample against the one a window before it, or the first one for now
+        int newest = (rateSamples - 1) % rateBids.length;
+        int oldest = rateSamples > rateBids.length ? rateSamples % rateBids.length : 0;
+        return (rateBids[newest] - rateBids[oldest]) * 1e9 / (rateNanos[newest] - rateNanos[oldest]);
+    }
+
+    @Override
+    public Map<String, Long> getRejectedBids() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (AuctionEngine.BidResult result : RESULTS) {
+            if (result != AuctionEngine.BidResult.ACCEPTED) {
+                counts.put(result.name(), rejected[result.ordinal()].sum());
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public long getSoldCount() {
+        return sold.sum();
+    }
+
+    @Override
+    public long getUnsoldCount() {
+        return unsold.sum();
+    }
+
+    @Override
+    public double getMedianPriceRatio() {
+        return priceRatios.getPercentile(0.5) / (double) RATIO_SCALE;
+    }
+
+    @Override
+    public double getBidToUiP99Millis() {
+        return bidToUi.getPercentile(0.99) / 1e6;
+    }
+
+    @Override
+    public double getEventQueueDelayP99Millis() {
+        return eventQueueDelay.getPercentile(0.99) / 1e6;
+    }
+
+    @Override
+    public double getSnapshotP99Millis() {
+        return snapshotTimes.getPercentile(0.99) / 1e6;
+    }
+
+    // Result is ACCEPTED or the BidResult that rejected the bid, rejected bids have amount 0
+    @Name("auction.Bid")
+    @Label("Bid")
+    @Category("Auction")
+    static final class BidEvent extends Event {
+        @Label("Team")
+        String team;
+
+        @Label("Amount")
+        int amount;
+
+        @Label("Result")
+        String result;
+    }
+
+    @Name("auction.Sale")
+    @Label("Sale")
+    @Category("Auction")
+    static final class SaleEvent extends Event {
+        @Label("Player")
+        String player;
+
+        @Label("Team")
+        String team;
+
+        @Label("Price")
+        int price;
+
+        @Label("Base Price")
+        int basePrice;
+    }
+}
@@ -0,0 +1,25 @@
+package resources.logos.src.main.java;
+import java.util.Map;
+
+// JMX view of AuctionMetrics, see AuctionMetrics.register
+public interface AuctionMetricsMXBean {
+    long getBidCount();
+
+    double getBidsPerSecond();
+
+    // Rejected bids by BidResult name
+    Map<String, Long> getRejectedBids();
+
+    long getSoldCount();
+
+    long getUnsoldCount();
+
+    // Median sale price over base price
+    double getMedianPriceRatio();
+
+    double getBidToUiP99Millis();
+
+    double getEventQueueDelayP99Millis();
+
+    double getSnapshotP99Millis();
+}
@@ -0,0 +1,325 @@
+package resources.logos.src.main.java;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+// Records everything that happens in an auction, bids, rejected bids, timer ticks and
+// lot decisions, with millisecond timestamps, so AuctionReplay can show the auction again
+// and reconstruct it at any moment. Unlike AuctionJournal this is for looking back, not
+// for recovery: the file is buffered and flushed at each checkpoint.
+//
+// Every CHECKPOINT_INTERVAL records, and whenever the state is replaced by a load, the
+// mutable state (lot, bid, budgets, squads) is written as a checkpoint; seeking replays at
+// most that many records on top of one. Players are written once, when the auction first
+// reaches them, with roles and nationalities as ids of labels defined on first use. Every
+// record can be skipped without knowing what came before it.
+//
+// Layout: header (magic, version, wall-clock start in epoch millis, team names), then
+// records of [type:1][milliseconds since the previous record, varint][payload], all
+// further integers unsigned varints:
+//   LABEL       text (id is the next one)
+//   PLAYER      name, role label id, nationality label id, base price (index is the next one)
+//   ROSTER      no payload, a new roster follows as PLAYER records (after a load)
+//   LOT_STARTED player
+//   BID         team:1, amount
+//   REJECTED    team:1, reason:1 (BidResult ordinal)
+//   TICK        time left
+//   SOLD        player, team:1, price
+//   UNSOLD      player
+//   CHECKPOINT  restored:1, player, bid, highest bidder + 1, time left, paused:1,
+//               then per team: budget, squad size, [player, price] per squad member
+// Text is a varint length followed by UTF-8 bytes.
+public class AuctionRecorder implements AuctionListener, Closeable {
+    public static final String EXTENSION = ".replay";
+    public static final int CHECKPOINT_INTERVAL = 1024;
+
+    static final int MAGIC = 0x49504C59; // "IPLY"
+    static final short VERSION = 1;
+
+    static final byte LOT_STARTED = AuctionJournal.LOT_STARTED;
+    static final byte BID = AuctionJournal.BID;
+    static final byte SOLD = AuctionJournal.SOLD;
+    static final byte UNSOLD = AuctionJournal.UNSOLD;
+    static final byte REJECTED = 5;
+    static final byte TICK = 6;
+    static final byte PLAYER = 7;
+    static final byte ROSTER = 8;
+    static final byte CHECKPOINT = 9;
+    static final byte LABEL = 10;
+
+    private final AuctionEngine engine;
+    private final LongSupplier clock;
+    private final DataOutputStream out;
+    private final String[] teams;
+    private final Map<String, Integer> teamIds = new HashMap<>();
+    private final Map<String, Integer> labels = new HashMap<>();
+
+    // Squads as player indices in purchase order, for checkpoints
+    private final int[][] squadPlayers;
+    private final int[][] squadPrices;
+    private final int[] squadSizes;
+
+    private int definedPlayers; // Players of the current roster written so far
+    private long lastTime;
+    private int recordsSinceCheckpoint;
+    private IOException failure;
+    private Consumer<IOException> failureListener = e -> {};
+    private boolean closed;
+
+    private AuctionRecorder(AuctionEngine engine, LongSupplier clock, DataOutputStream out) throws IOException {
+        this.engine = engine;
+        this.clock = clock;
+        this.out = out;
+        this.teams = engine.getTeams();
+        for (int t = 0; t < teams.length; t++) {
+            teamIds.put(teams[t], t);
+        }
+        squadPlayers = new int[teams.length][AuctionEngine.MAX_PLAYERS_PER_TEAM];
+        squadPrices = new int[teams.length][AuctionEngine.MAX_PLAYERS_PER_TEAM];
+        squadSizes = new int[teams.length];
+
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(System.currentTimeMillis());
+        out.writeShort(teams.length);
+        for (String team : teams) {
+            byte[] name = team.getBytes(StandardCharsets.UTF_8);
+            out.writeShort(name.length);
+            out.write(name);
+        }
+        lastTime = clock.getAsLong();
+        writeState(false);
+        engine.addListener(this);
+    }
+
+    // Starts recording the engine's auction from its current state. The clock gives the
+    // time in milliseconds, wall-clock time for a live auction or a scheduler's clock.
+    public static AuctionRecorder create(AuctionEngine engine, Path path, LongSupplier clock) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path.toFile()), 64 * 1024));
+        try {
+            return new AuctionRecorder(engine, clock, out);
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void lotStarted(PlayerInfo player) {
+        int index = engine.getCurrentPlayerIndex();
+        try {
+            definePlayersUpTo(index);
+            header(LOT_STARTED);
+            writeVarInt(index);
+            recorded();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public void bidPlaced(String team, int amount) {
+        try {
+            header(BID);
+            out.writeByte(teamIds.get(team));
+            writeVarInt(amount);
+            recorded();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public void bidRejected(String team, AuctionEngine.BidResult reason) {
+        try {
+            header(REJECTED);
+            out.writeByte(teamIds.get(team));
+            out.writeByte(reason.ordinal());
+            recorded();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public void timerTicked(int timeLeft) {
+        try {
+            header(TICK);
+            writeVarInt(Math.max(timeLeft, 0));
+            recorded();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public void playerSold(PlayerInfo player, String team, int price) {
+        int index = engine.getCurrentPlayerIndex();
+        int id = teamIds.get(team);
+        addToSquad(id, index, price);
+        try {
+            header(SOLD);
+            writeVarInt(index);
+            out.writeByte(id);
+            writeVarInt(price);
+            recorded();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public void playerUnsold(PlayerInfo player) {
+        try {
+            header(UNSOLD);
+            writeVarInt(engine.getCurrentPlayerIndex());
+            recorded();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    // A load replaced the roster and every squad, record all of it
+    @Override
+    public void stateRestored() {
+        try {
+            header(ROSTER);
+            definedPlayers = 0;
+            writeState(true);
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    // Defines every loaded player, rebuilds the squads from the engine and checkpoints
+    private void writeState(boolean restored) throws IOException {
+        definePlayersUpTo(engine.getPlayers().size() - 1);
+        Arrays.fill(squadSizes, 0);
+        for (int i = 0; i < engine.getPlayers().size(); i++) {
+            if (engine.isSold(i)) {
+                PlayerInfo player = engine.getPlayers().get(i);
+                addToSquad(teamIds.get(player.purchasedBy), i, player.finalPrice);
+            }
+        }
+        checkpoint(restored);
+    }
+
+    private void checkpoint(boolean restored) throws IOException {
+        header(CHECKPOINT);
+        out.writeByte(restored ? 1 : 0);
+        writeVarInt(engine.getCurrentPlayerIndex());
+        writeVarInt((int) engine.getCurrentBid());
+        writeVarInt(engine.getHighestBidderId() + 1);
+        writeVarInt(Math.max(engine.getTimeLeft(), 0));
+        out.writeByte(engine.isPaused() ? 1 : 0);
+        for (int t = 0; t < teams.length; t++) {
+            writeVarInt(Math.max(engine.getTeamBudget(t), 0));
+            writeVarInt(squadSizes[t]);
+            for (int i = 0; i < squadSizes[t]; i++) {
+                writeVarInt(squadPlayers[t][i]);
+                writeVarInt(squadPrices[t][i]);
+            }
+        }
+        recordsSinceCheckpoint = 0;
+        out.flush();
+    }
+
+    private void definePlayersUpTo(int index) throws IOException {
+        for (; definedPlayers <= index; definedPlayers++) {
+            PlayerInfo player = engine.getPlayers().get(definedPlayers);
+            int role = labelId(player.role);
+            int nationality = labelId(player.nationality);
+            header(PLAYER);
+            writeString(player.name);
+            writeVarInt(role);
+            writeVarInt(nationality);
+            writeVarInt(player.basePrice);
+        }
+    }
+
+    private void addToSquad(int team, int player, int price) {
+        int size = squadSizes[team];
+        if (size == squadPlayers[team].length) {
+            squadPlayers[team] = Arrays.copyOf(squadPlayers[team], size * 2);
+            squadPrices[team] = Arrays.copyOf(squadPrices[team], size * 2);
+        }
+        squadPlayers[team][size] = player;
+        squadPrices[team][size] = price;
+        squadSizes[team]++;
+    }
+
+    private void header(byte type) throws IOException {
+        if (failure != null) {
+            throw failure; // A replay stops at a gap, so nothing is written after one
+        }
+        long now = clock.getAsLong();
+        out.writeByte(type);
+        writeVarInt((int) Math.min(Math.max(now - lastTime, 0), Integer.MAX_VALUE));
+        lastTime = Math.max(now, lastTime);
+    }
+
+    private void recorded() throws IOException {
+        if (++recordsSinceCheckpoint >= CHECKPOINT_INTERVAL) {
+            checkpoint(false);
+        }
+    }
+
+    // Defines the label with a LABEL record the first time it is used
+    private int labelId(String label) throws IOException {
+        Integer id = labels.get(label);
+        if (id == null) {
+            id = labels.size();
+            labels.put(label, id);
+            header(LABEL);
+            writeString(label);
+        }
+        return id;
+    }
+
+    private void writeString(String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private void fail(IOException e) {
+        if (failure == null) {
+            failure = e;
+            failureListener.accept(e);
+        }
+    }
+
+    // Last write error, or null if the recording is intact
+    public IOException getFailure() {
+        return failure;
+    }
+
+    // Hears of the first write error, on the engine thread; recording stops there
+    public void onFailure(Consumer<IOException> listener) {
+        failureListener = listener;
+    }
+
+    // On the engine thread, like the listener calls
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        engine.removeListener(this);
+        out.close();
+    }
+}
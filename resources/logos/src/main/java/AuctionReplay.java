@@ -0,0 +1,439 @@
+package resources.logos.src.main.java;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+// Plays back a recording made by AuctionRecorder through an AuctionEngine of its own.
+// Opening the file scans it once to collect the rosters and a checkpoint index. seek()
+// then restores the last checkpoint at or before the target and applies the records up
+// to it without notifying listeners, at most CHECKPOINT_INTERVAL of them, and notifies
+// stateRestored once. advanceTo() moves forward record by record with the same listener
+// calls the live auction made, which is how ReplayControls drives the auction window.
+//
+// Times are milliseconds since the recording started. Not thread-safe, use it from the
+// thread its engine's listeners expect (the EDT when a window shows it).
+public class AuctionReplay {
+    private static final DateTimeFormatter WALL_CLOCK = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")
+        .withZone(ZoneId.systemDefault());
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final int end; // Past the last whole record, a torn tail is ignored
+    private final long startEpochMillis;
+    private final String[] teams;
+    private final List<List<PlayerInfo>> rosters; // One per ROSTER record, plus the first
+    private final long recordCount;
+    private final long duration;
+
+    // Checkpoint index, in file order
+    private final int checkpointCount;
+    private final long[] checkpointTimes;
+    private final int[] checkpointOffsets; // Offset of the record's payload
+    private final int[] checkpointRosters;
+
+    private final AuctionEngine engine;
+
+    // Playback position: next record to apply, and the time of the last one applied
+    private int offset;
+    private long time;
+    private int roster;
+
+    // Fields of the record apply() just read
+    private int player;
+    private int team;
+    private int amount;
+
+    private AuctionReplay(Path path, ByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.remaining() < 16 || buffer.getInt() != AuctionRecorder.MAGIC) {
+            throw new IOException("Not an auction recording: " + path);
+        }
+        short version = buffer.getShort();
+        if (version != AuctionRecorder.VERSION) {
+            throw new IOException("Unsupported recording version " + version);
+        }
+        startEpochMillis = buffer.getLong();
+        teams = new String[buffer.getShort()];
+        for (int t = 0; t < teams.length; t++) {
+            byte[] name = new byte[buffer.getShort()];
+            buffer.get(name);
+            teams[t] = new String(name, StandardCharsets.UTF_8);
+        }
+        int firstRecord = buffer.position();
+
+        // One pass over the file for the rosters and checkpoints
+        rosters = new ArrayList<>();
+        rosters.add(new ArrayList<>());
+        List<String> labels = new ArrayList<>();
+        long[] times = new long[64];
+        int[] offsets = new int[64];
+        int[] checkpointRosterIds = new int[64];
+        int checkpoints = 0;
+        long records = 0;
+        long clock = 0;
+        long lastClock = 0;
+        int lastWhole = firstRecord;
+        try {
+            while (buffer.hasRemaining()) {
+                byte recordType = buffer.get();
+                clock += SnapshotCodec.getVarInt(buffer);
+                switch (recordType) {
+                    case AuctionRecorder.LABEL -> labels.add(getString(buffer).intern());
+                    case AuctionRecorder.PLAYER -> {
+                        String name = getString(buffer);
+                        String role = labels.get(SnapshotCodec.getVarInt(buffer));
+                        String nationality = labels.get(SnapshotCodec.getVarInt(buffer));
+                        rosters.get(rosters.size() - 1).add(new PlayerInfo(name, role, SnapshotCodec.getVarInt(buffer), nationality));
+                    }
+                    case AuctionRecorder.ROSTER -> rosters.add(new ArrayList<>());
+                    case AuctionRecorder.CHECKPOINT -> {
+                        if (checkpoints == times.length) {
+                            times = Arrays.copyOf(times, checkpoints * 2);
+                            offsets = Arrays.copyOf(offsets, checkpoints * 2);
+                            checkpointRosterIds = Arrays.copyOf(checkpointRosterIds, checkpoints * 2);
+                        }
+                        times[checkpoints] = clock;
+                        offsets[checkpoints] = buffer.position();
+                        checkpointRosterIds[checkpoints] = rosters.size() - 1;
+                        checkpoints++;
+                        skipCheckpoint();
+                    }
+                    default -> skipEvent(recordType);
+                }
+                records++;
+                lastWhole = buffer.position();
+                lastClock = clock;
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            // Recording cut off mid-record, keep what is whole
+        }
+        if (checkpoints == 0) {
+            throw new IOException("Recording has no checkpoint: " + path);
+        }
+        end = lastWhole;
+        recordCount = records;
+        duration = lastClock;
+        checkpointCount = checkpoints;
+        checkpointTimes = times;
+        checkpointOffsets = offsets;
+        checkpointRosters = checkpointRosterIds;
+
+        engine = new AuctionEngine(teams, rosters.get(checkpointRosters[0]));
+        offset = firstRecord;
+        seek(0);
+    }
+
+    public static AuctionReplay open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new AuctionReplay(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt auction recording: " + path, e);
+        }
+    }
+
+    // Reconstructs the auction as it stood at the time, then notifies stateRestored
+    public void seek(long millis) {
+        long target = Math.max(0, Math.min(millis, duration));
+        int k = lastCheckpointAtOrBefore(target);
+        roster = checkpointRosters[k];
+        buffer.position(checkpointOffsets[k]);
+        restoreCheckpoint();
+        time = checkpointTimes[k];
+        offset = buffer.position();
+        applyUpTo(target, false);
+        time = target;
+        engine.replayFinished();
+    }
+
+    // Plays forward to the time with live listener calls, seeks if the time is behind
+    public void advanceTo(long millis) {
+        long target = Math.min(millis, duration);
+        if (target < time) {
+            seek(target);
+            return;
+        }
+        applyUpTo(target, true);
+        time = Math.max(time, target);
+    }
+
+    private void applyUpTo(long target, boolean notify) {
+        applyUpTo(target, notify, null);
+    }
+
+    // Applies records up to the target time, describing each to the printer if there is one
+    private void applyUpTo(long target, boolean notify, PrintStream printer) {
+        buffer.position(offset);
+        while (buffer.position() < end) {
+            int start = buffer.position();
+            byte recordType = buffer.get();
+            long at = time + SnapshotCodec.getVarInt(buffer);
+            if (at > target) {
+                buffer.position(start);
+                break;
+            }
+            time = at; // Listeners see the record's own time
+            apply(recordType, notify);
+            if (printer != null && recordType != AuctionRecorder.LABEL && recordType != AuctionRecorder.PLAYER) {
+                printer.printf("%s  %10.3f s  %s%n", formatWallClock(at), at / 1000.0, describe(recordType));
+            }
+        }
+        offset = buffer.position();
+    }
+
+    private void apply(byte recordType, boolean notify) {
+        switch (recordType) {
+            case AuctionRecorder.LOT_STARTED -> {
+                player = SnapshotCodec.getVarInt(buffer);
+                if (notify) {
+                    engine.playbackLotStarted(player);
+                } else {
+                    engine.replayLotStarted(player);
+                }
+            }
+            case AuctionRecorder.BID -> {
+                team = buffer.get();
+                amount = SnapshotCodec.getVarInt(buffer);
+                if (notify) {
+                    engine.playbackBid(team, amount);
+                } else {
+                    engine.replayBid(team, amount);
+                }
+            }
+            case AuctionRecorder.REJECTED -> {
+                team = buffer.get();
+                amount = buffer.get(); // BidResult ordinal
+                if (notify) {
+                    engine.playbackRejected(team, AuctionEngine.BidResult.values()[amount]);
+                }
+            }
+            case AuctionRecorder.TICK -> {
+                amount = SnapshotCodec.getVarInt(buffer);
+                if (notify) {
+                    engine.playbackTick(amount);
+                } else {
+                    engine.replayTick(amount);
+                }
+            }
+            case AuctionRecorder.SOLD -> {
+                player = SnapshotCodec.getVarInt(buffer);
+                team = buffer.get();
+                amount = SnapshotCodec.getVarInt(buffer);
+                if (notify) {
+                    engine.playbackSale(player, team, amount);
+                } else {
+                    engine.replaySale(player, teams[team], amount);
+                }
+            }
+            case AuctionRecorder.UNSOLD -> {
+                player = SnapshotCodec.getVarInt(buffer);
+                if (notify) {
+                    engine.playbackUnsold(player);
+                }
+            }
+            case AuctionRecorder.LABEL, AuctionRecorder.PLAYER -> skipEvent(recordType); // Read when the file was opened
+            case AuctionRecorder.ROSTER -> roster++;
+            case AuctionRecorder.CHECKPOINT -> {
+                // Only a load changes the state under the records, follow it
+                if (buffer.get(buffer.position()) == 1) {
+                    restoreCheckpoint();
+                    if (notify) {
+                        engine.replayFinished();
+                    }
+                } else {
+                    skipCheckpoint();
+                }
+            }
+            default -> throw new IllegalStateException("Corrupt recording record type " + recordType);
+        }
+    }
+
+    // The record apply() just read
+    private String describe(byte recordType) {
+        List<PlayerInfo> players = rosters.get(roster);
+        return switch (recordType) {
+            case AuctionRecorder.LOT_STARTED -> "Lot opened: " + players.get(player).name;
+            case AuctionRecorder.BID -> String.format("%s bid %,d", teams[team], amount);
+            case AuctionRecorder.REJECTED -> String.format("%s bid rejected: %s", teams[team],
+                AuctionEngine.BidResult.values()[amount]);
+            case AuctionRecorder.TICK -> amount + "s left";
+            case AuctionRecorder.SOLD -> String.format("%s sold to %s for %,d", players.get(player).name, teams[team], amount);
+            case AuctionRecorder.UNSOLD -> players.get(player).name + " unsold";
+            case AuctionRecorder.ROSTER -> "Auction loaded from a save file";
+            default -> "Checkpoint";
+        };
+    }
+
+    // Replaces the engine state with the checkpoint at the buffer position
+    private void restoreCheckpoint() {
+        // Players sold in the state being replaced may be unsold at the checkpoint
+        for (int t = 0; t < teams.length; t++) {
+            for (PlayerInfo sold : engine.getTeamPlayers(t)) {
+                sold.purchasedBy = null;
+                sold.finalPrice = 0;
+            }
+        }
+        List<PlayerInfo> players = rosters.get(roster);
+        buffer.get(); // Restored flag
+        int currentPlayer = SnapshotCodec.getVarInt(buffer);
+        int currentBid = SnapshotCodec.getVarInt(buffer);
+        int highestBidder = SnapshotCodec.getVarInt(buffer) - 1;
+        int timeLeft = SnapshotCodec.getVarInt(buffer);
+        boolean paused = buffer.get() != 0;
+
+        Map<String, Integer> budgets = new HashMap<>();
+        Map<String, List<PlayerInfo>> squads = new HashMap<>();
+        for (String teamName : teams) {
+            budgets.put(teamName, SnapshotCodec.getVarInt(buffer));
+            int size = SnapshotCodec.getVarInt(buffer);
+            List<PlayerInfo> squad = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                PlayerInfo sold = players.get(SnapshotCodec.getVarInt(buffer));
+                sold.finalPrice = SnapshotCodec.getVarInt(buffer);
+                sold.purchasedBy = teamName;
+                squad.add(sold);
+            }
+            squads.put(teamName, squad);
+        }
+        engine.restore(new AuctionState(budgets, squads, players, Set.of(), currentPlayer, currentBid,
+            highestBidder < 0 ? null : teams[highestBidder], timeLeft, paused), false);
+    }
+
+    private void skipCheckpoint() {
+        buffer.get();
+        for (int i = 0; i < 4; i++) {
+            SnapshotCodec.getVarInt(buffer);
+        }
+        buffer.get();
+        for (int t = 0; t < teams.length; t++) {
+            SnapshotCodec.getVarInt(buffer);
+            int size = SnapshotCodec.getVarInt(buffer);
+            for (int i = 0; i < size * 2; i++) {
+                SnapshotCodec.getVarInt(buffer);
+            }
+        }
+    }
+
+    private void skipEvent(byte recordType) {
+        switch (recordType) {
+            case AuctionRecorder.LOT_STARTED, AuctionRecorder.TICK, AuctionRecorder.UNSOLD -> SnapshotCodec.getVarInt(buffer);
+            case AuctionRecorder.BID -> {
+                buffer.get();
+                SnapshotCodec.getVarInt(buffer);
+            }
+            case AuctionRecorder.REJECTED -> buffer.position(buffer.position() + 2);
+            case AuctionRecorder.SOLD -> {
+                SnapshotCodec.getVarInt(buffer);
+                buffer.get();
+                SnapshotCodec.getVarInt(buffer);
+            }
+            case AuctionRecorder.LABEL -> buffer.position(buffer.position() + SnapshotCodec.getVarInt(buffer));
+            case AuctionRecorder.PLAYER -> {
+                buffer.position(buffer.position() + SnapshotCodec.getVarInt(buffer));
+                for (int i = 0; i < 3; i++) {
+                    SnapshotCodec.getVarInt(buffer);
+                }
+            }
+            default -> throw new IndexOutOfBoundsException("Unknown record type " + recordType);
+        }
+    }
+
+    private int lastCheckpointAtOrBefore(long target) {
+        int low = 0;
+        int high = checkpointCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (checkpointTimes[mid] <= target) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private static String getString(ByteBuffer in) {
+        byte[] bytes = new byte[SnapshotCodec.getVarInt(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // The engine showing the replayed auction, add listeners to it
+    public AuctionEngine getEngine() {
+        return engine;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    // Current playback time
+    public long getTime() {
+        return time;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public int getCheckpointCount() {
+        return checkpointCount;
+    }
+
+    public boolean isFinished() {
+        return offset >= end;
+    }
+
+    // Wall-clock time of a moment in the recording
+    public String formatWallClock(long millis) {
+        return WALL_CLOCK.format(Instant.ofEpochMilli(startEpochMillis + millis));
+    }
+
+    // Prints every record from one time to another with its wall-clock time, leaving the
+    // replay at the end time
+    public void printEvents(long from, long to, PrintStream out) {
+        seek(from);
+        applyUpTo(to, false, out);
+        engine.replayFinished();
+    }
+
+    // Answers "what happened around this moment": prints the records of the last minute
+    // before the time and the state at it.
+    // Usage: AuctionReplay <recording> [seconds into the auction, default the end]
+    public static void main(String[] args) throws IOException {
+        AuctionReplay replay = open(Paths.get(args[0]));
+        long at = args.length > 1 ? (long) (Double.parseDouble(args[1]) * 1000) : replay.getDuration();
+        System.out.printf("%s: %,d records, %d checkpoints, %.1f minutes from %s%n%n", replay.getPath(),
+            replay.getRecordCount(), replay.getCheckpointCount(), replay.getDuration() / 60000.0,
+            replay.formatWallClock(0));
+
+        replay.printEvents(Math.max(at - 60_000, 0), at, System.out);
+
+        AuctionEngine engine = replay.getEngine();
+        System.out.printf("%nAt %s (%.3f s): %s, bid %,d by %s, %ds left%n", replay.formatWallClock(at), at / 1000.0,
+            engine.getCurrentPlayer().name, (int) engine.getCurrentBid(),
+            engine.getHighestBidder() != null ? engine.getHighestBidder() : "nobody", engine.getTimeLeft());
+        for (int t = 0; t < engine.getTeamCount(); t++) {
+            System.out.printf("  %-28s %,9d left, %2d players%n", engine.getTeams()[t], engine.getTeamBudget(t),
+                engine.getTeamPlayers(t).size());
+        }
+    }
+}
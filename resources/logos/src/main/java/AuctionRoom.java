@@ -0,0 +1,155 @@
+package resources.logos.src.main.java;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+// One private league auction. The room's engine is only ever touched by the room's own
+// virtual thread, which drains a mailbox of commands (bids, countdown ticks, queries),
+// so rooms share no state and the engine stays single-threaded as it was designed.
+public class AuctionRoom implements Executor, AuctionListener {
+    private final long id;
+    private final AuctionEngine engine;
+    private final AuctionScheduler scheduler;
+    private final ConcurrentLinkedQueue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+    private AuctionScheduler.Cancellable tickTask;
+    private volatile boolean closed = false;
+
+    AuctionRoom(long id, String[] teams, List<PlayerInfo> roster, ScheduledExecutorService timers) {
+        this(id, new AuctionEngine(teams, roster), timers);
+    }
+
+    // Takes over an engine no other thread touches any more, such as a replication follower's
+    AuctionRoom(long id, AuctionEngine engine, ScheduledExecutorService timers) {
+        this.id = id;
+        this.engine = engine;
+        this.scheduler = new RoomScheduler(timers, this);
+        engine.addListener(this);
+        thread = Thread.ofVirtual().name("auction-room-" + id).start(this::run);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    // Only for code already running on the room thread, such as a command or a listener
+    AuctionEngine getEngine() {
+        return engine;
+    }
+
+    // Opens the first lot and starts the countdown
+    public void start() {
+        execute(() -> {
+            if (tickTask == null) {
+                engine.startAuction();
+                tickTask = scheduler.scheduleAtFixedRate(AuctionDriver.TICK_PERIOD, engine::tick);
+            }
+        });
+    }
+
+    // Restarts the countdown of the lot the engine is on, for an engine taken over mid-auction
+    public void resume() {
+        execute(() -> {
+            if (tickTask == null) {
+                tickTask = scheduler.scheduleAtFixedRate(AuctionDriver.TICK_PERIOD, engine::tick);
+            }
+        });
+    }
+
+    public CompletableFuture<AuctionEngine.BidResult> placeBid(int team) {
+        return query(engine -> engine.placeBid(team));
+    }
+
+    public CompletableFuture<AuctionEngine.BidResult> placeBid(String team) {
+        return query(engine -> engine.placeBid(team));
+    }
+
+    // Runs the function on the room thread, the only safe way to read the engine
+    public <T> CompletableFuture<T> query(Function<AuctionEngine, T> function) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        execute(() -> {
+            try {
+                result.complete(function.apply(engine));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    // Listeners are called on the room thread
+    public void addListener(AuctionListener listener) {
+        execute(() -> engine.addListener(listener));
+    }
+
+    public void removeListener(AuctionListener listener) {
+        execute(() -> engine.removeListener(listener));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (closed) {
+            throw new IllegalStateException("Auction room " + id + " is closed");
+        }
+        mailbox.add(command);
+        // Closed meanwhile: either take the command back or the room thread has it and runs it
+        if (closed && mailbox.remove(command)) {
+            throw new IllegalStateException("Auction room " + id + " is closed");
+        }
+        LockSupport.unpark(thread);
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    // Commands already queued still run, new ones are rejected
+    public void close() {
+        closed = true;
+        LockSupport.unpark(thread);
+    }
+
+    @Override
+    public void auctionCompleted() {
+        // Every player has been through the hammer, stop the countdown
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+    }
+
+    private void run() {
+        while (true) {
+            Runnable command = mailbox.poll();
+            if (command == null) {
+                if (closed) {
+                    break;
+                }
+                LockSupport.park(this);
+                continue;
+            }
+            runCommand(command);
+        }
+        // A command added just before close may have missed the empty poll above, execute
+        // only accepts one when it did not see closed, so this drain finds all of them
+        Runnable command;
+        while ((command = mailbox.poll()) != null) {
+            runCommand(command);
+        }
+        if (tickTask != null) {
+            tickTask.cancel();
+        }
+    }
+
+    private void runCommand(Runnable command) {
+        try {
+            command.run();
+        } catch (RuntimeException e) {
+            System.err.println("Auction room " + id + ": " + e);
+        }
+    }
+}
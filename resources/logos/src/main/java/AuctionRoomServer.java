@@ -0,0 +1,62 @@
+package resources.logos.src.main.java;
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Hosts many independent auction rooms in one process. Each room runs on its own virtual
+// thread (see AuctionRoom) and all countdowns share one timer thread, so thousands of
+// rooms cost a few kilobytes each rather than a platform thread apiece.
+public class AuctionRoomServer implements Closeable {
+    private final ScheduledExecutorService timers;
+    private final Map<Long, AuctionRoom> rooms = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    public AuctionRoomServer() {
+        timers = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "auction-room-timers");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Creates a room with its own copy of the roster, call start() on it to begin bidding
+    public AuctionRoom createRoom(String[] teams, Supplier<List<PlayerInfo>> roster) {
+        long id = nextId.getAndIncrement();
+        AuctionRoom room = new AuctionRoom(id, teams, roster.get(), timers);
+        rooms.put(id, room);
+        return room;
+    }
+
+    public AuctionRoom getRoom(long id) {
+        return rooms.get(id);
+    }
+
+    public Collection<AuctionRoom> getRooms() {
+        return rooms.values();
+    }
+
+    public int getRoomCount() {
+        return rooms.size();
+    }
+
+    public void closeRoom(long id) {
+        AuctionRoom room = rooms.remove(id);
+        if (room != null) {
+            room.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Long id : rooms.keySet()) {
+            closeRoom(id);
+        }
+        timers.shutdownNow();
+    }
+}
@@ -0,0 +1,17 @@
+package resources.logos.src.main.java;
+
+// Runs auction work in either wall-clock time (GUI) or simulated time (headless runs)
+public interface AuctionScheduler {
+    // Current time in milliseconds on this scheduler's clock
+    long now();
+
+    // Runs the task once after the delay
+    Cancellable schedule(long delayMillis, Runnable task);
+
+    // Runs the task every period, starting one period from now
+    Cancellable scheduleAtFixedRate(long periodMillis, Runnable task);
+
+    interface Cancellable {
+        void cancel();
+    }
+}
@@ -0,0 +1,47 @@
+package resources.logos.src.main.java;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Serializable class to save/load auction state
+class AuctionState implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // Declared as interfaces, callers pass serializable ones such as HashMap and ArrayList
+    @SuppressWarnings("serial")
+    Map<String, Integer> teamBudgets;
+    @SuppressWarnings("serial")
+    Map<String, List<PlayerInfo>> teamPlayers;
+    @SuppressWarnings("serial")
+    List<PlayerInfo> players;
+    @SuppressWarnings("serial")
+    Set<String> soldPlayers;
+    int currentPlayerIndex;
+    double currentBid;
+    String highestBidder;
+    int timeLeft;
+    boolean isAuctionPaused;
+
+    AuctionState(
+        Map<String, Integer> teamBudgets,
+        Map<String, List<PlayerInfo>> teamPlayers,
+        List<PlayerInfo> players,
+        Set<String> soldPlayers,
+        int currentPlayerIndex,
+        double currentBid,
+        String highestBidder,
+        int timeLeft,
+        boolean isAuctionPaused) {
+
+        this.teamBudgets = teamBudgets;
+        this.teamPlayers = teamPlayers;
+        this.players = players;
+        this.soldPlayers = soldPlayers;
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.currentBid = currentBid;
+        this.highestBidder = highestBidder;
+        this.timeLeft = timeLeft;
+        this.isAuctionPaused = isAuctionPaused;
+    }
+}
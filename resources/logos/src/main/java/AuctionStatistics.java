@@ -0,0 +1,162 @@
+package resources.logos.src.main.java;
+import java.util.*;
+
+// Auction statistics kept up to date one sale at a time, so reading them costs the same
+// after ten sales as after a million: spend and squad size per team, count and average
+// price per role, overall premium over base price, and the TOP_N most expensive buys.
+// A restored or recovered state is folded in once by a full rebuild. Engine thread only.
+public class AuctionStatistics implements AuctionListener {
+    public static final int TOP_N = 10;
+
+    private static final Comparator<PlayerInfo> BY_PRICE = Comparator.comparingInt(p -> p.finalPrice);
+
+    private final AuctionEngine engine;
+    private final long[] teamSpend;
+    private final int[] teamCounts;
+
+    // Roles are discovered from the roster as players sell
+    private final Map<String, Integer> roleIds = new HashMap<>();
+    private final List<String> roles = new ArrayList<>();
+    private int[] roleCounts = new int[4];
+    private long[] roleSpend = new long[4];
+
+    // Cheapest of the current top buys at the head
+    private final PriorityQueue<PlayerInfo> topPlayers = new PriorityQueue<>(TOP_N + 1, BY_PRICE);
+    // Sorted copy handed to readers, rebuilt on the first read after a change
+    private List<PlayerInfo> sortedTop = List.of();
+    private long sortedVersion;
+
+    private int soldCount;
+    private long totalSpent;
+    private long totalBase;
+    private long version; // Bumped on every change, lets views skip redundant refreshes
+
+    public AuctionStatistics(AuctionEngine engine) {
+        this.engine = engine;
+        teamSpend = new long[engine.getTeamCount()];
+        teamCounts = new int[engine.getTeamCount()];
+        rebuild();
+    }
+
+    @Override
+    public void playerSold(PlayerInfo player, String team, int price) {
+        record(player, engine.teamId(team), price);
+    }
+
+    @Override
+    public void stateRestored() {
+        rebuild();
+    }
+
+    private void record(PlayerInfo player, int team, int price) {
+        teamSpend[team] += price;
+        teamCounts[team]++;
+
+        int role = roleId(player.role);
+        roleCounts[role]++;
+        roleSpend[role] += price;
+
+        soldCount++;
+        totalSpent += price;
+        totalBase += player.basePrice;
+
+        if (topPlayers.size() < TOP_N) {
+            topPlayers.add(player);
+        } else if (price > topPlayers.peek().finalPrice) {
+            topPlayers.poll();
+            topPlayers.add(player);
+        }
+        version++;
+    }
+
+    // Full recount from the engine, only after the whole state was replaced
+    private void rebuild() {
+        Arrays.fill(teamSpend, 0);
+        Arrays.fill(teamCounts, 0);
+        Arrays.fill(roleCounts, 0);
+        Arrays.fill(roleSpend, 0);
+        topPlayers.clear();
+        soldCount = 0;
+        totalSpent = 0;
+        totalBase = 0;
+        for (int t = 0; t < teamSpend.length; t++) {
+            for (PlayerInfo player : engine.getTeamPlayers(t)) {
+                record(player, t, player.finalPrice);
+            }
+        }
+        version++;
+    }
+
+    private int roleId(String role) {
+        Integer id = roleIds.get(role);
+        if (id == null) {
+            id = roles.size();
+            roleIds.put(role, id);
+            roles.add(role);
+            if (id == roleCounts.length) {
+                roleCounts = Arrays.copyOf(roleCounts, id * 2);
+                roleSpend = Arrays.copyOf(roleSpend, id * 2);
+            }
+        }
+        return id;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getSoldCount() {
+        return soldCount;
+    }
+
+    public long getTotalSpent() {
+        return totalSpent;
+    }
+
+    public long getAveragePrice() {
+        return soldCount == 0 ? 0 : totalSpent / soldCount;
+    }
+
+    // Amount paid above base price across all sales, as a fraction of the base prices
+    public double getPremiumRatio() {
+        return totalBase == 0 ? 0 : (double) (totalSpent - totalBase) / totalBase;
+    }
+
+    public long getAveragePremium() {
+        return soldCount == 0 ? 0 : (totalSpent - totalBase) / soldCount;
+    }
+
+    public long getTeamSpend(int team) {
+        return teamSpend[team];
+    }
+
+    public int getTeamPlayerCount(int team) {
+        return teamCounts[team];
+    }
+
+    // Roles seen in sales so far, in the order they first sold
+    public List<String> getRoles() {
+        return Collections.unmodifiableList(roles);
+    }
+
+    public int getRoleCount(String role) {
+        Integer id = roleIds.get(role);
+        return id == null ? 0 : roleCounts[id];
+    }
+
+    public long getRoleAveragePrice(String role) {
+        Integer id = roleIds.get(role);
+        return id == null || roleCounts[id] == 0 ? 0 : roleSpend[id] / roleCounts[id];
+    }
+
+    // Most expensive buys so far, highest price first, unmodifiable
+    public List<PlayerInfo> getTopPlayers() {
+        if (sortedVersion != version) {
+            List<PlayerInfo> top = new ArrayList<>(topPlayers);
+            top.sort(BY_PRICE.reversed());
+            sortedTop = Collections.unmodifiableList(top);
+            sortedVersion = version;
+        }
+        return sortedTop;
+    }
+}
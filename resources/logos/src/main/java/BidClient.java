@@ -0,0 +1,113 @@
+package resources.logos.src.main.java;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+// Blocking client for BidServer. Frames are buffered until flush(), so many bids can be
+// pipelined in one write; acks and updates arrive through readLoop on a reader thread.
+public class BidClient implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public interface Handler {
+        // Result is null if the server turned the bid away, see refused
+        default void ack(int request, AuctionEngine.BidResult result) {
+        }
+
+        // The room or team does not exist, reason is BidProtocol.UNKNOWN_ROOM or UNKNOWN_TEAM
+        default void refused(int request, byte reason) {
+            ack(request, null);
+        }
+
+        // Bidder is a team id, or AuctionEngine.NO_BIDDER
+        default void update(long room, int player, int bidder, int amount, int timeLeft) {
+        }
+    }
+
+    private final SocketChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocate(BUFFER_SIZE);
+    private final ByteBuffer in = ByteBuffer.allocate(BUFFER_SIZE);
+
+    private BidClient(SocketChannel channel) {
+        this.channel = channel;
+    }
+
+    public static BidClient connect(InetSocketAddress address) throws IOException {
+        SocketChannel channel = SocketChannel.open(address);
+        channel.socket().setTcpNoDelay(true);
+        return new BidClient(channel);
+    }
+
+    public synchronized void join(long room) throws IOException {
+        ensureSpace(BidProtocol.JOIN_SIZE);
+        BidProtocol.putJoin(out, room);
+    }
+
+    public synchronized void bid(int request, long room, int team) throws IOException {
+        ensureSpace(BidProtocol.BID_SIZE);
+        BidProtocol.putBid(out, request, room, team);
+    }
+
+    public synchronized void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    // Reads frames until the connection closes, call it from one dedicated thread
+    public void readLoop(Handler handler) throws IOException {
+        while (true) {
+            if (channel.read(in) < 0) {
+                if (in.position() > 0) {
+                    throw new EOFException("Connection closed mid-frame");
+                }
+                return;
+            }
+            in.flip();
+            while (in.hasRemaining()) {
+                byte type = in.get(in.position());
+                int size = BidProtocol.frameSize(type);
+                if (size != BidProtocol.ACK_SIZE && size != BidProtocol.UPDATE_SIZE) {
+                    throw new IOException("Unexpected frame type " + type);
+                }
+                if (in.remaining() < size) {
+                    break;
+                }
+                in.get();
+                if (type == BidProtocol.ACK) {
+                    int request = in.getInt();
+                    byte code = in.get();
+                    AuctionEngine.BidResult result;
+                    try {
+                        result = BidProtocol.result(code);
+                    } catch (IllegalArgumentException e) {
+                        throw new IOException(e.getMessage());
+                    }
+                    if (result != null) {
+                        handler.ack(request, result);
+                    } else {
+                        handler.refused(request, code);
+                    }
+                } else {
+                    handler.update(in.getLong(), in.getInt(), in.get(), in.getInt(), in.getShort());
+                }
+            }
+            in.compact();
+        }
+    }
+
+    private void ensureSpace(int size) throws IOException {
+        if (out.remaining() < size) {
+            flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,82 @@
+package resources.logos.src.main.java;
+import java.nio.ByteBuffer;
+
+// Binary wire format between BidServer and BidClient. Frames are fixed-size and big-endian,
+// the first byte is the frame type, so a reader knows the length from that byte alone.
+//
+// Client to server:
+//   JOIN   [type][room:8]                      subscribe to a room's bid updates
+//   BID    [type][request:4][room:8][team:1]   bids may be pipelined without waiting for acks
+// Server to client:
+//   ACK    [type][request:4][result:1]         result is a BidResult ordinal, UNKNOWN_ROOM or UNKNOWN_TEAM
+//   UPDATE [type][room:8][player:4][bidder:1][amount:4][timeLeft:2]   bidder -1 if none yet
+public final class BidProtocol {
+    public static final byte JOIN = 1;
+    public static final byte BID = 2;
+    public static final byte ACK = (byte) 0x81;
+    public static final byte UPDATE = (byte) 0x82;
+
+    public static final int JOIN_SIZE = 9;
+    public static final int BID_SIZE = 14;
+    public static final int ACK_SIZE = 6;
+    public static final int UPDATE_SIZE = 20;
+
+    // Ack results for bids turned away before they reached a room's engine
+    public static final byte UNKNOWN_ROOM = -1;
+    public static final byte UNKNOWN_TEAM = -2;
+
+    private static final AuctionEngine.BidResult[] RESULTS = AuctionEngine.BidResult.values();
+
+    private BidProtocol() {
+    }
+
+    // Frame length for a type byte, or -1 if the type is not known
+    public static int frameSize(byte type) {
+        return switch (type) {
+            case JOIN -> JOIN_SIZE;
+            case BID -> BID_SIZE;
+            case ACK -> ACK_SIZE;
+            case UPDATE -> UPDATE_SIZE;
+            default -> -1;
+        };
+    }
+
+    public static void putJoin(ByteBuffer out, long room) {
+        out.put(JOIN).putLong(room);
+    }
+
+    public static void putBid(ByteBuffer out, int request, long room, int team) {
+        out.put(BID).putInt(request).putLong(room).put((byte) team);
+    }
+
+    public static void putAck(ByteBuffer out, int request, byte result) {
+        out.put(ACK).putInt(request).put(result);
+    }
+
+    public static byte resultCode(AuctionEngine.BidResult result) {
+        return (byte) result.ordinal();
+    }
+
+    // Decodes an ack result, null for UNKNOWN_ROOM and UNKNOWN_TEAM
+    public static AuctionEngine.BidResult result(byte code) {
+        if (code >= 0 && code < RESULTS.length) {
+            return RESULTS[code];
+        }
+        if (code == UNKNOWN_ROOM || code == UNKNOWN_TEAM) {
+            return null;
+        }
+        throw new IllegalArgumentException("Unknown ack result " + code);
+    }
+
+    // Encodes the engine's current lot once, the buffer is then shared by every subscriber
+    public static ByteBuffer encodeUpdate(long room, AuctionEngine engine) {
+        ByteBuffer update = ByteBuffer.allocate(UPDATE_SIZE);
+        update.put(UPDATE)
+            .putLong(room)
+            .putInt(engine.getCurrentPlayerIndex())
+            .put((byte) engine.getHighestBidderId())
+            .putInt((int) engine.getCurrentBid())
+            .putShort((short) engine.getTimeLeft());
+        return update.flip().asReadOnlyBuffer();
+    }
+}
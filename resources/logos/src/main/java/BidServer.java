@@ -0,0 +1,424 @@
+package resources.logos.src.main.java;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// TCP bidding endpoint for AuctionRoomServer rooms, speaking BidProtocol over NIO.
+//
+// One selector thread does all socket I/O. Bids read during one selector pass are grouped
+// by room and handed to each room as a single batch, which the room thread applies in
+// arrival order before acking every bid. If the batch moved the price, the room encodes
+// one UPDATE frame and every subscriber gets a read-only view of that same buffer.
+//
+// A connection that stops reading while acks and updates keep coming is disconnected once
+// MAX_QUEUED_BYTES are waiting for it, rather than buffered without bound.
+public class BidServer implements Closeable {
+    public static final int MAX_QUEUED_BYTES = 1024 * 1024;
+
+    private static final int READ_BUFFER_SIZE = 16 * 1024;
+
+    private final AuctionRoomServer rooms;
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final Thread thread;
+    private volatile boolean closed = false;
+
+    // Selector thread only, watchers hold the listener of every room with subscribers
+    private final Map<Long, Batch> batches = new HashMap<>();
+    private final Map<Long, AuctionListener> watchers = new HashMap<>();
+
+    private final Map<Long, List<Connection>> subscribers = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Connection> pendingWrites = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder batchesApplied = new LongAdder();
+    private final LongAdder updatesEncoded = new LongAdder();
+    private final LongAdder updatesSent = new LongAdder();
+    private final LongAdder slowClients = new LongAdder();
+
+    public BidServer(AuctionRoomServer rooms, InetSocketAddress address) throws IOException {
+        this.rooms = rooms;
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        thread = new Thread(this::run, "bid-server");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    }
+
+    public long getBatchesApplied() {
+        return batchesApplied.sum();
+    }
+
+    // Number of UPDATE frames encoded, each one is shared by all of the room's subscribers
+    public long getUpdatesEncoded() {
+        return updatesEncoded.sum();
+    }
+
+    public long getUpdatesSent() {
+        return updatesSent.sum();
+    }
+
+    // Connections dropped for letting MAX_QUEUED_BYTES pile up
+    public long getSlowClients() {
+        return slowClients.sum();
+    }
+
+    private void run() {
+        try {
+            while (!closed) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        Connection connection = (Connection) key.attachment();
+                        try {
+                            if (key.isReadable()) {
+                                connection.read();
+                            }
+                            if (key.isValid() && key.isWritable()) {
+                                connection.flush();
+                            }
+                        } catch (RuntimeException e) {
+                            // Drop the connection, not the server
+                            System.err.println("Bid server dropped a connection: " + e);
+                            connection.close();
+                        }
+                    }
+                }
+                Connection connection;
+                while ((connection = pendingWrites.poll()) != null) {
+                    connection.flush();
+                }
+                applyBatches();
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (!closed) {
+                System.err.println("Bid server stopped: " + e);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            Connection connection = new Connection(channel);
+            connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        }
+    }
+
+    // Hands each room the bids read during this pass as one mailbox command
+    private void applyBatches() {
+        for (Batch batch : batches.values()) {
+            AuctionRoom room = rooms.getRoom(batch.room);
+            try {
+                if (room == null) {
+                    throw new IllegalStateException("No room " + batch.room);
+                }
+                room.execute(() -> apply(room, batch));
+            } catch (IllegalStateException e) {
+                for (int i = 0; i < batch.size; i++) {
+                    batch.connections[i].sendAck(batch.requests[i], BidProtocol.UNKNOWN_ROOM);
+                }
+            }
+        }
+        batches.clear();
+    }
+
+    // Runs on the room thread
+    private void apply(AuctionRoom room, Batch batch) {
+        AuctionEngine engine = room.getEngine();
+        boolean accepted = false;
+        Connection lastConnection = null;
+        ByteBuffer acks = null;
+        for (int i = 0; i < batch.size; i++) {
+            int team = batch.teams[i];
+            byte result = team < engine.getTeamCount()
+                ? BidProtocol.resultCode(engine.placeBid(team))
+                : BidProtocol.UNKNOWN_TEAM;
+            accepted |= result == BidProtocol.resultCode(AuctionEngine.BidResult.ACCEPTED);
+
+            // Consecutive bids from one connection share one ack buffer
+            if (batch.connections[i] != lastConnection) {
+                if (acks != null) {
+                    lastConnection.send(acks.flip());
+                }
+                lastConnection = batch.connections[i];
+                acks = ByteBuffer.allocate(BidProtocol.ACK_SIZE * countRun(batch, i));
+            }
+            BidProtocol.putAck(acks, batch.requests[i], result);
+        }
+        if (acks != null) {
+            lastConnection.send(acks.flip());
+        }
+        batchesApplied.increment();
+        if (accepted) {
+            broadcast(batch.room, engine);
+        }
+    }
+
+    private static int countRun(Batch batch, int start) {
+        int end = start;
+        while (end < batch.size && batch.connections[end] == batch.connections[start]) {
+            end++;
+        }
+        return end - start;
+    }
+
+    // Encodes the room's current lot once and queues it to every subscriber
+    private void broadcast(long room, AuctionEngine engine) {
+        List<Connection> connections = subscribers.get(room);
+        if (connections == null || connections.isEmpty()) {
+            return;
+        }
+        ByteBuffer update = BidProtocol.encodeUpdate(room, engine);
+        updatesEncoded.increment();
+        for (Connection connection : connections) {
+            connection.send(update.duplicate());
+        }
+        updatesSent.add(connections.size());
+    }
+
+    private void join(Connection connection, long roomId) {
+        AuctionRoom room = rooms.getRoom(roomId);
+        if (room == null || room.isClosed()) {
+            return;
+        }
+        subscribers.computeIfAbsent(roomId, id -> new CopyOnWriteArrayList<>()).add(connection);
+        connection.rooms.add(roomId);
+        try {
+            if (!watchers.containsKey(roomId)) {
+                // New lots reset the price, so subscribers hear about those as well
+                AuctionListener watcher = new AuctionListener() {
+                    @Override
+                    public void lotStarted(PlayerInfo player) {
+                        broadcast(roomId, room.getEngine());
+                    }
+                };
+                watchers.put(roomId, watcher);
+                room.addListener(watcher);
+            }
+            // Bring the new subscriber up to date
+            room.execute(() -> connection.send(BidProtocol.encodeUpdate(roomId, room.getEngine())));
+        } catch (IllegalStateException e) {
+            // The room closed after the check, treat it like an unknown room
+            leave(connection, roomId);
+        }
+    }
+
+    // Unsubscribes the connection, the room loses its watcher with its last subscriber
+    private void leave(Connection connection, long roomId) {
+        connection.rooms.remove(roomId);
+        List<Connection> list = subscribers.get(roomId);
+        if (list == null) {
+            return;
+        }
+        list.remove(connection);
+        if (list.isEmpty()) {
+            subscribers.remove(roomId);
+            AuctionListener watcher = watchers.remove(roomId);
+            AuctionRoom room = rooms.getRoom(roomId);
+            if (watcher != null && room != null) {
+                try {
+                    room.removeListener(watcher);
+                } catch (IllegalStateException e) {
+                    // Closed rooms call no listeners
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        selector.wakeup();
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    // Bids bound for one room during the current selector pass
+    private static final class Batch {
+        final long room;
+        Connection[] connections = new Connection[16];
+        int[] requests = new int[16];
+        int[] teams = new int[16];
+        int size = 0;
+
+        Batch(long room) {
+            this.room = room;
+        }
+
+        void add(Connection connection, int request, int team) {
+            if (size == requests.length) {
+                connections = Arrays.copyOf(connections, size * 2);
+                requests = Arrays.copyOf(requests, size * 2);
+                teams = Arrays.copyOf(teams, size * 2);
+            }
+            connections[size] = connection;
+            requests[size] = request;
+            teams[size] = team;
+            size++;
+        }
+    }
+
+    private final class Connection {
+        final SocketChannel channel;
+        final ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        final ConcurrentLinkedQueue<ByteBuffer> out = new ConcurrentLinkedQueue<>();
+        final ArrayDeque<ByteBuffer> writing = new ArrayDeque<>(); // Selector thread only
+        final ByteBuffer[] gather = new ByteBuffer[64];
+        final AtomicBoolean writeQueued = new AtomicBoolean();
+        // Bytes sent but not yet written to the socket
+        final AtomicLong queuedBytes = new AtomicLong();
+        volatile boolean overflowed;
+        final Set<Long> rooms = new HashSet<>();
+        SelectionKey key;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        // Thread-safe, the selector thread does the actual write, or closes the connection
+        // once too much is waiting
+        void send(ByteBuffer frame) {
+            if (overflowed) {
+                return;
+            }
+            if (queuedBytes.addAndGet(frame.remaining()) > MAX_QUEUED_BYTES) {
+                overflowed = true;
+            } else {
+                out.add(frame);
+            }
+            if (writeQueued.compareAndSet(false, true)) {
+                pendingWrites.add(this);
+                selector.wakeup();
+            }
+        }
+
+        void sendAck(int request, byte result) {
+            ByteBuffer ack = ByteBuffer.allocate(BidProtocol.ACK_SIZE);
+            BidProtocol.putAck(ack, request, result);
+            send(ack.flip());
+        }
+
+        void read() {
+            try {
+                if (channel.read(in) < 0) {
+                    close();
+                    return;
+                }
+            } catch (IOException e) {
+                close();
+                return;
+            }
+            in.flip();
+            while (in.hasRemaining()) {
+                int size = BidProtocol.frameSize(in.get(in.position()));
+                if (size != BidProtocol.JOIN_SIZE && size != BidProtocol.BID_SIZE) {
+                    close(); // Not a client frame, the stream cannot be resynchronized
+                    return;
+                }
+                if (in.remaining() < size) {
+                    break;
+                }
+                byte type = in.get();
+                if (type == BidProtocol.JOIN) {
+                    join(this, in.getLong());
+                } else {
+                    int request = in.getInt();
+                    long room = in.getLong();
+                    int team = in.get() & 0xFF;
+                    batches.computeIfAbsent(room, Batch::new).add(this, request, team);
+                }
+            }
+            in.compact();
+        }
+
+        // Writes queued frames with gathering writes, waits for OP_WRITE if the socket is full
+        void flush() {
+            writeQueued.set(false);
+            if (overflowed) {
+                if (channel.isOpen()) {
+                    slowClients.increment();
+                    System.err.println("Bid server dropped a client that is not reading");
+                    close();
+                }
+                return;
+            }
+            ByteBuffer frame;
+            while ((frame = out.poll()) != null) {
+                writing.add(frame);
+            }
+            try {
+                while (!writing.isEmpty()) {
+                    int count = 0;
+                    long requested = 0;
+                    for (ByteBuffer buffer : writing) {
+                        gather[count++] = buffer;
+                        requested += buffer.remaining();
+                        if (count == gather.length) {
+                            break;
+                        }
+                    }
+                    long written = channel.write(gather, 0, count);
+                    queuedBytes.addAndGet(-written);
+                    Arrays.fill(gather, 0, count, null);
+                    while (!writing.isEmpty() && !writing.peek().hasRemaining()) {
+                        writing.poll();
+                    }
+                    if (written < requested) {
+                        key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                        return;
+                    }
+                }
+                key.interestOps(SelectionKey.OP_READ);
+            } catch (IOException | CancelledKeyException e) {
+                close();
+            }
+        }
+
+        void close() {
+            for (Long room : List.copyOf(rooms)) {
+                leave(this, room);
+            }
+            out.clear();
+            writing.clear();
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Already gone
+            }
+        }
+    }
+}
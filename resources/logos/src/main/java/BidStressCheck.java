@@ -0,0 +1,171 @@
+package resources.logos.src.main.java;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Hammers a LotShard with many threads bidding on the same lot at once and checks that
+// no team overspends, no accepted bid is lost and no team outbids itself. Every accepted
+// bid raises the price by one increment, so its amount gives its place in the lot's
+// sequence of bids, and the scheduler's listener records who placed each one. The listener
+// must also hear the bids in that order.
+//
+// Every team can afford to win every lot at the highest price the attempts can reach, and
+// squads are as large as the lot count, so budgets never thin out the bidding: each lot is
+// fought over by every team until the attempts run out. The check fails if a lot went to
+// fewer than two teams' bids or if no bid ever lost a CAS race, since then it proved nothing.
+// Usage: BidStressCheck [bidders] [lots] [bidsPerBidderPerLot]
+public class BidStressCheck {
+    private static final int INCREMENT = (int) AuctionEngine.BID_INCREMENT;
+    private static final int BASE_PRICE = 2000;
+
+    public static void main(String[] args) throws Exception {
+        int bidders = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int lots = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int attempts = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        long budget = (long) lots * (BASE_PRICE + (long) bidders * attempts * INCREMENT);
+        if (budget > Integer.MAX_VALUE) {
+            System.err.println("Budgets for that many lots and attempts do not fit the ledger, use fewer");
+            System.exit(2);
+        }
+
+        String[] teams = new String[bidders];
+        Map<String, Integer> teamIds = new HashMap<>();
+        for (int i = 0; i < bidders; i++) {
+            teams[i] = "Team " + i;
+            teamIds.put(teams[i], i);
+        }
+        List<PlayerInfo> players = new ArrayList<>(lots);
+        for (int i = 0; i < lots; i++) {
+            players.add(new PlayerInfo("Player " + i, "Batsman", BASE_PRICE, "India"));
+        }
+        BudgetLedger ledger = new BudgetLedger(bidders, (int) budget, lots, 0, lots);
+        LotScheduler auction = LotScheduler.create(teams, players, LotScheduler.roundRobin(lots, 1), ledger, 0, null);
+        LotShard shard = auction.getShards().get(0);
+
+        // Team + 1 that placed each accepted bid of the current lot, indexed by its place in the lot
+        AtomicReference<AtomicIntegerArray> bidderByStep = new AtomicReference<>();
+        List<String> failures = new CopyOnWriteArrayList<>();
+        int[] sale = new int[2];
+        int[] lastHeard = new int[1];
+        auction.addListener(new AuctionListener() {
+            @Override
+            public void lotStarted(PlayerInfo player) {
+                lastHeard[0] = BASE_PRICE;
+            }
+
+            @Override
+            public void bidPlaced(String team, int amount) {
+                if (amount != lastHeard[0] + INCREMENT) {
+                    failures.add(String.format("Heard a bid of %d after %d", amount, lastHeard[0]));
+                }
+                lastHeard[0] = amount;
+                int step = (amount - BASE_PRICE) / INCREMENT;
+                if (bidderByStep.get().getAndSet(step, teamIds.get(team) + 1) != 0) {
+                    failures.add(String.format("Two bids were accepted at %d", amount));
+                }
+            }
+
+            @Override
+            public void playerSold(PlayerInfo player, String team, int price) {
+                sale[0] = teamIds.get(team);
+                sale[1] = price;
+            }
+
+            @Override
+            public void playerUnsold(PlayerInfo player) {
+                sale[0] = AuctionEngine.NO_BIDDER;
+                sale[1] = 0;
+            }
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(bidders);
+        long[] spent = new long[bidders];
+        AtomicLong totalAccepted = new AtomicLong();
+        int fewestAccepted = Integer.MAX_VALUE;
+        auction.start();
+
+        for (int lot = 0; lot < lots && failures.isEmpty(); lot++) {
+            AtomicIntegerArray steps = new AtomicIntegerArray(bidders * attempts + 1);
+            bidderByStep.set(steps);
+            AtomicLong accepted = new AtomicLong();
+            CyclicBarrier start = new CyclicBarrier(bidders);
+
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < bidders; i++) {
+                int team = i;
+                tasks.add(() -> {
+                    start.await();
+                    for (int a = 0; a < attempts; a++) {
+                        if (shard.placeBid(team) == AuctionEngine.BidResult.ACCEPTED) {
+                            accepted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> f : pool.invokeAll(tasks)) {
+                f.get();
+            }
+
+            shard.closeLot();
+            long count = accepted.get();
+            totalAccepted.addAndGet(count);
+            fewestAccepted = (int) Math.min(fewestAccepted, count);
+            if (count < 2) {
+                failures.add(String.format("Lot %d: only %d accepted bids, it was not contended", lot, count));
+            }
+
+            // Every accepted bid must raise the price by exactly one increment
+            int expected = count == 0 ? 0 : BASE_PRICE + (int) count * INCREMENT;
+            if (sale[1] != expected) {
+                failures.add(String.format("Lot %d: sold for %d after %d accepted bids", lot, sale[1], count));
+            }
+            for (int step = 1; step < steps.length(); step++) {
+                if ((steps.get(step) != 0) != (step <= count)) {
+                    failures.add(String.format("Lot %d: bid %d of %d accepted bids %s", lot, step, count,
+                        step <= count ? "was lost" : "should not exist"));
+                }
+                if (step > 1 && steps.get(step) != 0 && steps.get(step) == steps.get(step - 1)) {
+                    failures.add(String.format("Lot %d: team %d placed consecutive bids %d and %d",
+                        lot, steps.get(step) - 1, step - 1, step));
+                }
+            }
+            if (count > 0 && sale[0] != steps.get((int) count) - 1) {
+                failures.add(String.format("Lot %d: sold to team %d, not the last bidder", lot, sale[0]));
+            }
+            if (sale[0] != AuctionEngine.NO_BIDDER) {
+                spent[sale[0]] += sale[1];
+            }
+        }
+        pool.shutdown();
+
+        // Whatever was spent must come out of the budget exactly once, and never exceed it
+        for (int team = 0; team < bidders; team++) {
+            if (spent[team] > budget) {
+                failures.add(String.format("Team %d overspent: %d of %d", team, spent[team], budget));
+            }
+            if (ledger.getAvailable(team) != budget - spent[team] || ledger.getSpent(team) != spent[team]) {
+                failures.add(String.format("Team %d has %d available and %d spent but paid %d",
+                    team, ledger.getAvailable(team), ledger.getSpent(team), spent[team]));
+            }
+        }
+
+        if (failures.isEmpty() && shard.getRetries() == 0) {
+            failures.add("No bid lost a CAS race, nothing was raced");
+        }
+
+        System.out.printf("%d bidders, %d lots, %,d accepted bids, at least %,d per lot, %,d raced%n",
+            bidders, lots, totalAccepted.get(), fewestAccepted, shard.getRetries());
+        if (failures.isEmpty()) {
+            System.out.println("OK: no overspend, no lost bids, no consecutive bids, bids heard in order");
+        } else {
+            failures.stream().limit(20).forEach(System.out::println);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package resources.logos.src.main.java;
+import java.util.random.RandomGenerator;
+
+// Decides whether a team raises on the current lot. AuctionEngine.generateRandomBid asks
+// the strategy of every eligible team, then picks one of the willing teams at random.
+// Decisions run on the auction's scheduler thread (the EDT in the GUI, the room thread on
+// the server), so they must be quick and must not block or change the engine.
+public interface BidderStrategy {
+    // Time one decision may take, StrategyTournament flags strategies that go over it
+    long DECISION_BUDGET_NANOS = 50_000;
+
+    // True if the team wants to bid the amount on auction.getCurrentPlayer(). The engine
+    // only asks teams that may legally make the bid.
+    boolean wantsToBid(AuctionEngine auction, int team, int amount, RandomGenerator rand);
+
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+}
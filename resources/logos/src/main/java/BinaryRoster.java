@@ -0,0 +1,184 @@
+package resources.logos.src.main.java;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+// Pre-indexed binary roster, memory-mapped so opening it costs the same for any size.
+// Players are decoded on first access and then kept, since the auction updates them.
+//
+// Layout, integers are unsigned varints unless noted:
+//   magic "IPLR" (int), version (short)
+//   records: [name length][UTF-8 name][role label id][nationality label id][base price]
+//   footer:  label count, [length][UTF-8 bytes] per label, player count (int),
+//            record offset per player (int)
+//   trailer: footer offset (long), magic (int)
+public class BinaryRoster {
+    public static final String EXTENSION = ".roster";
+
+    private static final int MAGIC = 0x49504C52; // "IPLR"
+    private static final short VERSION = 1;
+    private static final int TRAILER_SIZE = 12;
+
+    private final MappedByteBuffer buffer;
+    private final String[] labels;
+    private final IntBuffer offsets; // View of the footer index, not copied
+    private final PlayerInfo[] decoded;
+
+    private BinaryRoster(MappedByteBuffer buffer, String[] labels, IntBuffer offsets) {
+        this.buffer = buffer;
+        this.labels = labels;
+        this.offsets = offsets;
+        this.decoded = new PlayerInfo[offsets.limit()];
+    }
+
+    public static BinaryRoster open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 6 + TRAILER_SIZE) {
+                throw new IOException("Not a binary roster: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt((int) size - 4) != MAGIC) {
+                throw new IOException("Not a binary roster: " + path);
+            }
+            if (buffer.getShort(4) != VERSION) {
+                throw new IOException("Unsupported roster version " + buffer.getShort(4));
+            }
+
+            ByteBuffer footer = buffer.duplicate();
+            footer.position((int) buffer.getLong((int) size - TRAILER_SIZE));
+            String[] labels = new String[SnapshotCodec.getVarInt(footer)];
+            for (int i = 0; i < labels.length; i++) {
+                byte[] bytes = new byte[SnapshotCodec.getVarInt(footer)];
+                footer.get(bytes);
+                labels[i] = new String(bytes, StandardCharsets.UTF_8).intern();
+            }
+            int count = footer.getInt();
+            IntBuffer offsets = footer.slice().asIntBuffer();
+            if (offsets.limit() < count) {
+                throw new IOException("Truncated binary roster: " + path);
+            }
+            return new BinaryRoster(buffer, labels, offsets.limit(count));
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt binary roster: " + path, e);
+        }
+    }
+
+    // Writes the players to a binary roster file and returns how many were written
+    public static int write(Iterator<PlayerInfo> players, Path path) throws IOException {
+        Map<String, Integer> labels = new LinkedHashMap<>();
+        int[] offsets = new int[1024];
+        int count = 0;
+
+        try (CountingOutput out = new CountingOutput(new BufferedOutputStream(new FileOutputStream(path.toFile()), 64 * 1024))) {
+            out.data.writeInt(MAGIC);
+            out.data.writeShort(VERSION);
+
+            while (players.hasNext()) {
+                PlayerInfo player = players.next();
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+                offsets[count++] = (int) out.position;
+                byte[] name = player.name.getBytes(StandardCharsets.UTF_8);
+                out.writeVarInt(name.length);
+                out.data.write(name);
+                out.writeVarInt(labels.computeIfAbsent(player.role, k -> labels.size()));
+                out.writeVarInt(labels.computeIfAbsent(player.nationality, k -> labels.size()));
+                out.writeVarInt(player.basePrice);
+            }
+
+            long footer = out.position;
+            out.writeVarInt(labels.size());
+            for (String label : labels.keySet()) {
+                byte[] bytes = label.getBytes(StandardCharsets.UTF_8);
+                out.writeVarInt(bytes.length);
+                out.data.write(bytes);
+            }
+            out.data.writeInt(count);
+            for (int i = 0; i < count; i++) {
+                out.data.writeInt(offsets[i]);
+            }
+            out.data.writeLong(footer);
+            out.data.writeInt(MAGIC);
+        }
+        return count;
+    }
+
+    public int size() {
+        return offsets.limit();
+    }
+
+    public synchronized PlayerInfo get(int index) {
+        PlayerInfo player = decoded[index];
+        if (player == null) {
+            ByteBuffer record = buffer.duplicate();
+            record.position(offsets.get(index));
+            byte[] name = new byte[SnapshotCodec.getVarInt(record)];
+            record.get(name);
+            String role = labels[SnapshotCodec.getVarInt(record)];
+            String nationality = labels[SnapshotCodec.getVarInt(record)];
+            player = new PlayerInfo(new String(name, StandardCharsets.UTF_8), role,
+                SnapshotCodec.getVarInt(record), nationality);
+            decoded[index] = player;
+        }
+        return player;
+    }
+
+    // List view for AuctionEngine, players are decoded as the auction reaches them
+    public List<PlayerInfo> asList() {
+        return new Players();
+    }
+
+    private final class Players extends AbstractList<PlayerInfo> implements RandomAccess {
+        @Override
+        public PlayerInfo get(int index) {
+            return BinaryRoster.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return BinaryRoster.this.size();
+        }
+    }
+
+    private static final class CountingOutput implements Closeable {
+        final DataOutputStream data;
+        long position;
+
+        CountingOutput(OutputStream out) {
+            this.data = new DataOutputStream(new FilterOutputStream(out) {
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    position++;
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    position += len;
+                }
+            });
+        }
+
+        void writeVarInt(int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                data.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data.write(value);
+        }
+
+        @Override
+        public void close() throws IOException {
+            data.close();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package resources.logos.src.main.java;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Team budgets shared by lots running at the same time (see LotScheduler). A leading bid
+// reserves its amount and a squad place, so a team leading on several lots at once can
+// never win more than it can pay for or fit in its squad, and a sale needs no further
+// charge. The squad-building rules are SquadConstraints' budget, squad size and overseas
+// ones, counting leading bids as players already bought.
+//
+// Each team's available budget, open squad places and open overseas places are packed into
+// one long, so a reservation checks and updates all three with a single CAS. Teams only
+// contend when they bid on several lots at the same moment.
+public class BudgetLedger {
+    private static final long BUDGET_MASK = 0xFFFF_FFFFL;
+    private static final int PLACES_SHIFT = 32;
+    private static final int OVERSEAS_SHIFT = 48;
+    private static final long PLACE = 1L << PLACES_SHIFT;
+    private static final long OVERSEAS_PLACE = 1L << OVERSEAS_SHIFT;
+
+    private final int budget;
+    private final int maxSquad;
+    private final int minSquad;
+    private final int maxOverseas;
+    private final AtomicLongArray accounts;
+    private final AtomicIntegerArray spent;
+    // Outbid reservations per team that a winning bid is about to give back
+    private final AtomicIntegerArray releasing;
+    private final LongAdder retries = new LongAdder();
+
+    // The engine's rules for every team
+    public BudgetLedger(int teamCount) {
+        this(teamCount, AuctionEngine.TEAM_BUDGET, AuctionEngine.MAX_PLAYERS_PER_TEAM,
+            AuctionEngine.MIN_PLAYERS_PER_TEAM, SquadConstraints.MAX_OVERSEAS_PER_TEAM);
+    }
+
+    public BudgetLedger(int teamCount, int budget, int maxSquad, int minSquad, int maxOverseas) {
+        if (budget < 0 || maxSquad > 0xFFFF || maxOverseas > 0xFFFF) {
+            throw new IllegalArgumentException("Budget must be positive, squad limits below 65536");
+        }
+        this.budget = budget;
+        this.maxSquad = maxSquad;
+        this.minSquad = minSquad;
+        this.maxOverseas = maxOverseas;
+        accounts = new AtomicLongArray(teamCount);
+        spent = new AtomicIntegerArray(teamCount);
+        releasing = new AtomicIntegerArray(teamCount);
+        long account = pack(budget, maxSquad, maxOverseas);
+        for (int t = 0; t < teamCount; t++) {
+            accounts.set(t, account);
+        }
+    }
+
+    // Reserves the bid and a squad place for it, ACCEPTED or why not
+    public AuctionEngine.BidResult reserve(int team, int amount, boolean overseas) {
+        while (true) {
+            long account = accounts.get(team);
+            int available = (int) (account & BUDGET_MASK);
+            int places = (int) ((account >>> PLACES_SHIFT) & 0xFFFF);
+            if (places == 0) {
+                return AuctionEngine.BidResult.SQUAD_FULL;
+            }
+            if (overseas && account >>> OVERSEAS_SHIFT == 0) {
+                return AuctionEngine.BidResult.OVERSEAS_QUOTA;
+            }
+            if (available < amount) {
+                return AuctionEngine.BidResult.INSUFFICIENT_BUDGET;
+            }
+            // Winning this leaves minSquad - (players and leads + 1) still to buy at MIN_BID
+            int stillNeeded = Math.max(0, minSquad - (maxSquad - places) - 1);
+            if (available - amount < stillNeeded * AuctionEngine.MIN_BID) {
+                return AuctionEngine.BidResult.BUDGET_RESERVED;
+            }
+            long reserved = account - amount - PLACE - (overseas ? OVERSEAS_PLACE : 0);
+            if (accounts.compareAndSet(team, account, reserved)) {
+                return AuctionEngine.BidResult.ACCEPTED;
+            }
+            retries.increment();
+        }
+    }
+
+    // Gives back an outbid reservation
+    public void release(int team, int amount, boolean overseas) {
+        accounts.getAndAdd(team, amount + PLACE + (overseas ? OVERSEAS_PLACE : 0));
+    }
+
+    // Announces, before the bid that outbids the team is published, that one of its
+    // reservations is about to come back; see isReleasing
+    public void releasePending(int team) {
+        releasing.incrementAndGet(team);
+    }
+
+    // The outbidding bid lost its race after all, the reservation stays
+    public void cancelRelease(int team) {
+        releasing.decrementAndGet(team);
+    }
+
+    // Gives back a reservation announced with releasePending
+    public void completeRelease(int team, int amount, boolean overseas) {
+        release(team, amount, overseas);
+        releasing.decrementAndGet(team);
+    }
+
+    // True while an outbid reservation of the team is on its way back, so a reserve that
+    // failed may have been turned away by that stale reservation and is worth retrying
+    public boolean isReleasing(int team) {
+        return releasing.get(team) != 0;
+    }
+
+    // The winning reservation is already out of the budget, this only records the spend
+    public void recordSale(int team, int price) {
+        spent.getAndAdd(team, price);
+    }
+
+    // Budget neither spent nor reserved by a leading bid
+    public int getAvailable(int team) {
+        return (int) (accounts.get(team) & BUDGET_MASK);
+    }
+
+    // Squad places neither filled nor reserved by a leading bid
+    public int getOpenPlaces(int team) {
+        return (int) ((accounts.get(team) >>> PLACES_SHIFT) & 0xFFFF);
+    }
+
+    public int getOpenOverseasPlaces(int team) {
+        return (int) (accounts.get(team) >>> OVERSEAS_SHIFT);
+    }
+
+    public int getSpent(int team) {
+        return spent.get(team);
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public int getMaxSquad() {
+        return maxSquad;
+    }
+
+    public int getMaxOverseas() {
+        return maxOverseas;
+    }
+
+    public int getTeamCount() {
+        return accounts.length();
+    }
+
+    // Reservations that lost a race with another lot and were retried
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    private static long pack(int available, int places, int overseasPlaces) {
+        return (long) overseasPlaces << OVERSEAS_SHIFT | (long) places << PLACES_SHIFT | available;
+    }
+}
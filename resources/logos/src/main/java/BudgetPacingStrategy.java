@@ -0,0 +1,27 @@
+package resources.logos.src.main.java;
+import java.util.random.RandomGenerator;
+
+// Spreads the budget over the squad still to be filled: bids while the amount is within
+// the remaining budget per open slot, scaled by aggressiveness. Slots count up to
+// MIN_PLAYERS_PER_TEAM first, then up to MAX_PLAYERS_PER_TEAM, so a team that has its
+// minimum squad keeps shopping at a lower pace.
+public class BudgetPacingStrategy implements BidderStrategy {
+    private final double aggressiveness;
+
+    public BudgetPacingStrategy() {
+        this(1.5);
+    }
+
+    public BudgetPacingStrategy(double aggressiveness) {
+        this.aggressiveness = aggressiveness;
+    }
+
+    @Override
+    public boolean wantsToBid(AuctionEngine auction, int team, int amount, RandomGenerator rand) {
+        int squad = auction.getConstraints().getSquadSize(team);
+        int slots = squad < AuctionEngine.MIN_PLAYERS_PER_TEAM
+            ? AuctionEngine.MIN_PLAYERS_PER_TEAM - squad
+            : AuctionEngine.MAX_PLAYERS_PER_TEAM - squad;
+        return amount <= aggressiveness * auction.getTeamBudget(team) / Math.max(slots, 1);
+    }
+}
@@ -0,0 +1,164 @@
+package resources.logos.src.main.java;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Lock-free bid acceptance for bids arriving from many threads at once, one lot at a time.
+// The current amount and bidder are published together with a CAS on an immutable
+// BidState, and the leading bid is reserved in a BudgetLedger so a team can never commit
+// more than it has. Teams are identified by their index in the ledger. Every LotShard
+// runs its lots on one of these, with the ledger shared by all the shards.
+//
+// The outbid team's reservation is given back just after the CAS. Until then the ledger
+// marks it as releasing, and a bid by that team that the ledger turns away is retried
+// rather than failed on budget or squad places it no longer holds.
+//
+// Every published state is numbered, and the listener is handed the states strictly in that
+// order: a thread that published state n waits until state n - 1 has been handed over. The
+// listener must therefore return promptly and never bid on the same book itself.
+public class ConcurrentBidBook {
+    // Waits spin this many times before yielding, the thread waited on may not be running
+    private static final int SPINS = 100;
+
+    // Immutable view of a lot, lot is the caller's key for it. sequence numbers every state
+    // the book publishes, opening, accepted bids and closing alike.
+    public record BidState(int lot, int amount, int bidder, boolean overseas, long sequence, boolean open) {
+        BidState next(int team, int increment) {
+            return new BidState(lot, amount + increment, team, overseas, sequence + 1, true);
+        }
+
+        BidState closed() {
+            return new BidState(lot, amount, bidder, overseas, sequence + 1, false);
+        }
+    }
+
+    private final BudgetLedger ledger;
+    private final int increment;
+    private final Consumer<BidState> listener;
+    private final AtomicReference<BidState> state =
+        new AtomicReference<>(new BidState(-1, 0, AuctionEngine.NO_BIDDER, false, 0, false));
+    // Sequence of the last state handed to the listener
+    private final AtomicLong delivered = new AtomicLong();
+    private final LongAdder retries = new LongAdder();
+
+    // The listener hears every opened lot, accepted bid and closed lot, in sequence order, on
+    // the thread that published it
+    public ConcurrentBidBook(BudgetLedger ledger, int increment, Consumer<BidState> listener) {
+        this.ledger = ledger;
+        this.increment = increment;
+        this.listener = listener;
+    }
+
+    // Opens a new lot, the first accepted bid is basePrice + increment like in AuctionEngine
+    public BidState openLot(int lot, int basePrice, boolean overseas) {
+        BidState current = state.get();
+        if (current.open()) {
+            throw new IllegalStateException("Lot " + current.lot() + " is still open");
+        }
+        BidState opened = new BidState(lot, basePrice, AuctionEngine.NO_BIDDER, overseas, current.sequence() + 1, true);
+        state.set(opened);
+        deliver(opened);
+        return opened;
+    }
+
+    public AuctionEngine.BidResult placeBid(int team) {
+        for (int spins = 0; ; ) {
+            BidState current = state.get();
+            if (!current.open()) {
+                return AuctionEngine.BidResult.LOT_CLOSED;
+            }
+            if (current.bidder() == team) {
+                return AuctionEngine.BidResult.CONSECUTIVE_BID;
+            }
+
+            // Read before reserving: if a release is still on its way after a failed reserve,
+            // it was announced before the bid that outbid this team was published
+            boolean releasing = ledger.isReleasing(team);
+            BidState proposed = current.next(team, increment);
+            AuctionEngine.BidResult result = ledger.reserve(team, proposed.amount(), current.overseas());
+            if (result != AuctionEngine.BidResult.ACCEPTED) {
+                if (!releasing) {
+                    return result;
+                }
+                spins = backOff(spins);
+                continue;
+            }
+
+            boolean outbid = current.bidder() != AuctionEngine.NO_BIDDER;
+            if (outbid) {
+                ledger.releasePending(current.bidder());
+            }
+            if (state.compareAndSet(current, proposed)) {
+                // The outbid team gets its reservation back
+                if (outbid) {
+                    ledger.completeRelease(current.bidder(), current.amount(), current.overseas());
+                }
+                deliver(proposed);
+                return AuctionEngine.BidResult.ACCEPTED;
+            }
+
+            // Another bid won the race, undo the reservation and retry against the new state
+            retries.increment();
+            if (outbid) {
+                ledger.cancelRelease(current.bidder());
+            }
+            ledger.release(team, proposed.amount(), current.overseas());
+        }
+    }
+
+    // Closes the lot so no further bids are accepted and returns its final state, or null if
+    // that lot is not the open one, so only one caller closes it. The winner's reservation
+    // becomes the sale price and is recorded as spent.
+    public BidState closeLot(int lot) {
+        BidState current;
+        BidState closed;
+        do {
+            current = state.get();
+            if (current.lot() != lot || !current.open()) {
+                return null;
+            }
+            closed = current.closed();
+        } while (!state.compareAndSet(current, closed));
+
+        if (closed.bidder() != AuctionEngine.NO_BIDDER) {
+            ledger.recordSale(closed.bidder(), closed.amount());
+        }
+        deliver(closed);
+        return closed;
+    }
+
+    // Waits for the state before this one to be handed over, then hands this one over
+    private void deliver(BidState published) {
+        for (int spins = 0; delivered.get() != published.sequence() - 1; ) {
+            spins = backOff(spins);
+        }
+        try {
+            listener.accept(published);
+        } finally {
+            delivered.set(published.sequence());
+        }
+    }
+
+    private static int backOff(int spins) {
+        if (spins < SPINS) {
+            Thread.onSpinWait();
+            return spins + 1;
+        }
+        Thread.yield();
+        return spins;
+    }
+
+    public BidState getState() {
+        return state.get();
+    }
+
+    public BudgetLedger getLedger() {
+        return ledger;
+    }
+
+    // Bids that lost the CAS to another bid and were retried against the new state
+    public long getRetries() {
+        return retries.sum();
+    }
+}
@@ -1,26 +1,27 @@
 package resources.logos.src.main.java;
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.*;
 import java.text.NumberFormat;
+import java.text.SimpleDateFormat;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import javax.swing.border.*;
 
 import java.io.*;
-import javax.swing.Timer;
-import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public final class IPLAuctionSystem extends JFrame implements AuctionListener {
+    private static final long serialVersionUID = 1L;
 
-public class IPLAuctionSystem extends JFrame {
-    private final int MAX_PLAYERS_PER_TEAM = 25;
-    private final int MIN_PLAYERS_PER_TEAM = 18;
-    private final int TEAM_BUDGET = 100000; // Increased budget for more realistic values
-    private final double BID_INCREMENT = 500; // Fixed increment
-    private final int MIN_BID = 2000; // Minimum bid amount
-    
     // Team colors
-    private final Map<String, Color> TEAM_COLORS = new HashMap<>() {{
+    private final transient Map<String, Color> TEAM_COLORS = new HashMap<>() {{
         put("Chennai Super Kings", new Color(255, 215, 0));     // #FFD700
         put("Delhi Capitals", new Color(0, 56, 117));          // #003875
         put("Gujarat Titans", new Color(51, 204, 255));        // #33CCFF
@@ -35,174 +36,413 @@ public class IPLAuctionSystem extends JFrame {
 
     private String[] teams = TEAM_COLORS.keySet().toArray(new String[0]);
     
-    private Map<String, Integer> teamBudgets;
-    private Map<String, List<PlayerInfo>> teamPlayers;
-    private List<PlayerInfo> players;
-    private Set<String> soldPlayers;
+    // Auction state and rules, this frame only displays it
+    private transient AuctionEngine engine;
+    private final Random random = new Random();
+    
+    // Runs the countdown and random bidder on Swing timers
+    private transient AuctionDriver driver;
+    
+    // Player pool, the pre-indexed binary form is preferred when present
+    private static final Path ROSTER_FILE = Paths.get("players.csv");
+    private static final Path BINARY_ROSTER_FILE = Paths.get("players" + BinaryRoster.EXTENSION);
+    
+    // File used by File > Save and File > Load
+    private static final Path SAVE_FILE = Paths.get("auction_state.dat");
+    
+    // Write-ahead journal so a crash loses at most the last group commit
+    private static final Path JOURNAL_FILE = Paths.get("auction_journal.log");
+    private static final Path JOURNAL_SNAPSHOT_FILE = Paths.get("auction_journal.snapshot");
+    private transient AuctionJournal journal;
+    
+    // Every event with its time, for replaying the auction later (File > Open Replay)
+    private static final Path REPLAY_DIRECTORY = Paths.get("replays");
+    private transient AuctionRecorder recorder;
+    // Set once exit() or a shutdown has closed the journal and the recording
+    private volatile boolean filesClosed;
+    
+    // Set when this window shows a recording instead of running an auction
+    private final transient AuctionReplay replay;
+    private ReplayControls replayControls;
+    
+    // Recent events for the log view, older ones are read back from the journal history
+    private transient AuctionLog eventLog;
+    
+    // Aggregates updated on every sale, shown live beside the team cards
+    private transient AuctionStatistics statistics;
+    
+    // Role, nationality and sold state of every player, for the statistics dialog's queries
+    private transient PlayerIndex playerIndex;
+    
+    // Counters and latencies, exported over JMX, JFR and a local Prometheus endpoint.
+    // Run with -Dauction.metrics.port=-1 to turn the endpoint off, or 0 for any free port.
+    private static final int METRICS_PORT = Integer.getInteger("auction.metrics.port", MetricsHttpServer.DEFAULT_PORT);
+    private final transient AuctionMetrics metrics = new AuctionMetrics();
+    private final transient SnapshotCodec.Encoder saveEncoder = new SnapshotCodec.Encoder();
+    private transient MetricsHttpServer metricsServer;
     
-    private int currentPlayerIndex = 0;
-    private double currentBid = MIN_BID;
-    private String highestBidder = null;
-    private Timer bidTimer;
-    private Timer randomBidTimer;
-    private int timeLeft = 30;
-    private boolean isAuctionPaused = false;
+    // Startup milestones, null unless the window was started by main
+    private final transient StartupTimer startup;
+    private boolean guiBuilt;
+    private boolean secondaryPanelsBuilt;
+    
+    // Oldest accepted bid not yet rendered, and oldest rendered but not yet painted
+    private long unrenderedBidNanos;
+    private long unpaintedBidNanos;
     
     // GUI components
     private JLabel currentPlayerLabel, currentBidLabel, bidderLabel;
     private JLabel timerLabel, baseValueLabel;
     private JProgressBar timerProgressBar;
     private JPanel teamButtonsPanel;
-    private JTextArea auctionLog;
+    private AuctionLogView logView; // Null until the secondary panels are built
+    private StatisticsPanel statisticsPanel;
+    private LazyPanel<AuctionLogView> logPanel;
+    private LazyPanel<StatisticsPanel> statisticsHolder;
     private JPanel playerInfoPanel;
+    private JLabel[] budgetLabels;
+    
+    // Engine events only mark the window dirty, it is redrawn at most once per frame
+    private final transient RenderCoalescer renderer = new RenderCoalescer(this::render);
+    private final NumberFormat amountFormat = NumberFormat.getInstance();
+    
+    // Values currently on screen, labels are only rebuilt when these change
+    private PlayerInfo shownPlayer;
+    private int shownBid = -1;
+    private int shownBidder = -2;
+    private int shownTimeLeft = -1;
+    private int[] shownBudgets;
     
-    public static class PlayerInfo implements Serializable {
-        String name;
-        String role;
-        int basePrice;
-        int finalPrice;
-        String purchasedBy;
-        String nationality;
-        
-        PlayerInfo(String name, String role, int basePrice, String nationality) {
-            this.name = name;
-            this.role = role;
-            this.basePrice = basePrice;
-            this.nationality = nationality;
-            this.finalPrice = 0;
-            this.purchasedBy = null;
-        }
-    }
-
     public IPLAuctionSystem() {
-        setTitle("IPL Auction System 2024");
+        this(null, null);
+        finishStartup(openRoster());
+    }
+    
+    // Only the frame and a loading message, finishStartup() builds the auction into it.
+    // With a replay the window plays back the recording: no journal, timers or bidding.
+    private IPLAuctionSystem(AuctionReplay replay, StartupTimer startup) {
+        this.replay = replay;
+        this.startup = startup;
+        setTitle(replay == null ? "IPL Auction System 2024" : "IPL Auction Replay - " + replay.getPath().getFileName());
         setSize(1200, 800);
-        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setDefaultCloseOperation(replay == null ? JFrame.DO_NOTHING_ON_CLOSE : JFrame.DISPOSE_ON_CLOSE);
+        if (replay == null) {
+            addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosing(WindowEvent e) {
+                    exit();
+                }
+            });
+        }
         setLocationRelativeTo(null);
         
-        initializeData();
-        initializeTimers();
+        // Content pane that reports how long each paint pass takes, and when startup milestones are on screen
+        setContentPane(new JPanel(new BorderLayout()) {
+            @Override
+            public void paint(Graphics g) {
+                long start = System.nanoTime();
+                super.paint(g);
+                long end = System.nanoTime();
+                renderer.recordPaint(end - start);
+                if (unpaintedBidNanos != 0) {
+                    metrics.recordBidToUi(end - unpaintedBidNanos);
+                    unpaintedBidNanos = 0;
+                }
+                painted();
+            }
+        });
+        JLabel loadingLabel = new JLabel("Loading players and team logos...", SwingConstants.CENTER);
+        loadingLabel.setFont(new Font("Arial", Font.BOLD, 16));
+        add(loadingLabel, BorderLayout.CENTER);
+    }
+    
+    private void finishStartup(Iterator<PlayerInfo> roster) {
+        initializeData(roster);
+        if (replay == null) {
+            initializeTimers();
+        }
         buildGUI();
+        if (replay == null) {
+            startMetrics();
+        }
     }
     
-    private void initializeData() {
-        teamBudgets = new HashMap<>();
-        teamPlayers = new HashMap<>();
-        soldPlayers = new HashSet<>();
-        players = new ArrayList<>();
-        
-        // Initialize team data
-        for (String team : teams) {
-            teamBudgets.put(team, TEAM_BUDGET);
-            teamPlayers.put(team, new ArrayList<>());
+    // The first paint is the first frame, the first with the auction built makes the window
+    // interactive. The log and statistics views are built after that, off the critical path.
+    private void painted() {
+        if (startup != null) {
+            startup.mark(StartupTimer.FIRST_FRAME);
         }
-        
-        // Add sample players with realistic base prices
-        String[][] playerData = {
-            {"Virat Kohli", "Batsman", "20000", "India"},
-            {"Rohit Sharma", "Batsman", "18000", "India"},
-            {"MS Dhoni", "Wicketkeeper", "15000", "India"},
-            {"Jos Buttler", "Wicketkeeper", "14000", "England"},
-            {"Pat Cummins", "Bowler", "15000", "Australia"},
-            {"Hardik Pandya", "All-Rounder", "15000", "India"},
-            {"Ben Stokes", "All-Rounder", "16500", "England"},
-            {"Jasprit Bumrah", "Bowler", "16000", "India"},
-            {"Kane Williamson", "Batsman", "14000", "New Zealand"},
-            {"Mitchell Starc", "Bowler", "15500", "Australia"}
-        };
-        
-        for (String[] data : playerData) {
-            players.add(new PlayerInfo(
-                data[0], 
-                data[1], 
-                Integer.parseInt(data[2]),
-                data[3]
-            ));
+        if (guiBuilt && !secondaryPanelsBuilt) {
+            secondaryPanelsBuilt = true;
+            if (startup != null) {
+                startup.mark(StartupTimer.INTERACTIVE);
+            }
+            SwingUtilities.invokeLater(this::buildSecondaryPanels);
         }
     }
     
-    private void initializeTimers() {
-        // Main auction timer
-        bidTimer = new Timer(1000, e -> {
-            if (!isAuctionPaused) {
-                timeLeft--;
-                updateTimer();
-                if (timeLeft <= 0) {
-                    ((Timer)e.getSource()).stop();
-                    if (randomBidTimer != null) {
-                        randomBidTimer.stop();
-                    }
-                    handleBidEnd();
+    private void buildSecondaryPanels() {
+        logView = logPanel.build();
+        statisticsPanel = statisticsHolder.build();
+        renderer.renderNow();
+        if (startup != null) {
+            startup.mark("secondary panels");
+        }
+    }
+    
+    private void initializeData(Iterator<PlayerInfo> roster) {
+        if (replay != null) {
+            engine = replay.getEngine();
+            teams = engine.getTeams();
+            eventLog = new AuctionLog(engine, AuctionLog.DEFAULT_CAPACITY,
+                () -> replay.getStartEpochMillis() + replay.getTime());
+        } else {
+            engine = new AuctionEngine(teams, roster);
+            openJournal();
+            openRecorder();
+            closeFilesOnShutdown();
+            eventLog = new AuctionLog(engine, AuctionLog.DEFAULT_CAPACITY);
+        }
+        engine.addListener(eventLog);
+        statistics = new AuctionStatistics(engine);
+        engine.addListener(statistics);
+        playerIndex = new PlayerIndex(engine);
+        engine.addListener(playerIndex);
+        if (replay == null) {
+            // Metrics must count every event, and recording is a few LongAdder increments, so
+            // they stay on the engine rather than on a bus that drops events when it falls behind
+            engine.addListener(metrics);
+        }
+        if (journal != null) {
+            journal.onSnapshot(metrics::recordSnapshot);
+        }
+        engine.addListener(this);
+    }
+    
+    // Streams the roster file if there is one, otherwise uses the built-in sample players.
+    // A file without a single valid player also falls back, the auction needs a first lot.
+    private static Iterator<PlayerInfo> openRoster() {
+        try {
+            if (Files.exists(BINARY_ROSTER_FILE)) {
+                Iterator<PlayerInfo> roster = BinaryRoster.open(BINARY_ROSTER_FILE).asList().iterator();
+                if (roster.hasNext()) {
+                    return roster;
                 }
+                System.err.println("No players in " + BINARY_ROSTER_FILE + ", using the sample roster");
+            } else if (Files.exists(ROSTER_FILE)) {
+                RosterLoader.CsvReader roster = RosterLoader.streamCsv(ROSTER_FILE, System.err::println);
+                if (roster.hasNext()) {
+                    return roster;
+                }
+                System.err.println("No valid players in " + ROSTER_FILE + ", using the sample roster");
             }
-        });
-        
-        // Random bidding timer
-        randomBidTimer = new Timer(2000, e -> {
-            if (!isAuctionPaused && timeLeft > 0) {
-                generateRandomBid();
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Error loading roster: " + e.getMessage());
+        }
+        return AuctionEngine.sampleRoster().iterator();
+    }
+    
+    private void openJournal() {
+        try {
+            if (AuctionJournal.hasRecoverableState(JOURNAL_FILE, JOURNAL_SNAPSHOT_FILE)
+                    && JOptionPane.showConfirmDialog(this,
+                        "An unfinished auction was found. Recover it?",
+                        "Recover Auction",
+                        JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION) {
+                journal = AuctionJournal.recover(engine, JOURNAL_FILE, JOURNAL_SNAPSHOT_FILE);
+            } else {
+                journal = AuctionJournal.create(engine, JOURNAL_FILE, JOURNAL_SNAPSHOT_FILE);
             }
-        });
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, 
+                "Error opening auction journal: " + e.getMessage(),
+                "Journal Error", 
+                JOptionPane.ERROR_MESSAGE);
+        }
     }
     
-    private void generateRandomBid() {
-        Random rand = new Random();
-        // Only generate bid if there's sufficient time and random chance
-        if (timeLeft > 2 && rand.nextDouble() < 0.6) {
-            List<String> eligibleTeams = new ArrayList<>();
-            
-            // Find teams that can afford the current bid and are not the highest bidder
-            for (String team : teams) {
-                if (!team.equals(highestBidder) && teamBudgets.get(team) >= currentBid + BID_INCREMENT) {
-                    eligibleTeams.add(team);
+    // Quitting on purpose leaves nothing to recover, only a crash keeps the journal.
+    // A replay window only closes itself.
+    private void exit() {
+        if (replay != null) {
+            dispose();
+            return;
+        }
+        closeFiles(true);
+        System.exit(0);
+    }
+    
+    // A signal ends the process without exit(), the files are closed on the EDT all the same.
+    // If the EDT does not get to it the journal's records are still written, the journal
+    // is safe to flush from any thread.
+    private void closeFilesOnShutdown() {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (filesClosed) {
+                return;
+            }
+            CompletableFuture<Void> closed = new CompletableFuture<>();
+            SwingUtilities.invokeLater(() -> {
+                closeFiles(false);
+                closed.complete(null);
+            });
+            try {
+                closed.get(1, TimeUnit.SECONDS);
+            } catch (InterruptedException | ExecutionException | TimeoutException e) {
+                if (journal != null) {
+                    try {
+                        journal.flush();
+                    } catch (IOException ex) {
+                        System.err.println("Error flushing auction journal: " + ex.getMessage());
+                    }
                 }
             }
-            
-            if (!eligibleTeams.isEmpty()) {
-                String biddingTeam = eligibleTeams.get(rand.nextInt(eligibleTeams.size()));
-                placeBid(biddingTeam);
+        }, "close-auction-files"));
+    }
+    
+    // On the EDT, which owns the engine's listeners. Finishing deletes the journal.
+    private void closeFiles(boolean finish) {
+        if (filesClosed) {
+            return;
+        }
+        filesClosed = true;
+        if (journal != null) {
+            try {
+                if (finish) {
+                    journal.finish();
+                } else {
+                    journal.close();
+                }
+            } catch (IOException e) {
+                System.err.println("Error closing auction journal: " + e.getMessage());
+            }
+        }
+        if (recorder != null) {
+            try {
+                recorder.close();
+            } catch (IOException e) {
+                System.err.println("Error closing auction recording: " + e.getMessage());
             }
         }
     }
     
-    private void handleBidEnd() {
-        if (highestBidder != null) {
-            PlayerInfo currentPlayer = players.get(currentPlayerIndex);
-            currentPlayer.finalPrice = (int)currentBid;
-            currentPlayer.purchasedBy = highestBidder;
-            
-            // Update team budget and player list
-            teamBudgets.put(highestBidder, teamBudgets.get(highestBidder) - (int)currentBid);
-            teamPlayers.get(highestBidder).add(currentPlayer);
-            soldPlayers.add(currentPlayer.name);
-            
-            // Log the sale
-            logAuctionEvent(String.format("%s sold to %s for ₹%,d\n", 
-                currentPlayer.name, highestBidder, (int)currentBid));
-        } else {
-            logAuctionEvent(players.get(currentPlayerIndex).name + " went unsold\n");
+    // Recording is for looking back, the auction runs without it if the file cannot be made
+    private void openRecorder() {
+        try {
+            Files.createDirectories(REPLAY_DIRECTORY);
+            String name = "auction-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date())
+                + AuctionRecorder.EXTENSION;
+            recorder = AuctionRecorder.create(engine, REPLAY_DIRECTORY.resolve(name), System::currentTimeMillis);
+            // Told once, after the listener call that failed, the auction goes on without it
+            recorder.onFailure(e -> SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                "Recording stopped, the replay ends here: " + e.getMessage(),
+                "Recording Error",
+                JOptionPane.WARNING_MESSAGE)));
+        } catch (IOException e) {
+            System.err.println("Error starting auction recording: " + e.getMessage());
+        }
+    }
+    
+    // Metrics are diagnostics, the auction runs without them if they cannot start
+    private void startMetrics() {
+        try {
+            metrics.register("gui");
+        } catch (javax.management.JMException e) {
+            System.err.println("Error registering auction metrics: " + e.getMessage());
+        }
+        metrics.startEventQueueProbe();
+        metrics.startRateSampler();
+        if (METRICS_PORT >= 0) {
+            try {
+                metricsServer = MetricsHttpServer.start(metrics, METRICS_PORT);
+            } catch (IOException e) {
+                System.err.println("Error starting metrics endpoint on port " + METRICS_PORT + ": " + e.getMessage());
+            }
         }
-        
-        nextPlayer();
+    }
+    
+    private void initializeTimers() {
+        driver = AuctionDriver.attach(engine, new SwingScheduler(), random);
     }
     
     private void placeBid(String team) {
-        if (team.equals(highestBidder)) {
-            JOptionPane.showMessageDialog(this, "The same team cannot place consecutive bids.", "Invalid Bid", JOptionPane.WARNING_MESSAGE);
-            return;
+        if (replay != null) {
+            return; // Bids in a recording are history
         }
-        
-        if (teamBudgets.get(team) >= currentBid + BID_INCREMENT) {
-            currentBid += BID_INCREMENT;
-            highestBidder = team;
-            updateUI();
-            logAuctionEvent(String.format("%s bids ₹%,d\n", team, (int)currentBid));
-        } else {
+        AuctionEngine.BidResult result = engine.placeBid(team);
+        if (result == AuctionEngine.BidResult.CONSECUTIVE_BID) {
+            JOptionPane.showMessageDialog(this, "The same team cannot place consecutive bids.", "Invalid Bid", JOptionPane.WARNING_MESSAGE);
+        } else if (result == AuctionEngine.BidResult.INSUFFICIENT_BUDGET) {
             JOptionPane.showMessageDialog(this, "Insufficient budget for this bid.", "Invalid Bid", JOptionPane.WARNING_MESSAGE);
+        } else if (result == AuctionEngine.BidResult.BUDGET_RESERVED) {
+            JOptionPane.showMessageDialog(this, String.format(
+                "This bid would leave too little to complete a squad of %d. Maximum bid: ₹%,d",
+                AuctionEngine.MIN_PLAYERS_PER_TEAM, engine.getConstraints().getMaxBid(engine.teamId(team))),
+                "Invalid Bid", JOptionPane.WARNING_MESSAGE);
+        } else if (result == AuctionEngine.BidResult.SQUAD_FULL) {
+            JOptionPane.showMessageDialog(this, String.format("%s already has %d players.",
+                team, AuctionEngine.MAX_PLAYERS_PER_TEAM), "Invalid Bid", JOptionPane.WARNING_MESSAGE);
+        } else if (result == AuctionEngine.BidResult.OVERSEAS_QUOTA) {
+            JOptionPane.showMessageDialog(this, String.format("%s has filled its %d overseas places.",
+                team, SquadConstraints.MAX_OVERSEAS_PER_TEAM), "Invalid Bid", JOptionPane.WARNING_MESSAGE);
+        } else if (result == AuctionEngine.BidResult.ROLE_QUOTA) {
+            JOptionPane.showMessageDialog(this, team + " has no room left for another " + engine.getCurrentPlayer().role + ".",
+                "Invalid Bid", JOptionPane.WARNING_MESSAGE);
+        }
+    }
+    
+    @Override
+    public void lotStarted(PlayerInfo player) {
+        renderer.invalidate();
+        if (driver != null) {
+            driver.start();
+        }
+    }
+    
+    @Override
+    public void bidPlaced(String team, int amount) {
+        if (unrenderedBidNanos == 0) {
+            unrenderedBidNanos = System.nanoTime();
+        }
+        renderer.invalidate();
+    }
+    
+    @Override
+    public void timerTicked(int timeLeft) {
+        renderer.invalidate();
+    }
+    
+    @Override
+    public void playerSold(PlayerInfo player, String team, int price) {
+        renderer.invalidate();
+    }
+    
+    @Override
+    public void playerUnsold(PlayerInfo player) {
+        renderer.invalidate();
+    }
+    
+    @Override
+    public void auctionCompleted() {
+        if (replay != null) {
+            return;
         }
+        JOptionPane.showMessageDialog(this, "Auction Complete!");
+    }
+    
+    @Override
+    public void stateRestored() {
+        // Everything may have changed, redraw all of it now
+        shownPlayer = null;
+        shownBid = -1;
+        shownBidder = -2;
+        shownTimeLeft = -1;
+        shownBudgets = null;
+        renderer.renderNow();
     }
     
     private void buildGUI() {
+        getContentPane().removeAll(); // The loading message
         setLayout(new BorderLayout(10, 10));
         
         // Create main panels
@@ -222,7 +462,6 @@ public class IPLAuctionSystem extends JFrame {
         timerLabel = new JLabel("Time: 30s", SwingConstants.CENTER);
         baseValueLabel = new JLabel();
         timerProgressBar = new JProgressBar(0, 30);
-        auctionLog = new JTextArea();
         
         // Create player info panel
         playerInfoPanel = new JPanel();
@@ -261,17 +500,15 @@ public class IPLAuctionSystem extends JFrame {
         teamButtonsScrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
         teamButtonsScrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
         
-        // Create auction log
-        auctionLog = new JTextArea(10, 40); // Set fixed number of rows and columns
-        auctionLog.setFont(new Font("Monospaced", Font.PLAIN, 12));
-        auctionLog.setBackground(new Color(250, 250, 250));
-        auctionLog.setEditable(false);
+        // Create auction log, only the visible rows are ever formatted. It and the statistics
+        // dashboard are built once the rest of the window is on screen.
+        logPanel = new LazyPanel<>(() -> new AuctionLogView(eventLog, teams, replay == null ? JOURNAL_FILE : null));
+        logPanel.setPreferredSize(new Dimension(800, 180)); // Fixed height
+        logPanel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 180)); // Max height
         
-        // Create a scroll pane with fixed size for auction log
-        JScrollPane auctionLogScrollPane = new JScrollPane(auctionLog);
-        auctionLogScrollPane.setPreferredSize(new Dimension(800, 150)); // Fixed height
-        auctionLogScrollPane.setMaximumSize(new Dimension(Integer.MAX_VALUE, 150)); // Max height
-        auctionLogScrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
+        // Create live statistics dashboard
+        statisticsHolder = new LazyPanel<>(() -> new StatisticsPanel(statistics, engine));
+        statisticsHolder.setPreferredSize(new Dimension(320, 400));
         
         // Modify the center panel layout to use BorderLayout with fixed sizes
         centerPanel.setLayout(new BorderLayout(10, 10));
@@ -283,7 +520,8 @@ public class IPLAuctionSystem extends JFrame {
         
         // Add components to center panel with fixed sizes
         centerPanel.add(teamButtonsContainer, BorderLayout.CENTER);
-        centerPanel.add(auctionLogScrollPane, BorderLayout.SOUTH);
+        centerPanel.add(logPanel, BorderLayout.SOUTH);
+        centerPanel.add(statisticsHolder, BorderLayout.EAST);
         
             // ... [Rest of the buildGUI method remains the same]
         // Add components to main panels
@@ -291,11 +529,17 @@ public class IPLAuctionSystem extends JFrame {
         topPanel.add(timerPanel, BorderLayout.EAST);
         
         centerPanel.add(teamButtonsScrollPane, BorderLayout.CENTER);
-        centerPanel.add(auctionLogScrollPane, BorderLayout.SOUTH);
+        centerPanel.add(logPanel, BorderLayout.SOUTH);
+        centerPanel.add(statisticsHolder, BorderLayout.EAST);
         
-        // Add control buttons
-        JPanel controlPanel = createControlPanel();
-        bottomPanel.add(controlPanel, BorderLayout.CENTER);
+        // Add control buttons, or playback controls for a recording
+        if (replay != null) {
+            replayControls = new ReplayControls(replay);
+            bottomPanel.add(replayControls, BorderLayout.CENTER);
+        } else {
+            JPanel controlPanel = createControlPanel();
+            bottomPanel.add(controlPanel, BorderLayout.CENTER);
+        }
         
         // Add main panels to frame
         add(topPanel, BorderLayout.NORTH);
@@ -305,91 +549,51 @@ public class IPLAuctionSystem extends JFrame {
         // Add menu bar
         setJMenuBar(createMenuBar());
         
-        // Initialize UI
-        updateUI();
+        // Initialize UI, the frame may already be showing the loading message
+        guiBuilt = true;
+        renderer.renderNow();
+        revalidate();
+        repaint();
     }
     
     private void createTeamButtons() {
         teamButtonsPanel.setLayout(new GridLayout(2, 5, 10, 10));
         teamButtonsPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         
-        // Map team names to exact image file names
-        Map<String, String> teamLogoFiles = new HashMap<>() {{
-            put("Chennai Super Kings", "Chennai Super Kings.png");
-            put("Delhi Capitals", "Delhi Capitals.png");
-            put("Gujarat Titans", "Gujarat Titans.png");
-            put("Kolkata Knight Riders", "Kolkata Knight Riders.png");
-            put("Lucknow Super Giants", "Lucknow Super Giants.png");
-            put("Mumbai Indians", "Mumbai Indians.png");
-            put("Punjab Kings", "Punjab Kings.png");
-            put("Rajasthan Royals", "Rajasthan Royals.png");
-            put("Royal Challengers Bengaluru", "Royal Challengers Bengaluru.png");
-            put("Sunrisers Hyderabad", "Sunrisers Hyderabad.png");
-        }};
-        
-        for (String team : teams) {
+        budgetLabels = new JLabel[teams.length];
+        for (int t = 0; t < teams.length; t++) {
+            String team = teams[t];
+            
             // Create a custom JPanel that paints the logo as background
             JPanel teamCard = new JPanel() {
                 @Override
                 protected void paintComponent(Graphics g) {
                     super.paintComponent(g);
-                    Graphics2D g2d = (Graphics2D) g;
-                    
-                    // Enable antialiasing
-                    g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                    g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-                    
-                    // Draw background color
-                    g2d.setColor(TEAM_COLORS.get(team));
-                    g2d.fillRect(0, 0, getWidth(), getHeight());
                     
-                    try {
-                        // Load and draw the team logo using exact file names
-                        String logoPath = "/resources/logos/" + teamLogoFiles.get(team);
-                        InputStream logoStream = getClass().getResourceAsStream(logoPath);
-                        if (logoStream == null) {
-                            throw new IOException("Could not find logo: " + logoPath);
-                        }
-                        BufferedImage logo = ImageIO.read(logoStream);
-                        
-                        // Calculate dimensions to maintain aspect ratio and fill card
-                        double logoRatio = (double) logo.getWidth() / logo.getHeight();
-                        double panelRatio = (double) getWidth() / getHeight();
-                        int logoWidth, logoHeight;
-                        int x = 0, y = 0;
-                        
-                        if (logoRatio > panelRatio) {
-                            logoHeight = getHeight();
-                            logoWidth = (int)(logoHeight * logoRatio);
-                            x = (getWidth() - logoWidth) / 2;
-                        } else {
-                            logoWidth = getWidth();
-                            logoHeight = (int)(logoWidth / logoRatio);
-                            y = (getHeight() - logoHeight) / 2;
-                        }
-                        
-                        // Draw the logo
-                        g2d.drawImage(logo, x, y, logoWidth, logoHeight, null);
-                        
-                    } catch (Exception e) {
-                        // If logo loading fails, log error and use a colored background
-                        System.err.println("Error loading logo for " + team + ": " + e.getMessage());
-                        g2d.setColor(TEAM_COLORS.get(team));
-                        g2d.fillRect(0, 0, getWidth(), getHeight());
-                    }
+                    // Logo is decoded and scaled once per card size, painting is a single blit
+                    g.drawImage(TeamLogos.getCardLogo(team, TEAM_COLORS.get(team),
+                        getWidth(), getHeight(), getGraphicsConfiguration()), 0, 0, null);
                 }
             };
             
+            // Drop stale pre-scaled logos when the card changes size
+            teamCard.addComponentListener(new ComponentAdapter() {
+                public void componentResized(ComponentEvent e) {
+                    TeamLogos.invalidateCardLogos(team);
+                }
+            });
+            
             teamCard.setLayout(new BoxLayout(teamCard, BoxLayout.Y_AXIS));
             teamCard.setBorder(BorderFactory.createLineBorder(Color.GRAY));
             teamCard.setPreferredSize(new Dimension(180, 180));
             
-            // Create budget label with drop shadow
+            // Create budget label with drop shadow, render() keeps it current
             JLabel budgetLabel = createShadowLabel(
-                "₹" + NumberFormat.getInstance().format(teamBudgets.get(team)), 
+                "₹" + amountFormat.format(engine.getTeamBudget(t)), 
                 12
             );
             budgetLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+            budgetLabels[t] = budgetLabel;
             
             // Add rigid area to push labels to bottom
             teamCard.add(Box.createVerticalGlue());
@@ -451,13 +655,13 @@ private JLabel createShadowLabel(String text, int fontSize) {
         JPanel panel = new JPanel(new FlowLayout());
         
         JButton startButton = new JButton("Start Auction");
-        startButton.addActionListener(e -> startAuction());
+        startButton.addActionListener(e -> engine.startAuction());
         
         JButton pauseButton = new JButton("Pause");
-        pauseButton.addActionListener(e -> togglePause());
+        pauseButton.addActionListener(e -> engine.togglePause());
         
         JButton nextButton = new JButton("Next Player");
-        nextButton.addActionListener(e -> nextPlayer());
+        nextButton.addActionListener(e -> engine.nextPlayer());
         
         JButton statsButton = new JButton("Show Statistics");
         statsButton.addActionListener(e -> showAuctionStatistics());
@@ -470,46 +674,61 @@ private JLabel createShadowLabel(String text, int fontSize) {
         return panel;
     }
     
-    private void startAuction() {
-        timeLeft = 30;
-        currentBid = players.get(currentPlayerIndex).basePrice;
-        highestBidder = null;
-        updateUI();
-        bidTimer.start();
-        randomBidTimer.start();
-    }
-    
-    private void togglePause() {
-        isAuctionPaused = !isAuctionPaused;
-    }
-    
-    private void nextPlayer() {
-        currentPlayerIndex++;
-        if (currentPlayerIndex >= players.size()) {
-            JOptionPane.showMessageDialog(this, "Auction Complete!");
-            currentPlayerIndex = 0;
+    // Brings the window up to date with the engine, touching only values that changed
+    private void render() {
+        if (currentPlayerLabel == null) {
+            return; // GUI not built yet
+        }
+        PlayerInfo currentPlayer = engine.getCurrentPlayer();
+        if (currentPlayer != shownPlayer) {
+            currentPlayerLabel.setText(String.format("Player: %s (%s - %s)", 
+                currentPlayer.name, currentPlayer.role, currentPlayer.nationality));
+            baseValueLabel.setText(String.format("Base Price: ₹%,d", currentPlayer.basePrice));
+            shownPlayer = currentPlayer;
+        }
+        int currentBid = (int) engine.getCurrentBid();
+        if (currentBid != shownBid) {
+            currentBidLabel.setText("Current Bid: ₹" + amountFormat.format(currentBid));
+            shownBid = currentBid;
+        }
+        int highestBidder = engine.getHighestBidderId();
+        if (highestBidder != shownBidder) {
+            bidderLabel.setText("Highest Bidder: " + (highestBidder != AuctionEngine.NO_BIDDER ? teams[highestBidder] : "None"));
+            shownBidder = highestBidder;
+        }
+        int timeLeft = engine.getTimeLeft();
+        if (timeLeft != shownTimeLeft) {
+            timerLabel.setText("Time: " + timeLeft + "s");
+            timerProgressBar.setValue(timeLeft);
+            shownTimeLeft = timeLeft;
+        }
+        
+        // Team cards only change when a sale lands on that team
+        if (shownBudgets == null) {
+            shownBudgets = new int[teams.length];
+            Arrays.fill(shownBudgets, -1);
+        }
+        for (int t = 0; t < teams.length; t++) {
+            int budget = engine.getTeamBudget(t);
+            if (budget != shownBudgets[t]) {
+                budgetLabels[t].setText("₹" + amountFormat.format(budget));
+                shownBudgets[t] = budget;
+            }
+        }
+        
+        // New log rows are picked up once per frame, however many events arrived
+        if (logView != null) {
+            logView.sync();
+            statisticsPanel.refresh();
+        }
+        
+        // The bid is on screen once the repaint these changes caused has run
+        if (unrenderedBidNanos != 0) {
+            if (unpaintedBidNanos == 0) {
+                unpaintedBidNanos = unrenderedBidNanos;
+            }
+            unrenderedBidNanos = 0;
         }
-        startAuction();
-    }
-    
-    private void updateTimer() {
-        timerLabel.setText("Time: " + timeLeft + "s");
-        timerProgressBar.setValue(timeLeft);
-    }
-    
-    private void updateUI() {
-        PlayerInfo currentPlayer = players.get(currentPlayerIndex);
-        currentPlayerLabel.setText(String.format("Player: %s (%s - %s)", 
-            currentPlayer.name, currentPlayer.role, currentPlayer.nationality));
-        baseValueLabel.setText(String.format("Base Price: ₹%,d", currentPlayer.basePrice));
-        currentBidLabel.setText(String.format("Current Bid: ₹%,d", (int)currentBid));
-        bidderLabel.setText("Highest Bidder: " + (highestBidder != null ? highestBidder : "None"));
-        updateTimer();
-    }
-    
-    private void logAuctionEvent(String event) {
-        auctionLog.append(event);
-        auctionLog.setCaretPosition(auctionLog.getDocument().getLength());
     }
     
     private JMenuBar createMenuBar() {
@@ -518,14 +737,21 @@ private JLabel createShadowLabel(String text, int fontSize) {
         JMenu fileMenu = new JMenu("File");
         JMenuItem saveMenuItem = new JMenuItem("Save Auction");
         JMenuItem loadMenuItem = new JMenuItem("Load Auction");
+        JMenuItem replayMenuItem = new JMenuItem("Open Replay...");
         JMenuItem exitMenuItem = new JMenuItem("Exit");
         
         saveMenuItem.addActionListener(e -> saveAuctionState());
         loadMenuItem.addActionListener(e -> loadAuctionState());
-        exitMenuItem.addActionListener(e -> System.exit(0));
-        
-        fileMenu.add(saveMenuItem);
-        fileMenu.add(loadMenuItem);
+        replayMenuItem.addActionListener(e -> openReplay());
+        exitMenuItem.addActionListener(e -> exit());
+        
+        // A replay window only looks at the recording
+        if (replay == null) {
+            fileMenu.add(saveMenuItem);
+            fileMenu.add(loadMenuItem);
+            fileMenu.addSeparator();
+        }
+        fileMenu.add(replayMenuItem);
         fileMenu.addSeparator();
         fileMenu.add(exitMenuItem);
         
@@ -539,15 +765,15 @@ private JLabel createShadowLabel(String text, int fontSize) {
     private void showAuctionStatistics() {
         StringBuilder stats = new StringBuilder("Auction Statistics\n\n");
         
-        int totalSpent = 0;
-        for (String team : teams) {
-            int spent = TEAM_BUDGET - teamBudgets.get(team);
-            totalSpent += spent;
-            
-            List<PlayerInfo> teamPlayerList = teamPlayers.get(team);
+        // Totals come from the incrementally maintained aggregates, player counts from the index
+        int[] overseas = playerIndex.getOverseasCountByTeam();
+        for (int t = 0; t < teams.length; t++) {
+            String team = teams[t];
+            List<PlayerInfo> teamPlayerList = engine.getTeamPlayers(t);
             stats.append(String.format("%s:\n", team));
-            stats.append(String.format("Budget Remaining: ₹%,d\n", teamBudgets.get(team)));
-            stats.append(String.format("Players Bought: %d\n", teamPlayerList.size()));
+            stats.append(String.format("Budget Remaining: ₹%,d\n", engine.getTeamBudget(t)));
+            stats.append(String.format("Players Bought: %d\n", statistics.getTeamPlayerCount(t)));
+            stats.append(String.format("Overseas Players: %d of %d\n", overseas[t], SquadConstraints.MAX_OVERSEAS_PER_TEAM));
             
             // Show player details
             if (!teamPlayerList.isEmpty()) {
@@ -560,10 +786,46 @@ private JLabel createShadowLabel(String text, int fontSize) {
             stats.append("\n");
         }
         
-        stats.append(String.format("\nTotal Amount Spent: ₹%,d\n", totalSpent));
-        if (!soldPlayers.isEmpty()) {
-            stats.append(String.format("Average Player Cost: ₹%,d\n", 
-                totalSpent / soldPlayers.size()));
+        stats.append("Players Not Yet Sold:\n");
+        for (String role : playerIndex.getRoles()) {
+            PlayerIndex.Query available = playerIndex.query().role(role).unsold();
+            int count = available.count();
+            stats.append(String.format("- %s: %d, %d overseas\n", role, count, available.overseas().count()));
+        }
+        
+        stats.append(String.format("\nTotal Amount Spent: ₹%,d\n", statistics.getTotalSpent()));
+        if (statistics.getSoldCount() > 0) {
+            stats.append(String.format("Average Player Cost: ₹%,d\n", statistics.getAveragePrice()));
+            stats.append(String.format("Premium Over Base: %+.1f%%\n", statistics.getPremiumRatio() * 100));
+        }
+        
+        // Frame-time metric for the render pipeline
+        LatencyHistogram updates = renderer.getUpdateTimes();
+        LatencyHistogram paints = renderer.getPaintTimes();
+        stats.append(String.format("\nRendering: %,d frames for %,d changes\n",
+            renderer.getFrameCount(), renderer.getInvalidationCount()));
+        stats.append(String.format("Frame update p50 %.2f ms, p99 %.2f ms\n",
+            updates.getPercentile(0.5) / 1e6, updates.getPercentile(0.99) / 1e6));
+        stats.append(String.format("Frame paint p50 %.2f ms, p99 %.2f ms\n",
+            paints.getPercentile(0.5) / 1e6, paints.getPercentile(0.99) / 1e6));
+        
+        // Pipeline metrics, also available over JMX and the metrics endpoint
+        LatencyHistogram bidToUi = metrics.getBidToUiTimes();
+        LatencyHistogram queueDelays = metrics.getEventQueueDelays();
+        stats.append(String.format("\nBids: %,d accepted, %.1f/s\n", metrics.getBidCount(), metrics.getBidsPerSecond()));
+        stats.append(String.format("Rejected: %,d insufficient budget, %,d consecutive\n",
+            metrics.getRejectedCount(AuctionEngine.BidResult.INSUFFICIENT_BUDGET),
+            metrics.getRejectedCount(AuctionEngine.BidResult.CONSECUTIVE_BID)));
+        stats.append(String.format("Bid to screen p50 %.2f ms, p99 %.2f ms\n",
+            bidToUi.getPercentile(0.5) / 1e6, bidToUi.getPercentile(0.99) / 1e6));
+        stats.append(String.format("Event queue delay p50 %.2f ms, p99 %.2f ms\n",
+            queueDelays.getPercentile(0.5) / 1e6, queueDelays.getPercentile(0.99) / 1e6));
+        if (metricsServer != null) {
+            stats.append(String.format("Metrics: http://127.0.0.1:%d/metrics\n", metricsServer.getPort()));
+        }
+        if (startup != null) {
+            stats.append(String.format("Startup: first frame %.0f ms, interactive %.0f ms after JVM start\n",
+                startup.getFirstFrameMillis(), startup.getInteractiveMillis()));
         }
         
         JTextArea textArea = new JTextArea(stats.toString());
@@ -578,23 +840,11 @@ private JLabel createShadowLabel(String text, int fontSize) {
     }
     
     private void saveAuctionState() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(
-                new FileOutputStream("auction_state.dat"))) {
-            
-            // Create a state object with all necessary data
-            AuctionState state = new AuctionState(
-                teamBudgets,
-                teamPlayers,
-                players,
-                soldPlayers,
-                currentPlayerIndex,
-                currentBid,
-                highestBidder,
-                timeLeft,
-                isAuctionPaused
-            );
-            
-            oos.writeObject(state);
+        try {
+            // Snapshot of all engine state
+            long start = System.nanoTime();
+            saveEncoder.write(engine.snapshot(), SAVE_FILE);
+            metrics.recordSnapshot(System.nanoTime() - start);
             JOptionPane.showMessageDialog(this, 
                 "Auction state saved successfully!", 
                 "Save Success", 
@@ -609,29 +859,15 @@ private JLabel createShadowLabel(String text, int fontSize) {
     }
     
     private void loadAuctionState() {
-        try (ObjectInputStream ois = new ObjectInputStream(
-                new FileInputStream("auction_state.dat"))) {
-                
-            AuctionState state = (AuctionState) ois.readObject();
-            
-            // Restore the state
-            teamBudgets = state.teamBudgets;
-            teamPlayers = state.teamPlayers;
-            players = state.players;
-            soldPlayers = state.soldPlayers;
-            currentPlayerIndex = state.currentPlayerIndex;
-            currentBid = state.currentBid;
-            highestBidder = state.highestBidder;
-            timeLeft = state.timeLeft;
-            isAuctionPaused = state.isAuctionPaused;
-            
-            updateUI();
+        try {
+            // Restore the state, the engine notifies stateRestored to refresh the UI
+            engine.restore(SnapshotCodec.read(SAVE_FILE));
             JOptionPane.showMessageDialog(this, 
                 "Auction state loaded successfully!",
                 "Load Success", 
                 JOptionPane.INFORMATION_MESSAGE);
                 
-        } catch (IOException | ClassNotFoundException e) {
+        } catch (IOException e) {
             JOptionPane.showMessageDialog(this, 
                 "Error loading auction state: " + e.getMessage(),
                 "Load Error", 
@@ -639,56 +875,59 @@ private JLabel createShadowLabel(String text, int fontSize) {
         }
     }
     
-    // Serializable class to save/load auction state
-    private static class AuctionState implements Serializable {
-        private static final long serialVersionUID = 1L;
-        
-        Map<String, Integer> teamBudgets;
-        Map<String, List<PlayerInfo>> teamPlayers;
-        List<PlayerInfo> players;
-        Set<String> soldPlayers;
-        int currentPlayerIndex;
-        double currentBid;
-        String highestBidder;
-        int timeLeft;
-        boolean isAuctionPaused;
-        
-        AuctionState(
-            Map<String, Integer> teamBudgets,
-            Map<String, List<PlayerInfo>> teamPlayers,
-            List<PlayerInfo> players,
-            Set<String> soldPlayers,
-            int currentPlayerIndex,
-            double currentBid,
-            String highestBidder,
-            int timeLeft,
-            boolean isAuctionPaused) {
-            
-            this.teamBudgets = teamBudgets;
-            this.teamPlayers = teamPlayers;
-            this.players = players;
-            this.soldPlayers = soldPlayers;
-            this.currentPlayerIndex = currentPlayerIndex;
-            this.currentBid = currentBid;
-            this.highestBidder = highestBidder;
-            this.timeLeft = timeLeft;
-            this.isAuctionPaused = isAuctionPaused;
+    // Opens a recording in a window of its own, the live auction carries on in this one
+    private void openReplay() {
+        JFileChooser chooser = new JFileChooser(REPLAY_DIRECTORY.toFile());
+        chooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter(
+            "Auction recordings", AuctionRecorder.EXTENSION.substring(1)));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        try {
+            IPLAuctionSystem window = new IPLAuctionSystem(AuctionReplay.open(chooser.getSelectedFile().toPath()), null);
+            window.finishStartup(null);
+            window.addWindowListener(new WindowAdapter() {
+                public void windowClosed(WindowEvent e) {
+                    window.replayControls.stop();
+                }
+            });
+            window.setVisible(true);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, 
+                "Error opening replay: " + e.getMessage(),
+                "Replay Error", 
+                JOptionPane.ERROR_MESSAGE);
         }
     }
     
     public static void main(String[] args) {
+        // The roster and the logos load on background threads while the look and feel is set
+        // up and the frame shows a loading message, the auction is built once both are ready
+        StartupTimer startup = new StartupTimer();
+        CompletableFuture<Iterator<PlayerInfo>> roster = CompletableFuture.supplyAsync(() -> {
+            Iterator<PlayerInfo> players = openRoster();
+            startup.mark("roster");
+            return players;
+        }).exceptionally(e -> {
+            System.err.println("Error loading roster: " + e.getMessage());
+            return AuctionEngine.sampleRoster().iterator();
+        });
+        CompletableFuture<Void> logos = TeamLogos.preload(TeamLogos.TEAM_LOGOS.keySet())
+            .thenRun(() -> startup.mark("logos"));
+        
         try {
             // Set system look and feel
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
         } catch (Exception e) {
             e.printStackTrace();
         }
+        startup.mark("look and feel");
         
         SwingUtilities.invokeLater(() -> {
-            IPLAuctionSystem auction = new IPLAuctionSystem();
+            IPLAuctionSystem auction = new IPLAuctionSystem(null, startup);
             auction.setVisible(true);
+            CompletableFuture.allOf(roster, logos).whenComplete((done, failure) ->
+                SwingUtilities.invokeLater(() -> auction.finishStartup(roster.join())));
         });
     }
 }
-
-// TeamLogos class moved to its own file
\ No newline at end of file
@@ -0,0 +1,35 @@
+package resources.logos.src.main.java;
+import javax.swing.*;
+import java.awt.*;
+import java.util.function.Supplier;
+
+// Holds the place of a secondary view until build() is called, so the window can lay out
+// and paint its main controls first. The placeholder takes the view's size from the start,
+// nothing moves when the view appears. EDT only.
+public class LazyPanel<T extends JComponent> extends JPanel {
+    private static final long serialVersionUID = 1L;
+
+    private final transient Supplier<T> factory;
+    private T component;
+
+    public LazyPanel(Supplier<T> factory) {
+        super(new BorderLayout());
+        this.factory = factory;
+    }
+
+    // Builds the view the first time, later calls return it
+    public T build() {
+        if (component == null) {
+            component = factory.get();
+            add(component, BorderLayout.CENTER);
+            revalidate();
+            repaint();
+        }
+        return component;
+    }
+
+    // The view, or null until it is built
+    public T get() {
+        return component;
+    }
+}
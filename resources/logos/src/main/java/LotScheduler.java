@@ -0,0 +1,202 @@
+package resources.logos.src.main.java;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Runs many lots at once for large leagues. AuctionEngine walks the players one lot at a
+// time; this splits them into shards (see roundRobin and byRole) and every LotShard runs
+// its own lots concurrently with the others. All shards draw on one BudgetLedger, so a team
+// bidding on several lots at once is held to one budget and one squad. nextRound puts the
+// players that went unsold back up, for example as an accelerated round with shorter lots.
+//
+// The scheduler that closes lots must be thread-safe, e.g. a RoomScheduler over a
+// ScheduledExecutorService with Runnable::run; lots closing at the same time are closed on
+// different threads. Listeners are called on whichever thread placed the bid or opened or
+// closed the lot, so they must be thread-safe. Each shard's events arrive in the order its
+// ConcurrentBidBook published them, so a listener must not bid on a shard from a callback.
+public class LotScheduler {
+    private final String[] teams;
+    private final List<PlayerInfo> players;
+    private final BudgetLedger ledger;
+    private final long lotMillis;
+    private final AuctionScheduler scheduler;
+    private final List<LotShard> shards = new ArrayList<>();
+    private final List<Queue<PlayerInfo>> squads;
+    private final Queue<Integer> unsold = new ConcurrentLinkedQueue<>();
+    private final List<AuctionListener> listeners = new CopyOnWriteArrayList<>();
+
+    private LotScheduler(String[] teams, List<PlayerInfo> players, BudgetLedger ledger, long lotMillis,
+                         AuctionScheduler scheduler, List<Queue<PlayerInfo>> squads) {
+        if (ledger.getTeamCount() != teams.length) {
+            throw new IllegalArgumentException("Ledger has " + ledger.getTeamCount() + " teams, not " + teams.length);
+        }
+        this.teams = teams;
+        this.players = players;
+        this.ledger = ledger;
+        this.lotMillis = lotMillis;
+        this.scheduler = scheduler;
+        this.squads = squads;
+    }
+
+    // Shards hold indexes into players, lots close after lotMillis or, if 0, on closeLot
+    public static LotScheduler create(String[] teams, List<PlayerInfo> players, List<int[]> partition,
+                                      BudgetLedger ledger, long lotMillis, AuctionScheduler scheduler) {
+        return withShards(new LotScheduler(teams, players, ledger, lotMillis, scheduler, newSquads(teams.length)),
+            partition);
+    }
+
+    // Shards call back into the scheduler, so they are only created once it is constructed
+    private static LotScheduler withShards(LotScheduler auction, List<int[]> partition) {
+        for (int[] shard : partition) {
+            auction.shards.add(new LotShard(auction, auction.shards.size(), shard, auction.ledger));
+        }
+        return auction;
+    }
+
+    // Player i goes to shard i % shardCount
+    public static List<int[]> roundRobin(int playerCount, int shardCount) {
+        List<int[]> partition = new ArrayList<>(shardCount);
+        for (int s = 0; s < shardCount; s++) {
+            int[] shard = new int[(playerCount - s + shardCount - 1) / shardCount];
+            for (int i = 0; i < shard.length; i++) {
+                shard[i] = s + i * shardCount;
+            }
+            partition.add(shard);
+        }
+        return partition;
+    }
+
+    // One shard per role, for parallel sessions per role pool, in order of first appearance
+    public static List<int[]> byRole(List<PlayerInfo> players) {
+        Map<String, List<Integer>> roles = new LinkedHashMap<>();
+        for (int i = 0; i < players.size(); i++) {
+            roles.computeIfAbsent(players.get(i).role, role -> new ArrayList<>()).add(i);
+        }
+        List<int[]> partition = new ArrayList<>(roles.size());
+        for (List<Integer> indexes : roles.values()) {
+            partition.add(indexes.stream().mapToInt(Integer::intValue).toArray());
+        }
+        return partition;
+    }
+
+    // Opens the first lot of every shard
+    public void start() {
+        for (LotShard shard : shards) {
+            shard.start();
+        }
+    }
+
+    // A round for the players that went unsold in this one, once it has finished, with the
+    // same ledger and squads
+    public LotScheduler nextRound(long lotMillis, int shardCount) {
+        int[] indexes = unsold.stream().mapToInt(Integer::intValue).sorted().toArray();
+        List<int[]> partition = new ArrayList<>(shardCount);
+        for (int[] shard : roundRobin(indexes.length, shardCount)) {
+            for (int i = 0; i < shard.length; i++) {
+                shard[i] = indexes[shard[i]];
+            }
+            partition.add(shard);
+        }
+        return withShards(new LotScheduler(teams, players, ledger, lotMillis, scheduler, squads), partition);
+    }
+
+    public AuctionEngine.BidResult placeBid(int shard, int team) {
+        return shards.get(shard).placeBid(team);
+    }
+
+    // Listeners are called from many threads
+    public void addListener(AuctionListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(AuctionListener listener) {
+        listeners.remove(listener);
+    }
+
+    void lotStarted(int playerIndex) {
+        PlayerInfo player = players.get(playerIndex);
+        for (AuctionListener listener : listeners) {
+            listener.lotStarted(player);
+        }
+    }
+
+    void bidPlaced(int team, int amount) {
+        for (AuctionListener listener : listeners) {
+            listener.bidPlaced(teams[team], amount);
+        }
+    }
+
+    void sold(int playerIndex, int team, int price) {
+        PlayerInfo player = players.get(playerIndex);
+        player.finalPrice = price;
+        player.purchasedBy = teams[team];
+        squads.get(team).add(player);
+        for (AuctionListener listener : listeners) {
+            listener.playerSold(player, teams[team], price);
+        }
+    }
+
+    void unsold(int playerIndex) {
+        unsold.add(playerIndex);
+        PlayerInfo player = players.get(playerIndex);
+        for (AuctionListener listener : listeners) {
+            listener.playerUnsold(player);
+        }
+    }
+
+    // Completes once every shard has closed its last lot
+    public CompletableFuture<Void> whenFinished() {
+        return CompletableFuture.allOf(shards.stream().map(LotShard::whenFinished)
+            .toArray(CompletableFuture<?>[]::new));
+    }
+
+    public PlayerInfo getPlayer(int index) {
+        return players.get(index);
+    }
+
+    public String[] getTeams() {
+        return teams;
+    }
+
+    public List<LotShard> getShards() {
+        return List.copyOf(shards);
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    public BudgetLedger getLedger() {
+        return ledger;
+    }
+
+    public long getLotMillis() {
+        return lotMillis;
+    }
+
+    AuctionScheduler getScheduler() {
+        return scheduler;
+    }
+
+    // Players the team has bought so far, across rounds
+    public List<PlayerInfo> getSquad(int team) {
+        return List.copyOf(squads.get(team));
+    }
+
+    public int getUnsoldCount() {
+        return unsold.size();
+    }
+
+    private static List<Queue<PlayerInfo>> newSquads(int teamCount) {
+        List<Queue<PlayerInfo>> squads = new ArrayList<>(teamCount);
+        for (int t = 0; t < teamCount; t++) {
+            squads.add(new ConcurrentLinkedQueue<>());
+        }
+        return squads;
+    }
+}
@@ -0,0 +1,105 @@
+package resources.logos.src.main.java;
+import java.util.concurrent.CompletableFuture;
+
+// One shard of a LotScheduler: puts its share of the players under the hammer one after
+// another, independently of the other shards. Bids go through the shard's ConcurrentBidBook,
+// so bids from any thread need no lock, and the leading bid is reserved in the shared
+// BudgetLedger, so a team can never commit more than it has.
+//
+// A lot closes lotMillis after it opens, or when closeLot is called if lotMillis is 0. The
+// thread that closes it settles the sale and opens the shard's next lot.
+public class LotShard {
+    private static final int INCREMENT = (int) AuctionEngine.BID_INCREMENT;
+
+    private final LotScheduler scheduler;
+    private final int id;
+    private final int[] playerIndexes;
+    // The book's lot key is the lot's place in the shard
+    private final ConcurrentBidBook book;
+    private final CompletableFuture<Void> finished = new CompletableFuture<>();
+
+    LotShard(LotScheduler scheduler, int id, int[] playerIndexes, BudgetLedger ledger) {
+        this.scheduler = scheduler;
+        this.id = id;
+        this.playerIndexes = playerIndexes;
+        this.book = new ConcurrentBidBook(ledger, INCREMENT, lot -> published(scheduler, playerIndexes, lot));
+    }
+
+    // Tells the scheduler's listeners about a lot that opened, took a bid or closed, in the
+    // order the book published them
+    private static void published(LotScheduler scheduler, int[] playerIndexes, ConcurrentBidBook.BidState lot) {
+        int playerIndex = playerIndexes[lot.lot()];
+        if (!lot.open()) {
+            if (lot.bidder() != AuctionEngine.NO_BIDDER) {
+                scheduler.sold(playerIndex, lot.bidder(), lot.amount());
+            } else {
+                scheduler.unsold(playerIndex);
+            }
+        } else if (lot.bidder() == AuctionEngine.NO_BIDDER) {
+            scheduler.lotStarted(playerIndex);
+        } else {
+            scheduler.bidPlaced(lot.bidder(), lot.amount());
+        }
+    }
+
+    void start() {
+        open(0);
+    }
+
+    public AuctionEngine.BidResult placeBid(int team) {
+        return book.placeBid(team);
+    }
+
+    // Closes the current lot and opens the next one
+    public void closeLot() {
+        close(book.getState().lot());
+    }
+
+    // Closes the lot at the position if it is still open, only one caller wins
+    private void close(int position) {
+        if (book.closeLot(position) != null) {
+            open(position + 1);
+        }
+    }
+
+    private void open(int position) {
+        if (position == playerIndexes.length) {
+            finished.complete(null);
+            return;
+        }
+        int playerIndex = playerIndexes[position];
+        PlayerInfo player = scheduler.getPlayer(playerIndex);
+        book.openLot(position, player.basePrice, SquadConstraints.isOverseas(player));
+        if (scheduler.getLotMillis() > 0) {
+            scheduler.getScheduler().schedule(scheduler.getLotMillis(), () -> close(position));
+        }
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    // Closed with lot -1 before the shard starts
+    public ConcurrentBidBook.BidState getLot() {
+        return book.getState();
+    }
+
+    // Player under the hammer in the lot at the position
+    public int getPlayerIndex(int position) {
+        return playerIndexes[position];
+    }
+
+    public int getLotCount() {
+        return playerIndexes.length;
+    }
+
+    // Bids that lost a race with another bid on the same lot and were retried
+    public long getRetries() {
+        return book.getRetries();
+    }
+
+    // Completes once the shard's last lot has closed
+    public CompletableFuture<Void> whenFinished() {
+        return finished;
+    }
+}
@@ -0,0 +1,206 @@
+package resources.logos.src.main.java;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+// Runs many independent headless auctions in parallel and aggregates price,
+// unsold and spend distributions. Every task gets its own SplittableRandom split
+// off the seed up front, so results do not depend on the number of threads.
+// The roster is kept as a PlayerStore; each task makes one set of PlayerInfo objects
+// for its engines and resets it between auctions rather than copying the roster for each.
+public class MonteCarloSimulator {
+    private static final int AUCTIONS_PER_TASK = 256;
+    private static final int SPEND_BUCKET = 5000;
+    private static final int PRICE_BUCKETS = (int) (AuctionEngine.TEAM_BUDGET / AuctionEngine.BID_INCREMENT) + 1;
+    private static final int SPEND_BUCKETS = AuctionEngine.TEAM_BUDGET / SPEND_BUCKET + 1;
+
+    private final String[] teams;
+    private final PlayerStore roster;
+
+    public MonteCarloSimulator(String[] teams, List<PlayerInfo> roster) {
+        this.teams = teams.clone();
+        this.roster = PlayerStore.of(teams, roster);
+    }
+
+    public Result run(int auctions, long seed, int parallelism) {
+        // Split the random streams sequentially so every task is reproducible
+        SplittableRandom root = new SplittableRandom(seed);
+        List<SplittableRandom> streams = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+        for (int done = 0; done < auctions; done += AUCTIONS_PER_TASK) {
+            streams.add(root.split());
+            sizes.add(Math.min(AUCTIONS_PER_TASK, auctions - done));
+        }
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Result result = pool.submit(() -> java.util.stream.IntStream.range(0, streams.size())
+                .parallel()
+                .mapToObj(task -> runTask(sizes.get(task), streams.get(task)))
+                .reduce(Result::merge)
+                .orElseGet(this::emptyResult)).get();
+            result.elapsedNanos = System.nanoTime() - start;
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private Result runTask(int auctions, SplittableRandom rand) {
+        Result result = emptyResult();
+        List<PlayerInfo> players = roster.toPlayerInfoList();
+        for (int i = 0; i < auctions; i++) {
+            roster.resetPlayers(players);
+            AuctionEngine engine = new AuctionEngine(teams, players);
+            engine.runAuction(rand);
+            result.record(engine);
+        }
+        return result;
+    }
+
+    private Result emptyResult() {
+        return new Result(teams, roster);
+    }
+
+    public static final class Result {
+        private final String[] teams;
+        private final PlayerStore roster;
+        // Sale count per player per bid increment above base price
+        private final long[][] priceHistogram;
+        private final long[] unsold;
+        // Auctions per team per SPEND_BUCKET of total spend
+        private final long[][] spendHistogram;
+        private long auctions;
+        private long elapsedNanos;
+
+        Result(String[] teams, PlayerStore roster) {
+            this.teams = teams;
+            this.roster = roster;
+            this.priceHistogram = new long[roster.size()][PRICE_BUCKETS];
+            this.unsold = new long[roster.size()];
+            this.spendHistogram = new long[teams.length][SPEND_BUCKETS];
+        }
+
+        void record(AuctionEngine engine) {
+            List<PlayerInfo> players = engine.getPlayers();
+            for (int i = 0; i < players.size(); i++) {
+                if (!engine.isSold(i)) {
+                    unsold[i]++;
+                } else {
+                    int bucket = (int) ((players.get(i).finalPrice - roster.getBasePrice(i)) / AuctionEngine.BID_INCREMENT);
+                    priceHistogram[i][Math.min(bucket, PRICE_BUCKETS - 1)]++;
+                }
+            }
+            for (int t = 0; t < teams.length; t++) {
+                int spent = AuctionEngine.TEAM_BUDGET - engine.getTeamBudget(t);
+                spendHistogram[t][Math.min(spent / SPEND_BUCKET, SPEND_BUCKETS - 1)]++;
+            }
+            auctions++;
+        }
+
+        Result merge(Result other) {
+            for (int i = 0; i < priceHistogram.length; i++) {
+                for (int b = 0; b < PRICE_BUCKETS; b++) {
+                    priceHistogram[i][b] += other.priceHistogram[i][b];
+                }
+                unsold[i] += other.unsold[i];
+            }
+            for (int t = 0; t < spendHistogram.length; t++) {
+                for (int b = 0; b < SPEND_BUCKETS; b++) {
+                    spendHistogram[t][b] += other.spendHistogram[t][b];
+                }
+            }
+            auctions += other.auctions;
+            return this;
+        }
+
+        public long getAuctions() {
+            return auctions;
+        }
+
+        public double getAuctionsPerSecond() {
+            return auctions / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        public double getUnsoldRate(int player) {
+            return auctions == 0 ? 0 : (double) unsold[player] / auctions;
+        }
+
+        // Price at the given percentile (0-1) among auctions where the player sold, 0 if never sold
+        public int getPricePercentile(int player, double percentile) {
+            int bucket = percentileBucket(priceHistogram[player], percentile);
+            return bucket < 0 ? 0 : roster.getBasePrice(player) + (int) (bucket * AuctionEngine.BID_INCREMENT);
+        }
+
+        // Lower bound of the spend bucket at the given percentile (0-1)
+        public int getSpendPercentile(int team, double percentile) {
+            return Math.max(percentileBucket(spendHistogram[team], percentile), 0) * SPEND_BUCKET;
+        }
+
+        private static int percentileBucket(long[] histogram, double percentile) {
+            long total = 0;
+            for (long count : histogram) {
+                total += count;
+            }
+            if (total == 0) {
+                return -1;
+            }
+            long target = (long) Math.ceil(percentile * total);
+            long seen = 0;
+            for (int b = 0; b < histogram.length; b++) {
+                seen += histogram[b];
+                if (seen >= Math.max(target, 1)) {
+                    return b;
+                }
+            }
+            return histogram.length - 1;
+        }
+
+        public void print(PrintStream out) {
+            out.printf("%,d auctions%n%n", auctions);
+            out.printf("%-20s %10s %10s %10s %8s%n", "Player", "Base", "Median", "P90", "Unsold");
+            for (int i = 0; i < roster.size(); i++) {
+                out.printf("%-20s %,10d %,10d %,10d %7.1f%%%n", roster.getName(i), roster.getBasePrice(i),
+                    getPricePercentile(i, 0.5), getPricePercentile(i, 0.9), getUnsoldRate(i) * 100);
+            }
+            out.printf("%n%-28s %10s %10s %10s%n", "Team spend", "P10", "Median", "P90");
+            for (int t = 0; t < teams.length; t++) {
+                out.printf("%-28s %,10d %,10d %,10d%n", teams[t],
+                    getSpendPercentile(t, 0.1), getSpendPercentile(t, 0.5), getSpendPercentile(t, 0.9));
+            }
+        }
+    }
+
+    // Usage: MonteCarloSimulator [auctions] [seed]
+    // Runs the sample roster at increasing thread counts to show scaling, then prints the distributions.
+    public static void main(String[] args) {
+        int auctions = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        MonteCarloSimulator simulator = new MonteCarloSimulator(AuctionEngine.IPL_TEAMS, AuctionEngine.sampleRoster());
+        simulator.run(Math.min(auctions, 50_000), seed, cores); // warm up
+
+        Result result = null;
+        double singleThreaded = 0;
+        for (int threads = 1; threads <= cores; threads = threads < cores ? Math.min(threads * 2, cores) : cores + 1) {
+            result = simulator.run(auctions, seed, threads);
+            if (threads == 1) {
+                singleThreaded = result.getAuctionsPerSecond();
+            }
+            System.out.printf("%2d threads: %,12.0f auctions/s (%.2fx)%n",
+                threads, result.getAuctionsPerSecond(), result.getAuctionsPerSecond() / singleThreaded);
+        }
+        System.out.println();
+        result.print(System.out);
+    }
+}
@@ -0,0 +1,188 @@
+package resources.logos.src.main.java;
+import java.util.*;
+
+// Secondary indexes over an engine's player pool, keyed on the player's index in the roster,
+// which never changes. Role, nationality, sold state and buying team are bitmaps, base
+// price is a sorted map of price to bitmap, and a query ANDs them together, so questions
+// like "unsold bowlers under 10,000 base" touch a few words per 64 players instead of
+// every PlayerInfo. Sales, newly streamed players and restores update it as they happen.
+// Engine thread only, like the engine.
+public class PlayerIndex implements AuctionListener {
+    public static final String HOME_NATIONALITY = SquadConstraints.HOME_NATIONALITY;
+
+    private final AuctionEngine engine;
+    private final Map<String, BitSet> byRole = new HashMap<>();
+    private final Map<String, BitSet> byNationality = new HashMap<>();
+    private final TreeMap<Integer, BitSet> byBasePrice = new TreeMap<>();
+    private final BitSet[] byTeam;
+    private final BitSet sold = new BitSet();
+    private int size = 0;
+
+    public PlayerIndex(AuctionEngine engine) {
+        this.engine = engine;
+        byTeam = new BitSet[engine.getTeamCount()];
+        rebuild();
+    }
+
+    // Players streamed in since the last lot
+    @Override
+    public void lotStarted(PlayerInfo player) {
+        addStreamed();
+    }
+
+    private void addStreamed() {
+        List<PlayerInfo> players = engine.getPlayers();
+        while (size < players.size()) {
+            add(size, players.get(size));
+            size++;
+        }
+    }
+
+    @Override
+    public void playerSold(PlayerInfo player, String team, int price) {
+        int id = engine.getCurrentPlayerIndex();
+        sold.set(id);
+        byTeam[engine.teamId(team)].set(id);
+    }
+
+    @Override
+    public void stateRestored() {
+        rebuild();
+    }
+
+    private void rebuild() {
+        byRole.clear();
+        byNationality.clear();
+        byBasePrice.clear();
+        sold.clear();
+        for (int t = 0; t < byTeam.length; t++) {
+            byTeam[t] = new BitSet();
+        }
+        size = 0;
+        addStreamed();
+        List<PlayerInfo> players = engine.getPlayers();
+        for (int id = 0; id < size; id++) {
+            PlayerInfo player = players.get(id);
+            if (player.purchasedBy != null) {
+                sold.set(id);
+                byTeam[engine.teamId(player.purchasedBy)].set(id);
+            }
+        }
+    }
+
+    private void add(int id, PlayerInfo player) {
+        byRole.computeIfAbsent(player.role, k -> new BitSet()).set(id);
+        byNationality.computeIfAbsent(player.nationality, k -> new BitSet()).set(id);
+        byBasePrice.computeIfAbsent(player.basePrice, k -> new BitSet()).set(id);
+    }
+
+    // Number of players indexed so far
+    public int size() {
+        return size;
+    }
+
+    // Roles of the indexed players, in alphabetical order
+    public List<String> getRoles() {
+        List<String> roles = new ArrayList<>(byRole.keySet());
+        Collections.sort(roles);
+        return roles;
+    }
+
+    public Query query() {
+        return new Query();
+    }
+
+    // Overseas players bought by each team, indexed by team id
+    public int[] getOverseasCountByTeam() {
+        BitSet home = byNationality.getOrDefault(HOME_NATIONALITY, new BitSet());
+        int[] counts = new int[byTeam.length];
+        for (int t = 0; t < byTeam.length; t++) {
+            BitSet overseas = (BitSet) byTeam[t].clone();
+            overseas.andNot(home);
+            counts[t] = overseas.cardinality();
+        }
+        return counts;
+    }
+
+    // Conjunction of filters over the indexed players, each filter narrows the result.
+    // A query is a snapshot: later sales do not change it.
+    public final class Query {
+        private final BitSet result = new BitSet(size);
+
+        private Query() {
+            result.set(0, size);
+        }
+
+        public Query role(String role) {
+            return and(byRole.get(role));
+        }
+
+        public Query nationality(String nationality) {
+            return and(byNationality.get(nationality));
+        }
+
+        public Query overseas() {
+            BitSet home = byNationality.get(HOME_NATIONALITY);
+            if (home != null) {
+                result.andNot(home);
+            }
+            return this;
+        }
+
+        public Query sold() {
+            return and(sold);
+        }
+
+        public Query unsold() {
+            result.andNot(sold);
+            return this;
+        }
+
+        public Query boughtBy(int team) {
+            return and(byTeam[team]);
+        }
+
+        // Base price in [min, max)
+        public Query basePriceBetween(int min, int max) {
+            BitSet range = new BitSet(size);
+            if (min < max) {
+                for (BitSet players : byBasePrice.subMap(min, max).values()) {
+                    range.or(players);
+                }
+            }
+            result.and(range);
+            return this;
+        }
+
+        public Query basePriceBelow(int max) {
+            return basePriceBetween(Integer.MIN_VALUE, max);
+        }
+
+        public int count() {
+            return result.cardinality();
+        }
+
+        // Matching player ids in ascending order
+        public int[] ids() {
+            return result.stream().toArray();
+        }
+
+        public List<PlayerInfo> players() {
+            List<PlayerInfo> roster = engine.getPlayers();
+            List<PlayerInfo> matches = new ArrayList<>(result.cardinality());
+            for (int id = result.nextSetBit(0); id >= 0; id = result.nextSetBit(id + 1)) {
+                matches.add(roster.get(id));
+            }
+            return matches;
+        }
+
+        private Query and(BitSet players) {
+            if (players == null) {
+                result.clear();
+            } else {
+                result.and(players);
+            }
+            return this;
+        }
+    }
+}
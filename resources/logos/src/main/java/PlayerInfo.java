@@ -0,0 +1,22 @@
+package resources.logos.src.main.java;
+import java.io.Serializable;
+
+public class PlayerInfo implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    String name;
+    String role;
+    int basePrice;
+    int finalPrice;
+    String purchasedBy;
+    String nationality;
+
+    PlayerInfo(String name, String role, int basePrice, String nationality) {
+        this.name = name;
+        this.role = role;
+        this.basePrice = basePrice;
+        this.nationality = nationality;
+        this.finalPrice = 0;
+        this.purchasedBy = null;
+    }
+}
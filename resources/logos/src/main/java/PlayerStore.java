@@ -0,0 +1,200 @@
+package resources.logos.src.main.java;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+// Struct-of-arrays player pool for large simulations. Each player is a dense int id
+// indexing primitive columns; names are packed in a StringTable (name id == player id),
+// roles and nationalities are interned label ids, and teams are ids into the team
+// array, so a player costs a few ints instead of a PlayerInfo object graph and
+// role/team checks are int comparisons.
+public class PlayerStore {
+    public static final int UNSOLD = -1;
+
+    private final String[] teams;
+    private final StringTable names = new StringTable();
+    private final StringTable labels = new StringTable();
+
+    private int[] roles = new int[16];
+    private int[] nationalities = new int[16];
+    private int[] basePrices = new int[16];
+    private int[] finalPrices = new int[16];
+    private int[] buyers = new int[16];
+    private int size = 0;
+
+    public PlayerStore(String[] teams) {
+        this.teams = teams.clone();
+    }
+
+    public static PlayerStore of(String[] teams, Iterator<PlayerInfo> roster) {
+        PlayerStore store = new PlayerStore(teams);
+        while (roster.hasNext()) {
+            store.add(roster.next());
+        }
+        return store;
+    }
+
+    public static PlayerStore of(String[] teams, List<PlayerInfo> roster) {
+        return of(teams, roster.iterator());
+    }
+
+    // Adds the player and returns its id
+    public int add(String name, String role, int basePrice, String nationality) {
+        if (size == roles.length) {
+            int capacity = size * 2;
+            roles = Arrays.copyOf(roles, capacity);
+            nationalities = Arrays.copyOf(nationalities, capacity);
+            basePrices = Arrays.copyOf(basePrices, capacity);
+            finalPrices = Arrays.copyOf(finalPrices, capacity);
+            buyers = Arrays.copyOf(buyers, capacity);
+        }
+        names.add(name);
+        roles[size] = labels.intern(role);
+        nationalities[size] = labels.intern(nationality);
+        basePrices[size] = basePrice;
+        finalPrices[size] = 0;
+        buyers[size] = UNSOLD;
+        return size++;
+    }
+
+    public int add(PlayerInfo player) {
+        int id = add(player.name, player.role, player.basePrice, player.nationality);
+        if (player.purchasedBy != null) {
+            sell(id, teamId(player.purchasedBy), player.finalPrice);
+        }
+        return id;
+    }
+
+    public void sell(int player, int team, int price) {
+        buyers[player] = team;
+        finalPrices[player] = price;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getRoleId(int player) {
+        return roles[player];
+    }
+
+    public int getNationalityId(int player) {
+        return nationalities[player];
+    }
+
+    public int getBasePrice(int player) {
+        return basePrices[player];
+    }
+
+    public int getFinalPrice(int player) {
+        return finalPrices[player];
+    }
+
+    // Buying team id, or UNSOLD
+    public int getBuyer(int player) {
+        return buyers[player];
+    }
+
+    public boolean isSold(int player) {
+        return buyers[player] != UNSOLD;
+    }
+
+    public String getName(int player) {
+        return names.get(player);
+    }
+
+    public String getRole(int player) {
+        return labels.get(roles[player]);
+    }
+
+    public String getNationality(int player) {
+        return labels.get(nationalities[player]);
+    }
+
+    // Id of a role or nationality string, -1 if no player has it
+    public int labelId(String label) {
+        return labels.idOf(label);
+    }
+
+    public int teamId(String team) {
+        for (int i = 0; i < teams.length; i++) {
+            if (teams[i].equals(team)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown team: " + team);
+    }
+
+    public String teamName(int team) {
+        return team == UNSOLD ? null : teams[team];
+    }
+
+    // Read-only view of one player for the UI, reads the columns on every call
+    public PlayerView view(int player) {
+        return new PlayerView(player);
+    }
+
+    // Copies the player out as a PlayerInfo for code that still works on objects
+    public PlayerInfo toPlayerInfo(int player) {
+        PlayerInfo info = new PlayerInfo(getName(player), getRole(player), basePrices[player], getNationality(player));
+        info.finalPrice = finalPrices[player];
+        info.purchasedBy = teamName(buyers[player]);
+        return info;
+    }
+
+    // PlayerInfo copies of every player, for code such as the engine that needs objects
+    public List<PlayerInfo> toPlayerInfoList() {
+        List<PlayerInfo> players = new ArrayList<>(size);
+        for (int id = 0; id < size; id++) {
+            players.add(toPlayerInfo(id));
+        }
+        return players;
+    }
+
+    // Puts copies made by toPlayerInfoList back to the store's sale state, so one set of
+    // objects serves auction after auction instead of a new object graph for each
+    public void resetPlayers(List<PlayerInfo> players) {
+        for (int id = 0; id < size; id++) {
+            PlayerInfo player = players.get(id);
+            player.finalPrice = finalPrices[id];
+            player.purchasedBy = teamName(buyers[id]);
+        }
+    }
+
+    public final class PlayerView {
+        private final int id;
+
+        private PlayerView(int id) {
+            this.id = id;
+        }
+
+        public int id() {
+            return id;
+        }
+
+        public String name() {
+            return getName(id);
+        }
+
+        public String role() {
+            return getRole(id);
+        }
+
+        public String nationality() {
+            return getNationality(id);
+        }
+
+        public int basePrice() {
+            return basePrices[id];
+        }
+
+        public int finalPrice() {
+            return finalPrices[id];
+        }
+
+        public String purchasedBy() {
+            return teamName(buyers[id]);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package resources.logos.src.main.java;
+import java.util.random.RandomGenerator;
+
+// The original behaviour: bids with a fixed chance, whatever the player or price
+public class RandomStrategy implements BidderStrategy {
+    private final double chance;
+
+    public RandomStrategy() {
+        this(AuctionEngine.RANDOM_BID_CHANCE);
+    }
+
+    public RandomStrategy(double chance) {
+        this.chance = chance;
+    }
+
+    @Override
+    public boolean wantsToBid(AuctionEngine auction, int team, int amount, RandomGenerator rand) {
+        return rand.nextDouble() < chance;
+    }
+}
@@ -0,0 +1,74 @@
+package resources.logos.src.main.java;
+import javax.swing.Timer;
+
+// Coalesces UI invalidations into at most one render per frame. Engine callbacks call
+// invalidate() as often as they like; the render callback then runs on the EDT no more than
+// FRAME_RATE times a second and reads whatever the latest state is. EDT only.
+public class RenderCoalescer {
+    public static final int FRAME_RATE = 60;
+    private static final int FRAME_MILLIS = 1000 / FRAME_RATE;
+
+    private final Runnable render;
+    private final Timer timer;
+    private final LatencyHistogram updateTimes = new LatencyHistogram();
+    private final LatencyHistogram paintTimes = new LatencyHistogram();
+    private boolean pending = false; // Timer.isRunning() is false while its event waits on the EDT
+    private long lastFrame = 0;
+    private long invalidations = 0;
+    private long frames = 0;
+
+    public RenderCoalescer(Runnable render) {
+        this.render = render;
+        timer = new Timer(FRAME_MILLIS, e -> renderFrame());
+        timer.setRepeats(false);
+    }
+
+    // Schedules a render for the next frame unless one is already pending
+    public void invalidate() {
+        invalidations++;
+        if (!pending) {
+            pending = true;
+            long sinceLastFrame = (System.nanoTime() - lastFrame) / 1_000_000;
+            timer.setInitialDelay((int) Math.max(0, FRAME_MILLIS - sinceLastFrame));
+            timer.start();
+        }
+    }
+
+    // Renders straight away, for changes the user should see without a frame of delay
+    public void renderNow() {
+        timer.stop();
+        renderFrame();
+    }
+
+    // Called by the timed content pane with the time a paint pass took
+    public void recordPaint(long nanos) {
+        paintTimes.record(nanos);
+    }
+
+    // Time spent pushing engine state into components, per rendered frame
+    public LatencyHistogram getUpdateTimes() {
+        return updateTimes;
+    }
+
+    // Time Swing spent painting the window, per paint pass
+    public LatencyHistogram getPaintTimes() {
+        return paintTimes;
+    }
+
+    public long getFrameCount() {
+        return frames;
+    }
+
+    public long getInvalidationCount() {
+        return invalidations;
+    }
+
+    private void renderFrame() {
+        pending = false;
+        long start = System.nanoTime();
+        render.run();
+        updateTimes.record(System.nanoTime() - start);
+        lastFrame = start;
+        frames++;
+    }
+}
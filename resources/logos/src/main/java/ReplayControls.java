@@ -0,0 +1,96 @@
+package resources.logos.src.main.java;
+import javax.swing.*;
+import java.awt.*;
+
+// Play, pause, speed and a timeline for an AuctionReplay. A Swing timer moves playback on
+// by the elapsed time times the speed, so the engine's listeners get the recorded events on
+// the EDT just as they did live. Dragging the timeline seeks. EDT only.
+public final class ReplayControls extends JPanel {
+    private static final long serialVersionUID = 1L;
+
+    public static final int[] SPEEDS = {1, 2, 5, 10, 25, 50, 100};
+    private static final int FRAME_MILLIS = 50;
+
+    private final transient AuctionReplay replay;
+    private final JButton playButton = new JButton("Play");
+    private final JComboBox<String> speedChoice = new JComboBox<>();
+    private final JSlider timeline;
+    private final JLabel clockLabel = new JLabel();
+    private final Timer timer = new Timer(FRAME_MILLIS, e -> advance());
+
+    private long lastFrameNanos;
+    private boolean updatingTimeline; // Set while playback moves the slider, not the user
+
+    public ReplayControls(AuctionReplay replay) {
+        super(new BorderLayout(10, 0));
+        this.replay = replay;
+
+        for (int speed : SPEEDS) {
+            speedChoice.addItem(speed + "x");
+        }
+        playButton.addActionListener(e -> setPlaying(!timer.isRunning()));
+
+        // Whole seconds, so the slider's int range covers any recording
+        timeline = new JSlider(0, (int) Math.max(1, replay.getDuration() / 1000), 0);
+        timeline.addChangeListener(e -> {
+            if (!updatingTimeline) {
+                replay.seek(timeline.getValue() * 1000L);
+                showTime();
+            }
+        });
+
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        buttons.add(playButton);
+        buttons.add(new JLabel("Speed:"));
+        buttons.add(speedChoice);
+        clockLabel.setFont(new Font("Monospaced", Font.PLAIN, 12));
+
+        add(buttons, BorderLayout.WEST);
+        add(timeline, BorderLayout.CENTER);
+        add(clockLabel, BorderLayout.EAST);
+        showTime();
+    }
+
+    public void setPlaying(boolean playing) {
+        if (playing && replay.isFinished()) {
+            replay.seek(0); // Play again from the start
+        }
+        if (playing) {
+            lastFrameNanos = System.nanoTime();
+            timer.start();
+        } else {
+            timer.stop();
+        }
+        playButton.setText(playing ? "Pause" : "Play");
+        showTime();
+    }
+
+    public void stop() {
+        setPlaying(false);
+    }
+
+    private void advance() {
+        long now = System.nanoTime();
+        long elapsedMillis = (now - lastFrameNanos) / 1_000_000;
+        if (elapsedMillis == 0) {
+            return;
+        }
+        lastFrameNanos += elapsedMillis * 1_000_000;
+        replay.advanceTo(replay.getTime() + elapsedMillis * SPEEDS[speedChoice.getSelectedIndex()]);
+        if (replay.isFinished()) {
+            setPlaying(false);
+        }
+        showTime();
+    }
+
+    private void showTime() {
+        updatingTimeline = true;
+        timeline.setValue((int) (replay.getTime() / 1000));
+        updatingTimeline = false;
+        long seconds = replay.getTime() / 1000;
+        long total = replay.getDuration() / 1000;
+        clockLabel.setText(String.format("%s  %d:%02d:%02d / %d:%02d:%02d",
+            replay.formatWallClock(replay.getTime()).substring(11, 19),
+            seconds / 3600, seconds / 60 % 60, seconds % 60, total / 3600, total / 60 % 60, total % 60));
+    }
+}
@@ -0,0 +1,166 @@
+package resources.logos.src.main.java;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.locks.LockSupport;
+
+// One node of a replicated auction, several of them run as separate JVMs on localhost.
+// Every node is given the same list of ports and its id is its position in the list; the
+// leader listens on its own port and the others follow it. Only a node started with --new
+// opens a new auction, and only if it finds no leader to follow and has an empty log; any
+// other node waits for a leader, however long that takes.
+//
+// When the leader goes away its followers look for another one, and if nobody answers the
+// eligible follower with the lowest id takes over after TAKEOVER_STAGGER_MS per id: it
+// bumps the term, serves its log on its own port and carries on the countdown. The
+// stagger gives lower ids the first go, so two followers that lost the same leader do
+// not both lead. It is not a consensus protocol, a leader cut off from its followers
+// without dying would go on accepting bids, which is why this stays on one machine.
+//
+// Usage: ReplicatedAuctionNode [--new] <node id> <port,port,...> [bids per second] [followers required]
+// A leader bids for random teams at the given rate, 0 leaves bidding to others.
+public class ReplicatedAuctionNode {
+    public static final long TAKEOVER_STAGGER_MS = 300;
+
+    private final int id;
+    private final int[] ports;
+    private final int minReplicas;
+    private final ReplicationLog log = new ReplicationLog();
+    private final ScheduledExecutorService timers = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "auction-timers");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private AuctionRoom room;
+    private ReplicationLeader leader;
+
+    public ReplicatedAuctionNode(int id, int[] ports, int minReplicas) {
+        this.id = id;
+        this.ports = ports;
+        this.minReplicas = minReplicas;
+    }
+
+    // Opens a new auction with this node as the leader
+    public ReplicationLeader lead(List<PlayerInfo> roster) throws IOException {
+        lead(new AuctionEngine(AuctionEngine.IPL_TEAMS, roster), 1);
+        room.start();
+        return leader;
+    }
+
+    // Follows whichever node leads and returns once this node has taken over. Given a roster,
+    // the node opens a new auction if nobody answers and it has no log; without one a node
+    // with an empty log never leads, so a node restarted during a takeover cannot start an
+    // auction of its own and replace the one its followers hold.
+    public ReplicationLeader run(List<PlayerInfo> newAuction) throws IOException, InterruptedException {
+        ReplicationFollower follower = new ReplicationFollower(id, log, null);
+        while (true) {
+            if (follow(follower)) {
+                continue; // Followed until the leader was lost, look for the next one straight away
+            }
+            if (newAuction != null && log.lastIndex() < 0) {
+                return lead(newAuction);
+            }
+            Thread.sleep(TAKEOVER_STAGGER_MS * (id + 1));
+            if (follow(follower)) {
+                continue;
+            }
+            if (follower.isEligible()) {
+                lead(follower.settleLot(), log.lastTerm() + 1);
+                room.resume();
+                return leader;
+            }
+        }
+    }
+
+    // Follows the first node that answers until it is lost, false if nobody answered
+    private boolean follow(ReplicationFollower follower) {
+        for (int node = 0; node < ports.length; node++) {
+            if (node == id) {
+                continue;
+            }
+            try {
+                follower.follow(new InetSocketAddress("localhost", ports[node]));
+                System.out.printf("Node %d: lost leader %d at index %,d%n", id, node, follower.getApplied());
+                return true;
+            } catch (ConnectException | SocketTimeoutException e) {
+                // Not leading
+            } catch (IOException e) {
+                System.err.println("Node " + id + ": " + e);
+            }
+        }
+        return false;
+    }
+
+    private void lead(AuctionEngine engine, long term) throws IOException {
+        room = new AuctionRoom(id, engine, timers);
+        leader = ReplicationLeader.start(room, log, term, ports[id], minReplicas);
+        System.out.printf("Node %d: leading term %d from index %,d on port %d%n", id, term, log.lastIndex(),
+            ports[id]);
+    }
+
+    public AuctionRoom getRoom() {
+        return room;
+    }
+
+    // Stops leading at once, as if the process had died
+    public void crash() {
+        if (leader != null) {
+            leader.close();
+            room.close();
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        boolean newAuction = args.length > 0 && args[0].equals("--new");
+        if (newAuction) {
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
+        if (args.length < 2) {
+            System.err.println("Usage: ReplicatedAuctionNode [--new] <node id> <port,port,...> [bids per second] "
+                + "[followers required]");
+            System.exit(1);
+        }
+        int id = Integer.parseInt(args[0]);
+        int[] ports = Arrays.stream(args[1].split(",")).mapToInt(Integer::parseInt).toArray();
+        int rate = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int minReplicas = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+
+        ReplicatedAuctionNode node = new ReplicatedAuctionNode(id, ports, minReplicas);
+        ReplicationLeader leader = node.run(newAuction ? AuctionEngine.sampleRoster() : null);
+        LatencyHistogram latency = new LatencyHistogram();
+        if (rate > 0) {
+            Thread.ofVirtual().name("bidder").start(() -> bid(leader, rate, latency));
+        }
+        while (true) {
+            Thread.sleep(1000);
+            System.out.printf("Node %d: term %d, index %,d, committed %,d, %d in sync, %,d bids, commit p50 %.2f ms, "
+                    + "p99 %.2f ms%n", id, leader.getTerm(), leader.getLog().lastIndex(), leader.getCommitIndex(),
+                leader.getInSyncCount(), latency.getCount(), latency.getPercentile(0.5) / 1e6,
+                latency.getPercentile(0.99) / 1e6);
+            latency.reset();
+        }
+    }
+
+    // Bids for a random team at a steady rate, timing each accepted bid until it is committed
+    private static void bid(ReplicationLeader leader, int rate, LatencyHistogram latency) {
+        SplittableRandom rand = new SplittableRandom();
+        long interval = 1_000_000_000L / rate;
+        long next = System.nanoTime();
+        while (true) {
+            next += interval;
+            LockSupport.parkNanos(next - System.nanoTime());
+            long start = System.nanoTime();
+            leader.placeBid(rand.nextInt(AuctionEngine.IPL_TEAMS.length)).whenComplete((result, error) -> {
+                if (result == AuctionEngine.BidResult.ACCEPTED) {
+                    latency.record(System.nanoTime() - start);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package resources.logos.src.main.java;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+// Keeps a copy of a ReplicationLeader's auction: applies the entries it streams to a local
+// engine with the journal's replay methods, keeps them in a ReplicationLog and acknowledges
+// what it has applied. Acks are batched, one for whatever arrived in the same read.
+//
+// A follower may take over once the leader has counted it in sync and it has applied
+// everything the leader had committed by then; from there on no bid completes without
+// it, so its engine holds every accepted bid (see isEligible). Not thread-safe, the
+// engine and log belong to the thread calling follow until it returns.
+public class ReplicationFollower {
+    // A leader that sends nothing, not even a heartbeat, for this long is considered gone
+    public static final int LEADER_TIMEOUT_MS = (int) ReplicationLeader.REPLICA_TIMEOUT_MS;
+
+    private static final int CONNECT_TIMEOUT_MS = 200;
+
+    private final int node;
+    private final ReplicationLog log;
+    private AuctionEngine engine;
+    private long applied;
+    private long syncedCommit = -1; // The leader's commit index when it counted us in sync
+    private boolean inSync;
+    private boolean lotDecided; // The current lot was sold or went unsold, the next one has not started
+    private long leaderCommit = -1;
+    private volatile Socket socket;
+
+    // The log and engine of an earlier leader or follower, or an empty log and no engine
+    public ReplicationFollower(int node, ReplicationLog log, AuctionEngine engine) {
+        this.node = node;
+        this.log = log;
+        this.engine = engine;
+        this.applied = log.lastIndex();
+    }
+
+    // Follows the leader until the connection fails or the leader goes quiet. Throws if the
+    // leader cannot be reached at all.
+    public void follow(InetSocketAddress leader) throws IOException {
+        Socket connection = new Socket();
+        connection.connect(leader, CONNECT_TIMEOUT_MS);
+        connection.setTcpNoDelay(true);
+        connection.setSoTimeout(LEADER_TIMEOUT_MS);
+        socket = connection;
+        inSync = false;
+        try (connection) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream(), 64 * 1024));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+            ReplicationProtocol.writeHello(out, node, log.lastTerm(), log.lastIndex());
+            out.flush();
+            long ackedIndex = applied;
+            while (true) {
+                byte type = in.readByte();
+                switch (type) {
+                    case ReplicationProtocol.STATE -> applyState(ReplicationProtocol.readState(in));
+                    case ReplicationProtocol.ENTRY -> applyEntry(in.readLong(), in.readLong(), in.readByte(),
+                        in.readInt(), in.readByte(), in.readInt());
+                    case ReplicationProtocol.HEARTBEAT -> leaderCommit = in.readLong();
+                    case ReplicationProtocol.IN_SYNC -> {
+                        syncedCommit = in.readLong();
+                        leaderCommit = Math.max(leaderCommit, syncedCommit);
+                        inSync = true;
+                    }
+                    default -> throw new IOException("Unknown replication frame " + type);
+                }
+                if (in.available() == 0 && applied != ackedIndex) {
+                    ReplicationProtocol.writeAck(out, applied);
+                    out.flush();
+                    ackedIndex = applied;
+                }
+            }
+        } catch (IOException e) {
+            // The leader is gone, sent something we cannot follow or close was called
+        } finally {
+            socket = null;
+        }
+    }
+
+    private void applyState(ReplicationProtocol.State state) throws IOException {
+        AuctionState snapshot = SnapshotCodec.decode(state.snapshot());
+        engine = new AuctionEngine(state.teams(), snapshot.players);
+        engine.restore(snapshot, false);
+        log.resetTo(state);
+        applied = state.index();
+        lotDecided = false; // Snapshots are taken with a lot open
+    }
+
+    private void applyEntry(long term, long index, byte kind, int player, int team, int amount) throws IOException {
+        if (index != applied + 1 || engine == null) {
+            throw new IOException("Replication entry " + index + " does not follow " + applied);
+        }
+        switch (kind) {
+            case ReplicationLog.LOT_STARTED -> {
+                engine.replayLotStarted(player);
+                lotDecided = false;
+            }
+            case ReplicationLog.BID -> engine.replayBid(team, amount);
+            case ReplicationLog.TICK -> engine.replayTick(amount);
+            case ReplicationLog.SOLD -> {
+                engine.replaySale(player, engine.getTeams()[team], amount);
+                lotDecided = true;
+            }
+            case ReplicationLog.UNSOLD -> lotDecided = true; // Nothing else changes until the next lot starts
+            default -> throw new IOException("Unknown replication entry kind " + kind);
+        }
+        log.append(term, kind, player, team, amount);
+        applied = index;
+    }
+
+    // Whether this follower holds every bid the last leader accepted, and may take over
+    public boolean isEligible() {
+        return inSync && applied >= syncedCommit;
+    }
+
+    // Finishes what the old leader may have been cut off in the middle of: a lot whose
+    // countdown ran out without a decision is decided, and a decided lot is followed by the
+    // next one. Either way the engine is left with a lot its countdown can close.
+    public AuctionEngine settleLot() {
+        if (lotDecided) {
+            engine.nextPlayer();
+        } else if (engine.getTimeLeft() <= 0) {
+            engine.handleBidEnd();
+        }
+        lotDecided = false;
+        return engine;
+    }
+
+    public AuctionEngine getEngine() {
+        return engine;
+    }
+
+    public ReplicationLog getLog() {
+        return log;
+    }
+
+    public long getApplied() {
+        return applied;
+    }
+
+    // The leader's commit index as last heard
+    public long getLeaderCommit() {
+        return leaderCommit;
+    }
+
+    // Drops the connection, follow returns
+    public void close() {
+        Socket connection = socket;
+        socket = null;
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package resources.logos.src.main.java;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+
+// Makes an AuctionRoom the leader of a replicated auction: every decision its engine takes
+// is appended to a ReplicationLog and streamed to the followers that connect to the port.
+// A follower joins the in-sync set once it has caught up, and a bid placed through the
+// leader only completes once every in-sync follower has acknowledged it (and at least
+// minReplicas of them are in sync), so a follower that takes over holds every accepted bid.
+//
+// A follower that falls more than REPLICA_TIMEOUT_MS behind on an acknowledgement is
+// disconnected rather than left to stall bidding; it catches up again when it reconnects.
+// Bids that could not be replicated in that time fail, although the engine has them.
+//
+// The leader is a listener on the room's engine, entries are appended on the room thread.
+public class ReplicationLeader implements AuctionListener, Closeable {
+    public static final long HEARTBEAT_MS = 100;
+    public static final long REPLICA_TIMEOUT_MS = 1000;
+    public static final int SNAPSHOT_INTERVAL = AuctionJournal.SNAPSHOT_INTERVAL;
+
+    private static final int MAX_BATCH = 256;
+
+    private final AuctionRoom room;
+    private final ReplicationLog log;
+    private final long term;
+    private final int minReplicas;
+    private final ServerSocket server;
+    private final List<Replica> replicas = new CopyOnWriteArrayList<>();
+    private Thread monitor; // Set by start
+    private int sinceState; // Room thread only
+    private final SnapshotCodec.Encoder encoder = new SnapshotCodec.Encoder(); // Room thread only
+
+    // Guarded by this
+    private final ArrayDeque<Pending> pending = new ArrayDeque<>();
+    private volatile long commitIndex = -1;
+    private volatile boolean closed;
+
+    private record Pending(long index, long startNanos, CompletableFuture<Void> future) {}
+
+    private ReplicationLeader(AuctionRoom room, ReplicationLog log, long term, int minReplicas, ServerSocket server) {
+        this.room = room;
+        this.log = log;
+        this.term = term;
+        this.minReplicas = minReplicas;
+        this.server = server;
+    }
+
+    // Appends a STATE entry for the engine as it is now, the room must not be running yet
+    // or must be idle. The log is empty for a new auction, or a former follower's log.
+    public static ReplicationLeader start(AuctionRoom room, ReplicationLog log, long term, int port, int minReplicas)
+            throws IOException {
+        ServerSocket server = new ServerSocket();
+        server.setReuseAddress(true);
+        server.bind(new InetSocketAddress("localhost", port));
+        ReplicationLeader leader = new ReplicationLeader(room, log, term, minReplicas, server);
+        room.query(engine -> {
+            leader.appendState(engine);
+            engine.addListener(leader);
+            return null;
+        }).join();
+        Thread.ofPlatform().daemon().name("replication-accept-" + port).start(leader::accept);
+        leader.monitor = Thread.ofPlatform().daemon().name("replication-monitor-" + port).start(leader::monitor);
+        return leader;
+    }
+
+    public long getTerm() {
+        return term;
+    }
+
+    public ReplicationLog getLog() {
+        return log;
+    }
+
+    public long getCommitIndex() {
+        return commitIndex;
+    }
+
+    public int getInSyncCount() {
+        int count = 0;
+        for (Replica replica : replicas) {
+            if (replica.inSync) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Completes once the bid is on every in-sync follower, rejected bids complete straight away
+    public CompletableFuture<AuctionEngine.BidResult> placeBid(int team) {
+        CompletableFuture<AuctionEngine.BidResult> result = new CompletableFuture<>();
+        room.execute(() -> {
+            AuctionEngine.BidResult bid = room.getEngine().placeBid(team);
+            if (bid != AuctionEngine.BidResult.ACCEPTED) {
+                result.complete(bid);
+                return;
+            }
+            whenCommitted(log.lastIndex()).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(bid);
+                }
+            });
+        });
+        return result;
+    }
+
+    // Completes once the entry at the index is committed
+    public synchronized CompletableFuture<Void> whenCommitted(long index) {
+        if (index <= commitIndex) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        pending.add(new Pending(index, System.nanoTime(), future));
+        return future;
+    }
+
+    @Override
+    public void lotStarted(PlayerInfo player) {
+        AuctionEngine engine = room.getEngine();
+        append(ReplicationLog.LOT_STARTED, engine.getCurrentPlayerIndex(), 0, 0);
+        // Snapshots go in between lots, like the journal's
+        if (sinceState >= SNAPSHOT_INTERVAL) {
+            appendState(engine);
+        }
+    }
+
+    @Override
+    public void bidPlaced(String team, int amount) {
+        AuctionEngine engine = room.getEngine();
+        append(ReplicationLog.BID, engine.getCurrentPlayerIndex(), engine.getHighestBidderId(), amount);
+    }
+
+    @Override
+    public void timerTicked(int timeLeft) {
+        append(ReplicationLog.TICK, 0, 0, timeLeft);
+    }
+
+    @Override
+    public void playerSold(PlayerInfo player, String team, int price) {
+        AuctionEngine engine = room.getEngine();
+        append(ReplicationLog.SOLD, engine.getCurrentPlayerIndex(), engine.teamId(team), price);
+    }
+
+    @Override
+    public void playerUnsold(PlayerInfo player) {
+        append(ReplicationLog.UNSOLD, room.getEngine().getCurrentPlayerIndex(), 0, 0);
+    }
+
+    @Override
+    public void stateRestored() {
+        appendState(room.getEngine());
+    }
+
+    private void append(byte kind, int player, int team, int amount) {
+        log.append(term, kind, player, team, amount);
+        sinceState++;
+        advanceCommit();
+    }
+
+    private void appendState(AuctionEngine engine) {
+        try {
+            log.appendState(term, engine.getTeams(), encoder.encodeToArray(engine.snapshot()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        sinceState = 0;
+        advanceCommit();
+    }
+
+    // The commit index is the lowest acknowledgement of the in-sync followers, once there
+    // are enough of them
+    private synchronized void advanceCommit() {
+        long commit = log.lastIndex();
+        int inSync = 0;
+        for (Replica replica : replicas) {
+            if (replica.inSync) {
+                inSync++;
+                commit = Math.min(commit, replica.acked);
+            }
+        }
+        if (inSync < minReplicas || commit <= commitIndex) {
+            return;
+        }
+        commitIndex = commit;
+        while (!pending.isEmpty() && pending.peek().index() <= commit) {
+            pending.poll().future().complete(null);
+        }
+    }
+
+    // True if the follower has just joined the in-sync set and must be told so. The caller
+    // sends that outside this lock, the write can block while the follower's thread writes.
+    private synchronized boolean acknowledged(Replica replica, long index) {
+        replica.acked = index;
+        boolean joined = false;
+        if (!replica.inSync && index >= log.lastIndex()) {
+            // From here every commit waits for this follower
+            replica.inSync = true;
+            joined = true;
+        }
+        advanceCommit();
+        return joined;
+    }
+
+    private void disconnected(Replica replica) {
+        if (replicas.remove(replica)) {
+            System.err.println("Replication: follower " + replica.node + " disconnected");
+        }
+        replica.close();
+        advanceCommit();
+    }
+
+    private void accept() {
+        while (!closed) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                Replica replica = new Replica(socket);
+                Thread.ofPlatform().daemon().name("replication-follower").start(replica::run);
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("Replication: " + e);
+                }
+            }
+        }
+    }
+
+    // Disconnects followers that hold up commits, fails bids no follower set could take
+    private void monitor() {
+        while (!closed) {
+            try {
+                Thread.sleep(HEARTBEAT_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long now = System.nanoTime();
+            long timeout = REPLICA_TIMEOUT_MS * 1_000_000;
+            Pending oldest;
+            synchronized (this) {
+                oldest = pending.peek();
+            }
+            if (oldest == null || now - oldest.startNanos() < timeout) {
+                continue;
+            }
+            for (Replica replica : replicas) {
+                if (replica.inSync && replica.acked < oldest.index()) {
+                    System.err.println("Replication: follower " + replica.node + " timed out");
+                    disconnected(replica);
+                }
+            }
+            synchronized (this) {
+                while (!pending.isEmpty() && now - pending.peek().startNanos() >= timeout
+                        && getInSyncCount() < minReplicas) {
+                    pending.poll().future().completeExceptionally(new TimeoutException(
+                        "Fewer than " + minReplicas + " followers in sync"));
+                }
+            }
+        }
+    }
+
+    // Stops serving followers; bids still pending fail. The room is left to the caller.
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            server.close();
+        } catch (IOException e) {
+            // Nothing to do
+        }
+        for (Replica replica : replicas) {
+            replica.close();
+        }
+        monitor.interrupt();
+        synchronized (this) {
+            while (!pending.isEmpty()) {
+                pending.poll().future().completeExceptionally(new SocketException("Replication leader closed"));
+            }
+        }
+    }
+
+    // One follower's connection: the thread that accepted it sends entries, a second one
+    // reads acknowledgements
+    private final class Replica {
+        private final Socket socket;
+        private final DataOutputStream out;
+        private volatile int node = -1;
+        private volatile boolean inSync;
+        private volatile long acked = -1;
+
+        Replica(Socket socket) throws IOException {
+            this.socket = socket;
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+        }
+
+        void run() {
+            try {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                if (in.readByte() != ReplicationProtocol.HELLO) {
+                    throw new IOException("Expected HELLO");
+                }
+                node = in.readInt();
+                long lastTerm = in.readLong();
+                long lastIndex = in.readLong();
+                // Entries only follow on from a log that matches ours, anything else starts
+                // again from the latest snapshot
+                long next = lastTerm >= 0 && log.termAt(lastIndex) == lastTerm ? lastIndex + 1 : 0;
+                replicas.add(this);
+                if (closed) {
+                    close();
+                    return;
+                }
+                Thread.ofPlatform().daemon().name("replication-acks-" + node).start(() -> readAcks(in));
+                long heartbeat = System.nanoTime();
+                while (!closed) {
+                    long sent;
+                    synchronized (this) {
+                        sent = log.write(next, MAX_BATCH, out);
+                        if (sent == next && System.nanoTime() - heartbeat >= HEARTBEAT_MS * 1_000_000) {
+                            ReplicationProtocol.writeCommit(out, ReplicationProtocol.HEARTBEAT, commitIndex);
+                            heartbeat = System.nanoTime();
+                        }
+                        out.flush();
+                    }
+                    if (sent == next) {
+                        log.awaitAfter(next - 1, HEARTBEAT_MS);
+                    } else {
+                        heartbeat = System.nanoTime();
+                    }
+                    next = sent;
+                }
+            } catch (IOException | InterruptedException e) {
+                // Disconnected, or closed while waiting
+            } finally {
+                disconnected(this);
+            }
+        }
+
+        private void readAcks(DataInputStream in) {
+            try {
+                while (!closed) {
+                    if (in.readByte() != ReplicationProtocol.ACK) {
+                        throw new IOException("Expected ACK");
+                    }
+                    if (acknowledged(this, in.readLong())) {
+                        // It may take over once it has applied what was committed without it,
+                        // a later commit index only makes it apply more first
+                        send(ReplicationProtocol.IN_SYNC, commitIndex);
+                    }
+                }
+            } catch (IOException e) {
+                // Disconnected
+            } finally {
+                disconnected(this);
+            }
+        }
+
+        synchronized void send(byte type, long commit) {
+            try {
+                ReplicationProtocol.writeCommit(out, type, commit);
+                out.flush();
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package resources.logos.src.main.java;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+// The ordered log a ReplicationLeader streams to its followers, and that a follower keeps
+// so it can serve it in turn once it takes over. Indexes are dense and every entry carries
+// the term of the leader that appended it; a follower whose last entry has the same index
+// and term as the leader's log holds the same entries up to there, so only what follows is
+// sent. Otherwise it is sent the latest STATE entry, a full snapshot, and what follows that.
+//
+// A STATE entry discards everything before it, so memory and catch-up are bounded by the
+// leader's snapshot interval. Entries live in parallel arrays rather than objects, the log
+// takes an append per bid. Thread-safe, readers wait on the log for new entries.
+public class ReplicationLog {
+    static final byte STATE = 0;
+    static final byte LOT_STARTED = AuctionJournal.LOT_STARTED;
+    static final byte BID = AuctionJournal.BID;
+    static final byte SOLD = AuctionJournal.SOLD;
+    static final byte UNSOLD = AuctionJournal.UNSOLD;
+    static final byte TICK = AuctionRecorder.TICK;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Entry i of the arrays has index firstIndex + i, entry 0 is always a STATE
+    private long firstIndex = 0;
+    private int size = 0;
+    private long[] terms = new long[INITIAL_CAPACITY];
+    private byte[] kinds = new byte[INITIAL_CAPACITY];
+    private int[] players = new int[INITIAL_CAPACITY];
+    private byte[] teams = new byte[INITIAL_CAPACITY];
+    private int[] amounts = new int[INITIAL_CAPACITY];
+    private ReplicationProtocol.State state;
+
+    // Index of the new entry
+    public synchronized long append(long term, byte kind, int player, int team, int amount) {
+        if (state == null) {
+            throw new IllegalStateException("The log must start with a STATE entry");
+        }
+        if (size == terms.length) {
+            int capacity = size * 2;
+            terms = Arrays.copyOf(terms, capacity);
+            kinds = Arrays.copyOf(kinds, capacity);
+            players = Arrays.copyOf(players, capacity);
+            teams = Arrays.copyOf(teams, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+        }
+        terms[size] = term;
+        kinds[size] = kind;
+        players[size] = player;
+        teams[size] = (byte) team;
+        amounts[size] = amount;
+        size++;
+        notifyAll();
+        return firstIndex + size - 1;
+    }
+
+    public synchronized long appendState(long term, String[] teamNames, byte[] snapshot) {
+        return resetTo(new ReplicationProtocol.State(term, lastIndex() + 1, teamNames, snapshot));
+    }
+
+    // Restarts the log at a STATE entry, which may come from a leader whose log has diverged
+    public synchronized long resetTo(ReplicationProtocol.State state) {
+        this.state = state;
+        firstIndex = state.index();
+        size = 0;
+        append(state.term(), STATE, 0, 0, 0);
+        return state.index();
+    }
+
+    // Index of the last entry, -1 while the log is empty
+    public synchronized long lastIndex() {
+        return firstIndex + size - 1;
+    }
+
+    public synchronized long lastTerm() {
+        return size > 0 ? terms[size - 1] : -1;
+    }
+
+    // Term of the entry at the index, -1 if the log no longer or not yet holds it
+    public synchronized long termAt(long index) {
+        return index >= firstIndex && index < firstIndex + size ? terms[(int) (index - firstIndex)] : -1;
+    }
+
+    public synchronized long stateIndex() {
+        return firstIndex;
+    }
+
+    public synchronized ReplicationProtocol.State getState() {
+        return state;
+    }
+
+    // Waits up to the timeout for an entry after the index
+    public synchronized void awaitAfter(long index, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        long remaining = timeoutMillis;
+        while (lastIndex() <= index && remaining > 0) {
+            wait(remaining);
+            remaining = deadline - System.currentTimeMillis();
+        }
+    }
+
+    // Writes up to max entries starting at the index, or the latest STATE entry if the log
+    // no longer holds the index. Returns the index to send next.
+    public long write(long index, int max, DataOutputStream out) throws IOException {
+        ReplicationProtocol.State snapshot = null;
+        int count;
+        long[] entryTerms;
+        byte[] entryKinds;
+        int[] entryPlayers;
+        byte[] entryTeams;
+        int[] entryAmounts;
+        synchronized (this) {
+            if (index <= firstIndex) {
+                snapshot = state;
+                index = firstIndex + 1;
+            }
+            int from = (int) (index - firstIndex);
+            count = Math.max(0, Math.min(max, size - from));
+            // Copied so the socket is written outside the lock
+            entryTerms = Arrays.copyOfRange(terms, from, from + count);
+            entryKinds = Arrays.copyOfRange(kinds, from, from + count);
+            entryPlayers = Arrays.copyOfRange(players, from, from + count);
+            entryTeams = Arrays.copyOfRange(teams, from, from + count);
+            entryAmounts = Arrays.copyOfRange(amounts, from, from + count);
+        }
+        if (snapshot != null) {
+            ReplicationProtocol.writeState(out, snapshot.term(), snapshot.index(), snapshot.teams(), snapshot.snapshot());
+        }
+        for (int i = 0; i < count; i++) {
+            ReplicationProtocol.writeEntry(out, entryTerms[i], index + i, entryKinds[i], entryPlayers[i],
+                entryTeams[i], entryAmounts[i]);
+        }
+        return index + count;
+    }
+}
@@ -0,0 +1,89 @@
+package resources.logos.src.main.java;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+// Wire format between ReplicationLeader and ReplicationFollower, over one TCP connection per
+// follower. Frames are big-endian and start with a type byte.
+//
+// Follower to leader:
+//   HELLO     [type][node:4][term:8][last index:8]   term and index of the follower's last entry, -1 if none
+//   ACK       [type][index:8]                        every entry up to the index is applied
+// Leader to follower:
+//   STATE     [type][term:8][index:8][team count:2]([length:2][UTF-8 name])*[length:4][SnapshotCodec bytes]
+//   ENTRY     [type][term:8][index:8][kind:1][player:4][team:1][amount:4]
+//   HEARTBEAT [type][commit index:8]                 sent when there is nothing else to send
+//   IN_SYNC   [type][commit index:8]                 the leader now waits for this follower's acks
+public final class ReplicationProtocol {
+    public static final byte HELLO = 1;
+    public static final byte ACK = 2;
+    public static final byte STATE = (byte) 0x81;
+    public static final byte ENTRY = (byte) 0x82;
+    public static final byte HEARTBEAT = (byte) 0x83;
+    public static final byte IN_SYNC = (byte) 0x84;
+
+    private ReplicationProtocol() {
+    }
+
+    // A STATE frame's contents
+    public record State(long term, long index, String[] teams, byte[] snapshot) {}
+
+    public static void writeHello(DataOutputStream out, int node, long term, long lastIndex) throws IOException {
+        out.writeByte(HELLO);
+        out.writeInt(node);
+        out.writeLong(term);
+        out.writeLong(lastIndex);
+    }
+
+    public static void writeAck(DataOutputStream out, long index) throws IOException {
+        out.writeByte(ACK);
+        out.writeLong(index);
+    }
+
+    public static void writeState(DataOutputStream out, long term, long index, String[] teams, byte[] snapshot)
+            throws IOException {
+        out.writeByte(STATE);
+        out.writeLong(term);
+        out.writeLong(index);
+        out.writeShort(teams.length);
+        for (String team : teams) {
+            byte[] name = team.getBytes(StandardCharsets.UTF_8);
+            out.writeShort(name.length);
+            out.write(name);
+        }
+        out.writeInt(snapshot.length);
+        out.write(snapshot);
+    }
+
+    public static void writeEntry(DataOutputStream out, long term, long index, byte kind, int player, int team,
+                                  int amount) throws IOException {
+        out.writeByte(ENTRY);
+        out.writeLong(term);
+        out.writeLong(index);
+        out.writeByte(kind);
+        out.writeInt(player);
+        out.writeByte(team);
+        out.writeInt(amount);
+    }
+
+    public static void writeCommit(DataOutputStream out, byte type, long commitIndex) throws IOException {
+        out.writeByte(type);
+        out.writeLong(commitIndex);
+    }
+
+    // Reads the rest of a STATE frame, after its type byte
+    public static State readState(DataInputStream in) throws IOException {
+        long term = in.readLong();
+        long index = in.readLong();
+        String[] teams = new String[in.readUnsignedShort()];
+        for (int t = 0; t < teams.length; t++) {
+            byte[] name = new byte[in.readUnsignedShort()];
+            in.readFully(name);
+            teams[t] = new String(name, StandardCharsets.UTF_8);
+        }
+        byte[] snapshot = new byte[in.readInt()];
+        in.readFully(snapshot);
+        return new State(term, index, teams, snapshot);
+    }
+}
@@ -0,0 +1,53 @@
+package resources.logos.src.main.java;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+// Builds towards a target squad composition. For a role the squad is short of, it bids up
+// to the base price plus a premium for each missing player; once a role is filled it only
+// bids at the base price.
+public class RoleNeedStrategy implements BidderStrategy {
+    public static final Map<String, Integer> DEFAULT_TARGETS =
+        Map.of("Batsman", 7, "Bowler", 7, "All-Rounder", 5, "Wicketkeeper", 2);
+
+    private final String[] roles;
+    private final int[] targets;
+    private final double premiumPerNeed;
+
+    public RoleNeedStrategy() {
+        this(DEFAULT_TARGETS, 0.75);
+    }
+
+    public RoleNeedStrategy(Map<String, Integer> targets, double premiumPerNeed) {
+        this.roles = targets.keySet().toArray(new String[0]);
+        this.targets = new int[roles.length];
+        for (int r = 0; r < roles.length; r++) {
+            this.targets[r] = targets.get(roles[r]);
+        }
+        this.premiumPerNeed = premiumPerNeed;
+    }
+
+    @Override
+    public boolean wantsToBid(AuctionEngine auction, int team, int amount, RandomGenerator rand) {
+        PlayerInfo player = auction.getCurrentPlayer();
+        int need = 0;
+        for (int r = 0; r < roles.length; r++) {
+            if (roles[r].equals(player.role)) {
+                need = targets[r] - countRole(auction.getTeamPlayers(team), player.role);
+                break;
+            }
+        }
+        return amount <= player.basePrice * (1 + premiumPerNeed * Math.max(need, 0));
+    }
+
+    // Squads hold at most MAX_PLAYERS_PER_TEAM players, so a scan is cheap enough
+    private static int countRole(List<PlayerInfo> squad, String role) {
+        int count = 0;
+        for (int i = 0; i < squad.size(); i++) {
+            if (squad.get(i).role.equals(role)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
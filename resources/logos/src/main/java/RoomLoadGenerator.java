@@ -0,0 +1,68 @@
+package resources.logos.src.main.java;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Drives many AuctionRoomServer rooms at once and reports bid-acceptance latency: the time
+// from submitting a bid until the room thread has ruled on it. Every room gets a virtual
+// client thread that bids for a random team at random intervals.
+// Usage: RoomLoadGenerator [rooms] [seconds] [mean ms between bids per room]
+public class RoomLoadGenerator {
+    public static void main(String[] args) throws InterruptedException {
+        int roomCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int meanInterval = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        String[] teams = AuctionEngine.IPL_TEAMS;
+
+        LatencyHistogram latency = new LatencyHistogram();
+        AtomicLongArray results = new AtomicLongArray(AuctionEngine.BidResult.values().length);
+        long warmUpEnd = System.nanoTime() + 5_000_000_000L;
+        long deadline = warmUpEnd + seconds * 1_000_000_000L;
+
+        try (AuctionRoomServer server = new AuctionRoomServer()) {
+            Thread[] clients = new Thread[roomCount];
+            for (int r = 0; r < roomCount; r++) {
+                AuctionRoom room = server.createRoom(teams, AuctionEngine::sampleRoster);
+                room.start();
+                SplittableRandom rand = new SplittableRandom(r);
+                clients[r] = Thread.ofVirtual().start(() -> runClient(room, teams.length, meanInterval, rand,
+                    warmUpEnd, deadline, latency, results));
+            }
+            System.out.printf("%,d rooms started, warming up for 5 s then measuring for %d s%n", roomCount, seconds);
+            for (Thread client : clients) {
+                client.join();
+            }
+
+            long bids = latency.getCount();
+            System.out.printf("%,d bids, %,.0f bids/s%n", bids, bids / (double) seconds);
+            for (AuctionEngine.BidResult result : AuctionEngine.BidResult.values()) {
+                System.out.printf("  %-20s %6.2f%%%n", result, 100.0 * results.get(result.ordinal()) / Math.max(bids, 1));
+            }
+            System.out.printf("Acceptance latency: p50 %.1f us, p99 %.1f us, p99.9 %.1f us, max %.1f us%n",
+                latency.getPercentile(0.5) / 1000.0, latency.getPercentile(0.99) / 1000.0,
+                latency.getPercentile(0.999) / 1000.0, latency.getMax() / 1000.0);
+            Runtime runtime = Runtime.getRuntime();
+            System.out.printf("Heap in use %,d MB%n", (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+        }
+    }
+
+    private static void runClient(AuctionRoom room, int teamCount, int meanInterval, SplittableRandom rand,
+                                  long warmUpEnd, long deadline, LatencyHistogram latency, AtomicLongArray results) {
+        try {
+            // Stagger the first bid so rooms do not all fire together
+            Thread.sleep(rand.nextInt(meanInterval) + 1);
+            while (System.nanoTime() < deadline) {
+                int team = rand.nextInt(teamCount);
+                long start = System.nanoTime();
+                AuctionEngine.BidResult result = room.placeBid(team).join();
+                if (start >= warmUpEnd) {
+                    latency.record(System.nanoTime() - start);
+                    results.incrementAndGet(result.ordinal());
+                }
+                Thread.sleep((long) (-Math.log(1 - rand.nextDouble()) * meanInterval) + 1);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
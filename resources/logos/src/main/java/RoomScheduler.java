@@ -0,0 +1,35 @@
+package resources.logos.src.main.java;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Real-time scheduler for server rooms: one shared timer thread keeps the clock for every
+// room, and each due task is handed to its room's executor so it runs on the room thread
+public class RoomScheduler implements AuctionScheduler {
+    private final ScheduledExecutorService timers;
+    private final Executor room;
+
+    public RoomScheduler(ScheduledExecutorService timers, Executor room) {
+        this.timers = timers;
+        this.room = room;
+    }
+
+    @Override
+    public long now() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public Cancellable schedule(long delayMillis, Runnable task) {
+        ScheduledFuture<?> future = timers.schedule(() -> room.execute(task), delayMillis, TimeUnit.MILLISECONDS);
+        return () -> future.cancel(false);
+    }
+
+    @Override
+    public Cancellable scheduleAtFixedRate(long periodMillis, Runnable task) {
+        ScheduledFuture<?> future = timers.scheduleAtFixedRate(() -> room.execute(task),
+            periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        return () -> future.cancel(false);
+    }
+}
@@ -0,0 +1,258 @@
+package resources.logos.src.main.java;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Consumer;
+
+// Streams player rosters from CSV or from the pre-indexed binary form (see BinaryRoster).
+//
+// CSV rows are "name,role,basePrice,nationality" with an optional header row and
+// double-quoted fields for names containing commas. The file is read through a
+// FileChannel in fixed-size chunks and parsed at byte level, so only the player name
+// becomes a new String; roles and nationalities are interned. Invalid rows are skipped
+// and reported to the error handler with their line number.
+public class RosterLoader {
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int FIELDS = 4;
+
+    private RosterLoader() {
+    }
+
+    // Lazily parses the CSV file, players are read only as the iterator advances
+    public static CsvReader streamCsv(Path path, Consumer<String> onInvalidRow) throws IOException {
+        return new CsvReader(FileChannel.open(path, StandardOpenOption.READ), onInvalidRow);
+    }
+
+    // Reads a whole roster file, choosing the format from the extension
+    public static List<PlayerInfo> load(Path path, Consumer<String> onInvalidRow) throws IOException {
+        if (path.toString().endsWith(BinaryRoster.EXTENSION)) {
+            return BinaryRoster.open(path).asList();
+        }
+        List<PlayerInfo> players = new ArrayList<>();
+        try (CsvReader reader = streamCsv(path, onInvalidRow)) {
+            reader.forEachRemaining(players::add);
+        }
+        return players;
+    }
+
+    // Converts a CSV roster to the binary form so later startups can map it directly
+    public static int convertToBinary(Path csv, Path binary, Consumer<String> onInvalidRow) throws IOException {
+        try (CsvReader reader = streamCsv(csv, onInvalidRow)) {
+            return BinaryRoster.write(reader, binary);
+        }
+    }
+
+    public static class CsvReader implements Iterator<PlayerInfo>, Closeable {
+        private final FileChannel channel;
+        private final Consumer<String> onInvalidRow;
+        private final ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+        private final Interner interner = new Interner();
+
+        // Reused field buffers for the row being parsed
+        private final byte[][] fields = new byte[FIELDS][64];
+        private final int[] lengths = new int[FIELDS];
+
+        private int line = 0;
+        private boolean endOfFile = false;
+        private PlayerInfo next;
+
+        CsvReader(FileChannel channel, Consumer<String> onInvalidRow) {
+            this.channel = channel;
+            this.onInvalidRow = onInvalidRow;
+            chunk.flip();
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next == null && !endOfFile) {
+                    next = readRow();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error reading roster at line " + line, e);
+            }
+            if (next == null) {
+                closeQuietly();
+            }
+            return next != null;
+        }
+
+        @Override
+        public PlayerInfo next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            PlayerInfo player = next;
+            next = null;
+            return player;
+        }
+
+        // Parses one line, returns null for blank, header and invalid lines
+        private PlayerInfo readRow() throws IOException {
+            Arrays.fill(lengths, 0);
+            int field = 0;
+            int extraFields = 0;
+            boolean inQuotes = false;
+            boolean any = false;
+            line++;
+
+            while (true) {
+                int b = nextByte();
+                if (b < 0) {
+                    endOfFile = true;
+                    break;
+                }
+                any = true;
+                if (inQuotes) {
+                    if (b == '"') {
+                        int peek = peekByte();
+                        if (peek == '"') {
+                            nextByte();
+                            append(field, b);
+                        } else {
+                            inQuotes = false;
+                        }
+                    } else {
+                        append(field, b);
+                    }
+                } else if (b == '"') {
+                    inQuotes = true;
+                } else if (b == ',') {
+                    if (field < FIELDS - 1) {
+                        field++;
+                    } else {
+                        extraFields++;
+                    }
+                } else if (b == '\n') {
+                    break;
+                } else if (b != '\r' && field < FIELDS && extraFields == 0) {
+                    append(field, b);
+                }
+            }
+
+            if (!any || (field == 0 && lengths[0] == 0)) {
+                return null; // blank line
+            }
+            if (line == 1 && equalsIgnoreCase(0, "name")) {
+                return null; // header row
+            }
+            if (field != FIELDS - 1 || extraFields > 0) {
+                invalid("expected " + FIELDS + " fields");
+                return null;
+            }
+            int basePrice = parsePrice();
+            if (lengths[0] == 0 || lengths[1] == 0 || lengths[3] == 0) {
+                invalid("empty name, role or nationality");
+                return null;
+            }
+            if (basePrice <= 0) {
+                invalid("base price must be a positive whole number");
+                return null;
+            }
+
+            String name = new String(fields[0], 0, trimmedEnd(0), StandardCharsets.UTF_8).trim();
+            return new PlayerInfo(name, interner.get(fields[1], trimmedEnd(1)), basePrice,
+                interner.get(fields[3], trimmedEnd(3)));
+        }
+
+        private void append(int field, int b) {
+            if (lengths[field] == fields[field].length) {
+                fields[field] = Arrays.copyOf(fields[field], fields[field].length * 2);
+            }
+            fields[field][lengths[field]++] = (byte) b;
+        }
+
+        private int trimmedEnd(int field) {
+            int end = lengths[field];
+            while (end > 0 && fields[field][end - 1] == ' ') {
+                end--;
+            }
+            return end;
+        }
+
+        private int parsePrice() {
+            byte[] digits = fields[2];
+            long value = 0;
+            int count = 0;
+            for (int i = 0; i < lengths[2]; i++) {
+                byte d = digits[i];
+                if (d == ' ') {
+                    continue;
+                }
+                if (d < '0' || d > '9' || ++count > 9) {
+                    return -1;
+                }
+                value = value * 10 + (d - '0');
+            }
+            return count == 0 ? -1 : (int) value;
+        }
+
+        private boolean equalsIgnoreCase(int field, String text) {
+            String value = new String(fields[field], 0, lengths[field], StandardCharsets.UTF_8).trim();
+            return value.equalsIgnoreCase(text);
+        }
+
+        private void invalid(String reason) {
+            if (onInvalidRow != null) {
+                onInvalidRow.accept("Roster line " + line + ": " + reason);
+            }
+        }
+
+        private int nextByte() throws IOException {
+            if (!chunk.hasRemaining() && !fill()) {
+                return -1;
+            }
+            return chunk.get() & 0xFF;
+        }
+
+        private int peekByte() throws IOException {
+            if (!chunk.hasRemaining() && !fill()) {
+                return -1;
+            }
+            return chunk.get(chunk.position()) & 0xFF;
+        }
+
+        private boolean fill() throws IOException {
+            chunk.clear();
+            int read = channel.read(chunk);
+            chunk.flip();
+            return read > 0;
+        }
+
+        private void closeQuietly() {
+            try {
+                close();
+            } catch (IOException e) {
+                // Nothing left to read
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    // Maps the raw bytes of a role or nationality to one shared String
+    static final class Interner {
+        private final List<byte[]> keys = new ArrayList<>();
+        private final List<String> values = new ArrayList<>();
+
+        String get(byte[] bytes, int length) {
+            for (int i = 0; i < keys.size(); i++) {
+                byte[] key = keys.get(i);
+                if (key.length == length && Arrays.equals(key, 0, length, bytes, 0, length)) {
+                    return values.get(i);
+                }
+            }
+            String value = new String(bytes, 0, length, StandardCharsets.UTF_8).trim().intern();
+            keys.add(Arrays.copyOf(bytes, length));
+            values.add(value);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package resources.logos.src.main.java;
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32C;
+
+// Compact binary format for AuctionState, replacing Java serialization.
+//
+// Layout, integers are unsigned LEB128 varints unless noted:
+//   magic "IPLS" (int), version (short)
+//   labels:  count, then [length][UTF-8 bytes] for every distinct team name, role and nationality
+//   teams:   count, then label id and remaining budget per team
+//   players: count, then one column each of name ([length][UTF-8 bytes]), role label id,
+//            nationality label id, base price, final price and buying team id + 1 (0 if unsold)
+//   squads:  per team, player count then player indexes in purchase order
+//   lot:     current player index, current bid (double), highest bidder team id + 1,
+//            time left, paused (byte)
+//   CRC32C of everything above (int)
+//
+// The roster is the player name dictionary: squads and buyers refer to players and teams
+// by index instead of repeating names, and sold players are the players with a buyer.
+//
+// Whoever encodes snapshots regularly keeps an Encoder, which reuses its buffer from one
+// snapshot to the next. The static methods encode with a fresh one.
+public final class SnapshotCodec {
+    private static final int MAGIC = 0x49504C53; // "IPLS"
+    private static final short VERSION = 1;
+
+    private SnapshotCodec() {
+    }
+
+    public static void write(AuctionState state, Path path) throws IOException {
+        new Encoder().write(state, path);
+    }
+
+    // Writes the snapshot to the stream without closing it
+    public static void write(AuctionState state, OutputStream out) throws IOException {
+        new Encoder().write(state, out);
+    }
+
+    public static byte[] encode(AuctionState state) throws IOException {
+        return new Encoder().encodeToArray(state);
+    }
+
+    // Encodes into one buffer that grows to the largest snapshot so far. Not thread-safe.
+    public static final class Encoder {
+        private final Writer out = new Writer(64);
+        // The player columns, gathered in one walk over the roster and reused
+        private final Writer names = new Writer(64);
+        private int[] roles = new int[0];
+        private int[] nationalities = new int[0];
+        private int[] basePrices = new int[0];
+        private int[] finalPrices = new int[0];
+        private int[] buyers = new int[0];
+        // Squads refer to players by their index in the roster, only sold players are in one
+        private final Map<PlayerInfo, Integer> playerIndexes = new IdentityHashMap<>();
+
+        // The snapshot from position 0 to the limit, valid until the next encode
+        public ByteBuffer encode(AuctionState state) throws IOException {
+            out.buffer.clear();
+            encodeTo(state);
+            return out.buffer.duplicate().flip();
+        }
+
+        // A copy the caller keeps, sized to the snapshot
+        public byte[] encodeToArray(AuctionState state) throws IOException {
+            ByteBuffer encoded = encode(state);
+            byte[] bytes = new byte[encoded.remaining()];
+            encoded.get(bytes);
+            return bytes;
+        }
+
+        // Writes a temporary file next to the path and moves it over, so a crash while saving
+        // leaves the previous snapshot intact
+        public void write(AuctionState state, Path path) throws IOException {
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (FileOutputStream file = new FileOutputStream(temp.toFile())) {
+                write(state, file);
+                file.getFD().sync();
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        // Writes the snapshot to the stream without closing it
+        public void write(AuctionState state, OutputStream out) throws IOException {
+            ByteBuffer encoded = encode(state);
+            out.write(encoded.array(), 0, encoded.limit());
+            out.flush();
+        }
+
+        private void encodeTo(AuctionState state) throws IOException {
+            List<PlayerInfo> players = state.players;
+            int count = players.size();
+            if (roles.length < count) {
+                roles = new int[count];
+                nationalities = new int[count];
+                basePrices = new int[count];
+                finalPrices = new int[count];
+                buyers = new int[count];
+            }
+
+            // Team names, roles and nationalities are few, so each is stored once
+            Map<String, Integer> labels = new LinkedHashMap<>();
+            List<String> teams = new ArrayList<>(state.teamBudgets.keySet());
+            Map<String, Integer> teamIds = new HashMap<>();
+            for (String team : teams) {
+                teamIds.put(team, teamIds.size());
+                labels.putIfAbsent(team, labels.size());
+            }
+
+            playerIndexes.clear();
+            names.buffer.clear();
+            for (int i = 0; i < count; i++) {
+                PlayerInfo player = players.get(i);
+                names.putString(player.name);
+                roles[i] = labelId(labels, player.role);
+                nationalities[i] = labelId(labels, player.nationality);
+                basePrices[i] = player.basePrice;
+                finalPrices[i] = player.finalPrice;
+                buyers[i] = player.purchasedBy == null ? 0 : teamIds.get(player.purchasedBy) + 1;
+                if (player.purchasedBy != null) {
+                    playerIndexes.put(player, i);
+                }
+            }
+
+            out.ensure(64 + names.buffer.position() + count * 12);
+            out.buffer.putInt(MAGIC);
+            out.buffer.putShort(VERSION);
+
+            out.putVarInt(labels.size());
+            for (String label : labels.keySet()) {
+                out.putString(label);
+            }
+
+            out.putVarInt(teams.size());
+            for (String team : teams) {
+                out.putVarInt(labels.get(team));
+                out.putVarInt(state.teamBudgets.get(team));
+            }
+
+            out.putVarInt(count);
+            out.ensure(names.buffer.position());
+            out.buffer.put(names.buffer.array(), 0, names.buffer.position());
+            out.putColumn(roles, count);
+            out.putColumn(nationalities, count);
+            out.putColumn(basePrices, count);
+            out.putColumn(finalPrices, count);
+            out.putColumn(buyers, count);
+
+            for (String team : teams) {
+                List<PlayerInfo> squad = state.teamPlayers.get(team);
+                out.putVarInt(squad.size());
+                for (PlayerInfo player : squad) {
+                    Integer index = playerIndexes.get(player);
+                    if (index == null) {
+                        throw new IOException(player.name + " is in the squad of " + team + " but not in the roster");
+                    }
+                    out.putVarInt(index);
+                }
+            }
+
+            out.putVarInt(state.currentPlayerIndex);
+            out.ensure(8);
+            out.buffer.putDouble(state.currentBid);
+            out.putVarInt(state.highestBidder == null ? 0 : teamIds.get(state.highestBidder) + 1);
+            out.putVarInt(state.timeLeft);
+            out.ensure(1 + 4);
+            out.buffer.put((byte) (state.isAuctionPaused ? 1 : 0));
+
+            CRC32C crc = new CRC32C();
+            crc.update(out.buffer.array(), 0, out.buffer.position());
+            out.buffer.putInt((int) crc.getValue());
+        }
+    }
+
+    private static int labelId(Map<String, Integer> labels, String label) {
+        Integer id = labels.get(label);
+        if (id == null) {
+            id = labels.size();
+            labels.put(label, id);
+        }
+        return id;
+    }
+
+    // Reads a snapshot file through a memory-mapped channel
+    public static AuctionState read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return decode(buffer);
+        }
+    }
+
+    public static AuctionState decode(byte[] bytes) throws IOException {
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    // Decodes a snapshot starting at the buffer's position and ending at its limit
+    public static AuctionState decode(ByteBuffer buffer) throws IOException {
+        try {
+            return decodeChecked(buffer.slice());
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IOException("Truncated or corrupt auction snapshot", e);
+        }
+    }
+
+    private static AuctionState decodeChecked(ByteBuffer in) throws IOException {
+        if (in.remaining() < 10 || in.getInt(0) != MAGIC) {
+            throw new IOException("Not an auction snapshot");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(in.duplicate().limit(in.limit() - 4));
+        if ((int) crc.getValue() != in.getInt(in.limit() - 4)) {
+            throw new IOException("Auction snapshot checksum mismatch");
+        }
+
+        in.getInt();
+        short version = in.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+
+        // Reused for strings when the snapshot is memory-mapped
+        byte[] scratch = new byte[256];
+
+        String[] labels = new String[getVarInt(in)];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = getString(in, scratch);
+        }
+
+        String[] teams = new String[getVarInt(in)];
+        Map<String, Integer> teamBudgets = new HashMap<>();
+        for (int t = 0; t < teams.length; t++) {
+            teams[t] = labels[getVarInt(in)];
+            teamBudgets.put(teams[t], getVarInt(in));
+        }
+
+        int count = getVarInt(in);
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = getString(in, scratch);
+        }
+        int[] roles = getColumn(in, count);
+        int[] nationalities = getColumn(in, count);
+        int[] basePrices = getColumn(in, count);
+        int[] finalPrices = getColumn(in, count);
+        int[] buyers = getColumn(in, count);
+
+        List<PlayerInfo> players = new ArrayList<>(count);
+        Set<String> soldPlayers = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            PlayerInfo player = new PlayerInfo(names[i], labels[roles[i]], basePrices[i], labels[nationalities[i]]);
+            player.finalPrice = finalPrices[i];
+            if (buyers[i] > 0) {
+                player.purchasedBy = teams[buyers[i] - 1];
+                soldPlayers.add(player.name);
+            }
+            players.add(player);
+        }
+
+        Map<String, List<PlayerInfo>> teamPlayers = new HashMap<>();
+        for (String team : teams) {
+            int size = getVarInt(in);
+            List<PlayerInfo> squad = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                squad.add(players.get(getVarInt(in)));
+            }
+            teamPlayers.put(team, squad);
+        }
+
+        int currentPlayerIndex = getVarInt(in);
+        double currentBid = in.getDouble();
+        int highestBidder = getVarInt(in);
+        int timeLeft = getVarInt(in);
+        boolean paused = in.get() != 0;
+
+        return new AuctionState(teamBudgets, teamPlayers, players, soldPlayers, currentPlayerIndex,
+            currentBid, highestBidder == 0 ? null : teams[highestBidder - 1], timeLeft, paused);
+    }
+
+    private static int[] getColumn(ByteBuffer in, int count) {
+        int[] column = new int[count];
+        for (int i = 0; i < count; i++) {
+            column[i] = getVarInt(in);
+        }
+        return column;
+    }
+
+    static int getVarInt(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IndexOutOfBoundsException("Malformed varint");
+    }
+
+    private static String getString(ByteBuffer in, byte[] scratch) {
+        int length = getVarInt(in);
+        if (in.hasArray()) {
+            String s = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+            return s;
+        }
+        byte[] bytes = length <= scratch.length ? scratch : new byte[length];
+        in.get(bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    // Growable heap buffer for encoding
+    private static final class Writer {
+        ByteBuffer buffer;
+
+        Writer(int capacity) {
+            buffer = ByteBuffer.allocate(Math.max(capacity, 64));
+        }
+
+        void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+        }
+
+        void putVarInt(int value) {
+            if (value < 0) {
+                throw new IllegalArgumentException("Negative value in snapshot: " + value);
+            }
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        void putColumn(int[] values, int count) {
+            for (int i = 0; i < count; i++) {
+                putVarInt(values[i]);
+            }
+        }
+
+        void putString(String s) {
+            // Names are nearly always short ASCII, copied straight in without a byte[]
+            int length = s.length();
+            if (length < 0x80) {
+                ensure(1 + length);
+                int start = buffer.position();
+                buffer.put((byte) length);
+                int i = 0;
+                while (i < length && s.charAt(i) < 0x80) {
+                    buffer.put((byte) s.charAt(i++));
+                }
+                if (i == length) {
+                    return;
+                }
+                buffer.position(start);
+            }
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            putVarInt(bytes.length);
+            ensure(bytes.length);
+            buffer.put(bytes);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package resources.logos.src.main.java;
+import java.util.Arrays;
+import java.util.Map;
+
+// Squad-building rules checked on every bid. Each team's maximum affordable bid is kept up
+// to date as it buys: its budget minus MIN_BID for every further player it still needs to
+// reach MIN_PLAYERS_PER_TEAM, or nothing once it has MAX_PLAYERS_PER_TEAM. Overseas and
+// role quotas depend on the player, so they are folded into a per-lot team mask when the
+// lot opens. After that, checking a bid is a mask test and one comparison.
+public class SquadConstraints {
+    // Players from anywhere else count as overseas
+    public static final String HOME_NATIONALITY = "India";
+    public static final int MAX_OVERSEAS_PER_TEAM = 8;
+
+    private final int maxOverseas;
+    private final String[] cappedRoles;
+    private final int[] roleCaps;
+
+    private final int[] squadSizes;
+    private final int[] overseasCounts;
+    private final int[][] roleCounts; // [capped role][team]
+    private final int[] maxBids;
+
+    // Result of opening the current lot, bit t is set if team t may buy the player at all
+    private long lotAllowed;
+    private final AuctionEngine.BidResult[] lotRefusals;
+
+    public SquadConstraints(int teamCount) {
+        this(teamCount, MAX_OVERSEAS_PER_TEAM, Map.of());
+    }
+
+    // Role caps limit how many players of a role one squad may hold
+    public SquadConstraints(int teamCount, int maxOverseas, Map<String, Integer> roleCaps) {
+        this.maxOverseas = maxOverseas;
+        this.cappedRoles = roleCaps.keySet().toArray(new String[0]);
+        this.roleCaps = new int[cappedRoles.length];
+        for (int r = 0; r < cappedRoles.length; r++) {
+            this.roleCaps[r] = roleCaps.get(cappedRoles[r]);
+        }
+        squadSizes = new int[teamCount];
+        overseasCounts = new int[teamCount];
+        roleCounts = new int[cappedRoles.length][teamCount];
+        maxBids = new int[teamCount];
+        lotRefusals = new AuctionEngine.BidResult[teamCount];
+        clear(AuctionEngine.TEAM_BUDGET);
+    }
+
+    // Empty squads with the given budget each
+    public void reset(int budget) {
+        clear(budget);
+    }
+
+    private void clear(int budget) {
+        Arrays.fill(squadSizes, 0);
+        Arrays.fill(overseasCounts, 0);
+        for (int[] counts : roleCounts) {
+            Arrays.fill(counts, 0);
+        }
+        for (int t = 0; t < maxBids.length; t++) {
+            maxBids[t] = maxBidFor(0, budget);
+        }
+        lotAllowed = -1L;
+        Arrays.fill(lotRefusals, null);
+    }
+
+    // Called after a sale has been charged to the team's budget
+    public void recordPurchase(int team, PlayerInfo player, int remainingBudget) {
+        squadSizes[team]++;
+        if (isOverseas(player)) {
+            overseasCounts[team]++;
+        }
+        int role = cappedRole(player.role);
+        if (role >= 0) {
+            roleCounts[role][team]++;
+        }
+        maxBids[team] = maxBidFor(squadSizes[team], remainingBudget);
+    }
+
+    // Works out which teams may bid on the player at all
+    public void openLot(PlayerInfo player) {
+        boolean overseas = isOverseas(player);
+        int role = cappedRole(player.role);
+        lotAllowed = 0;
+        for (int t = 0; t < squadSizes.length; t++) {
+            AuctionEngine.BidResult refusal = null;
+            if (squadSizes[t] >= AuctionEngine.MAX_PLAYERS_PER_TEAM) {
+                refusal = AuctionEngine.BidResult.SQUAD_FULL;
+            } else if (overseas && overseasCounts[t] >= maxOverseas) {
+                refusal = AuctionEngine.BidResult.OVERSEAS_QUOTA;
+            } else if (role >= 0 && roleCounts[role][t] >= roleCaps[role]) {
+                refusal = AuctionEngine.BidResult.ROLE_QUOTA;
+            }
+            lotRefusals[t] = refusal;
+            if (refusal == null) {
+                lotAllowed |= 1L << t;
+            }
+        }
+    }
+
+    // ACCEPTED if the team may bid the amount on the current lot, otherwise why not
+    public AuctionEngine.BidResult check(int team, int amount, int budget) {
+        if ((lotAllowed & (1L << team)) == 0) {
+            return lotRefusals[team];
+        }
+        if (budget < amount) {
+            return AuctionEngine.BidResult.INSUFFICIENT_BUDGET;
+        }
+        if (maxBids[team] < amount) {
+            return AuctionEngine.BidResult.BUDGET_RESERVED;
+        }
+        return AuctionEngine.BidResult.ACCEPTED;
+    }
+
+    // Bit t is set if team t may bid the amount on the current lot
+    public long eligibleTeams(int amount) {
+        long eligible = 0;
+        for (int t = 0; t < maxBids.length; t++) {
+            if (maxBids[t] >= amount) {
+                eligible |= 1L << t;
+            }
+        }
+        return eligible & lotAllowed;
+    }
+
+    // Largest bid the team can make and still complete a minimum squad, -1 if its squad is full
+    public int getMaxBid(int team) {
+        return maxBids[team];
+    }
+
+    public int getSquadSize(int team) {
+        return squadSizes[team];
+    }
+
+    public int getOverseasCount(int team) {
+        return overseasCounts[team];
+    }
+
+    public static boolean isOverseas(PlayerInfo player) {
+        return !HOME_NATIONALITY.equals(player.nationality);
+    }
+
+    private static int maxBidFor(int squadSize, int budget) {
+        if (squadSize >= AuctionEngine.MAX_PLAYERS_PER_TEAM) {
+            return -1;
+        }
+        // Buying this player leaves MIN_PLAYERS_PER_TEAM - (squadSize + 1) still to fill
+        int stillNeeded = Math.max(0, AuctionEngine.MIN_PLAYERS_PER_TEAM - squadSize - 1);
+        return budget - stillNeeded * AuctionEngine.MIN_BID;
+    }
+
+    private int cappedRole(String role) {
+        for (int r = 0; r < cappedRoles.length; r++) {
+            if (cappedRoles[r].equals(role)) {
+                return r;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,77 @@
+package resources.logos.src.main.java;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Startup milestones in milliseconds since the JVM started, so class loading and JIT
+// warm-up count too. The window marks the two that matter to the user: the first frame
+// (the frame skeleton painted) and interactive (the auction painted and taking bids).
+// Background loads mark their own phases. Thread-safe.
+//
+// -Dauction.startup.log=true prints the milestones once interactive, and
+// -Dauction.startup.exit=true then exits, for timing startups from a script and for the
+// training run of a CDS archive.
+public class StartupTimer {
+    public static final String FIRST_FRAME = "first frame";
+    public static final String INTERACTIVE = "interactive";
+
+    private static final boolean LOG = Boolean.getBoolean("auction.startup.log");
+    private static final boolean EXIT = Boolean.getBoolean("auction.startup.exit");
+
+    // Raw nanoTime of each phase. The JVM's start is only looked up when the times are read,
+    // loading the management classes would otherwise add to the startup being measured.
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private Long originNanos;
+
+    public StartupTimer() {
+        phases.put("main", System.nanoTime());
+    }
+
+    // Records the phase the first time it is reached, later calls are ignored
+    public synchronized void mark(String phase) {
+        if (!phases.containsKey(phase)) {
+            phases.put(phase, System.nanoTime());
+            if (phase.equals(INTERACTIVE) && (LOG || EXIT)) {
+                System.out.println("Startup: " + this);
+                if (EXIT) {
+                    System.exit(0);
+                }
+            }
+        }
+    }
+
+    // Milliseconds from JVM start to the phase, or -1 if it has not been reached
+    public synchronized double getMillis(String phase) {
+        Long nanos = phases.get(phase);
+        return nanos != null ? (nanos - origin()) / 1e6 : -1;
+    }
+
+    public double getFirstFrameMillis() {
+        return getMillis(FIRST_FRAME);
+    }
+
+    public double getInteractiveMillis() {
+        return getMillis(INTERACTIVE);
+    }
+
+    // Phases in the order they were reached, e.g. "main 61 ms, roster 140 ms, ..."
+    @Override
+    public synchronized String toString() {
+        StringBuilder s = new StringBuilder();
+        for (Map.Entry<String, Long> phase : phases.entrySet()) {
+            if (s.length() > 0) {
+                s.append(", ");
+            }
+            s.append(phase.getKey()).append(' ').append(Math.round((phase.getValue() - origin()) / 1e6)).append(" ms");
+        }
+        return s.toString();
+    }
+
+    // nanoTime at JVM start, uptime is only kept in milliseconds
+    private long origin() {
+        if (originNanos == null) {
+            originNanos = System.nanoTime() - ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000;
+        }
+        return originNanos;
+    }
+}
@@ -0,0 +1,132 @@
+package resources.logos.src.main.java;
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.text.NumberFormat;
+import java.util.List;
+
+// Live dashboard over AuctionStatistics. refresh() reads only the aggregates, so it costs
+// the same however many players have sold, and does nothing if nothing changed. EDT only.
+public final class StatisticsPanel extends JPanel {
+    private static final long serialVersionUID = 1L;
+
+    private final transient AuctionStatistics stats;
+    private final transient AuctionEngine engine;
+    private final String[] teams;
+    private final NumberFormat amountFormat = NumberFormat.getInstance();
+    private final JLabel summaryLabel = new JLabel();
+    private final JLabel premiumLabel = new JLabel();
+    private final TeamModel teamModel = new TeamModel();
+    private final RoleModel roleModel = new RoleModel();
+    private final DefaultListModel<String> topModel = new DefaultListModel<>();
+    private long shownVersion = -1;
+
+    public StatisticsPanel(AuctionStatistics stats, AuctionEngine engine) {
+        super(new BorderLayout(5, 5));
+        this.stats = stats;
+        this.engine = engine;
+        this.teams = engine.getTeams();
+        setBorder(BorderFactory.createTitledBorder("Live Statistics"));
+
+        JPanel summary = new JPanel(new GridLayout(2, 1));
+        summary.add(summaryLabel);
+        summary.add(premiumLabel);
+
+        JTable teamTable = new JTable(teamModel);
+        teamTable.setFillsViewportHeight(true);
+        JTable roleTable = new JTable(roleModel);
+        roleTable.setFillsViewportHeight(true);
+        JList<String> topList = new JList<>(topModel);
+
+        JTabbedPane tabs = new JTabbedPane();
+        tabs.addTab("Teams", new JScrollPane(teamTable));
+        tabs.addTab("Roles", new JScrollPane(roleTable));
+        tabs.addTab("Top " + AuctionStatistics.TOP_N, new JScrollPane(topList));
+
+        add(summary, BorderLayout.NORTH);
+        add(tabs, BorderLayout.CENTER);
+        refresh();
+    }
+
+    public void refresh() {
+        if (stats.getVersion() == shownVersion) {
+            return;
+        }
+        shownVersion = stats.getVersion();
+
+        summaryLabel.setText("Sold: " + stats.getSoldCount() + "   Spent: ₹" + amountFormat.format(stats.getTotalSpent())
+            + "   Avg: ₹" + amountFormat.format(stats.getAveragePrice()));
+        premiumLabel.setText(String.format("Premium over base: ₹%s avg (%+.1f%%)",
+            amountFormat.format(stats.getAveragePremium()), stats.getPremiumRatio() * 100));
+        teamModel.fireTableRowsUpdated(0, teams.length - 1);
+        roleModel.fireTableDataChanged();
+
+        topModel.clear();
+        for (PlayerInfo player : stats.getTopPlayers()) {
+            topModel.addElement(player.name + " (" + player.purchasedBy + ") ₹" + amountFormat.format(player.finalPrice));
+        }
+    }
+
+    private final class TeamModel extends AbstractTableModel {
+        private static final long serialVersionUID = 1L;
+
+        private final String[] columns = {"Team", "Players", "Spent", "Remaining"};
+
+        @Override
+        public int getRowCount() {
+            return teams.length;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columns.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return columns[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            return switch (column) {
+                case 0 -> teams[row];
+                case 1 -> stats.getTeamPlayerCount(row);
+                case 2 -> "₹" + amountFormat.format(stats.getTeamSpend(row));
+                default -> "₹" + amountFormat.format(engine.getTeamBudget(row));
+            };
+        }
+    }
+
+    private final class RoleModel extends AbstractTableModel {
+        private static final long serialVersionUID = 1L;
+
+        private final String[] columns = {"Role", "Sold", "Avg Price"};
+
+        @Override
+        public int getRowCount() {
+            return stats.getRoles().size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columns.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return columns[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            List<String> roles = stats.getRoles();
+            String role = roles.get(row);
+            return switch (column) {
+                case 0 -> role;
+                case 1 -> stats.getRoleCount(role);
+                default -> "₹" + amountFormat.format(stats.getRoleAveragePrice(role));
+            };
+        }
+    }
+}
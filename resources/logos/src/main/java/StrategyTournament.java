@@ -0,0 +1,217 @@
+package resources.logos.src.main.java;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+
+// Plays bidder strategies against each other over many seeded headless auctions in
+// parallel. Seats rotate every auction, so no strategy keeps the team that happens to win
+// ties. Every decision is timed, and strategies whose p99 or worst decision exceeds the
+// budget are flagged, since the auction runs them on its scheduler thread.
+//
+// Like MonteCarloSimulator, random streams are split from the seed up front, so the
+// standings do not depend on the number of threads. Latencies of course do.
+public class StrategyTournament {
+    private static final int AUCTIONS_PER_TASK = 64;
+    private static final String[] ROLES = {"Batsman", "Bowler", "All-Rounder", "Wicketkeeper"};
+    private static final String[] NATIONALITIES = {"India", "India", "India", "Australia", "England", "South Africa"};
+
+    private final String[] teams;
+    private final List<PlayerInfo> roster;
+    private final BidderStrategy[] strategies;
+    private final long budgetNanos;
+
+    public StrategyTournament(String[] teams, List<PlayerInfo> roster, List<BidderStrategy> strategies,
+                              long budgetNanos) {
+        this.teams = teams.clone();
+        this.roster = roster;
+        this.strategies = strategies.toArray(new BidderStrategy[0]);
+        this.budgetNanos = budgetNanos;
+    }
+
+    public Standings run(int auctions, long seed, int parallelism) {
+        SplittableRandom root = new SplittableRandom(seed);
+        List<SplittableRandom> streams = new ArrayList<>();
+        List<Integer> firsts = new ArrayList<>();
+        for (int done = 0; done < auctions; done += AUCTIONS_PER_TASK) {
+            streams.add(root.split());
+            firsts.add(done);
+        }
+
+        Standings standings = new Standings();
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> java.util.stream.IntStream.range(0, streams.size())
+                .parallel()
+                .forEach(task -> runTask(firsts.get(task),
+                    Math.min(AUCTIONS_PER_TASK, auctions - firsts.get(task)), streams.get(task), standings))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tournament interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tournament failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        standings.auctions = auctions;
+        standings.elapsedNanos = System.nanoTime() - start;
+        return standings;
+    }
+
+    private void runTask(int first, int auctions, SplittableRandom rand, Standings standings) {
+        for (int i = first; i < first + auctions; i++) {
+            AuctionEngine engine = new AuctionEngine(teams, copyRoster());
+            for (int t = 0; t < teams.length; t++) {
+                engine.setStrategy(t, standings.entries[seatOf(t, i)]);
+            }
+            engine.runAuction(rand);
+            for (int t = 0; t < teams.length; t++) {
+                standings.entries[seatOf(t, i)].record(engine, t);
+            }
+        }
+    }
+
+    // Strategy playing team t in auction i
+    private int seatOf(int team, int auction) {
+        return (team + auction) % strategies.length;
+    }
+
+    private List<PlayerInfo> copyRoster() {
+        List<PlayerInfo> copy = new ArrayList<>(roster.size());
+        for (PlayerInfo p : roster) {
+            copy.add(new PlayerInfo(p.name, p.role, p.basePrice, p.nationality));
+        }
+        return copy;
+    }
+
+    public final class Standings {
+        private final Entry[] entries;
+        private int auctions;
+        private long elapsedNanos;
+
+        Standings() {
+            entries = new Entry[strategies.length];
+            for (int s = 0; s < entries.length; s++) {
+                entries[s] = new Entry(strategies[s]);
+            }
+        }
+
+        public void print(PrintStream out) {
+            out.printf("%,d auctions, %d teams, %d players each, %.1f s%n%n", auctions, teams.length,
+                roster.size(), elapsedNanos / 1e9);
+            out.printf("%-22s %9s %8s %10s %10s %8s %9s %9s %9s %10s%n", "Strategy", "Complete", "Squad",
+                "Spent", "Value", "Value/1k", "p50 (us)", "p99 (us)", "Max (us)", "Over");
+            for (Entry e : entries) {
+                long squads = e.squads.sum();
+                double spent = (double) e.spent.sum() / squads;
+                double value = (double) e.value.sum() / squads;
+                out.printf("%-22s %8.1f%% %8.1f %,10.0f %,10.0f %8.2f %9.2f %9.2f %9.2f %,10d%s%n",
+                    e.strategy.getName(), 100.0 * e.complete.sum() / squads, (double) e.players.sum() / squads,
+                    spent, value, spent == 0 ? 0 : value * 1000 / spent,
+                    e.latency.getPercentile(0.50) / 1000.0, e.latency.getPercentile(0.99) / 1000.0,
+                    e.latency.getMax() / 1000.0, e.overruns.sum(), isOverBudget(e) ? "  OVER BUDGET" : "");
+            }
+            out.printf("%nComplete: squads with at least %d players. Value: base price of players bought.%n",
+                AuctionEngine.MIN_PLAYERS_PER_TEAM);
+            out.printf("Decision budget %.1f us, Over counts decisions that exceeded it.%n", budgetNanos / 1000.0);
+        }
+
+        public List<String> getOverBudget() {
+            List<String> names = new ArrayList<>();
+            for (Entry e : entries) {
+                if (isOverBudget(e)) {
+                    names.add(e.strategy.getName());
+                }
+            }
+            return names;
+        }
+
+        // An occasional slow decision, a GC pause say, is tolerated, a slow tail is not
+        private boolean isOverBudget(Entry e) {
+            return e.latency.getPercentile(0.99) > budgetNanos;
+        }
+    }
+
+    // Wraps one strategy to time its decisions and total up its squads. Shared by all tasks.
+    private final class Entry implements BidderStrategy {
+        final BidderStrategy strategy;
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder overruns = new LongAdder();
+        final LongAdder squads = new LongAdder();
+        final LongAdder complete = new LongAdder();
+        final LongAdder players = new LongAdder();
+        final LongAdder spent = new LongAdder();
+        final LongAdder value = new LongAdder();
+
+        Entry(BidderStrategy strategy) {
+            this.strategy = strategy;
+        }
+
+        @Override
+        public boolean wantsToBid(AuctionEngine auction, int team, int amount, RandomGenerator rand) {
+            long start = System.nanoTime();
+            boolean bid = strategy.wantsToBid(auction, team, amount, rand);
+            long nanos = System.nanoTime() - start;
+            latency.record(nanos);
+            if (nanos > budgetNanos) {
+                overruns.increment();
+            }
+            return bid;
+        }
+
+        void record(AuctionEngine engine, int team) {
+            List<PlayerInfo> squad = engine.getTeamPlayers(team);
+            long squadValue = 0;
+            for (PlayerInfo p : squad) {
+                squadValue += p.basePrice;
+            }
+            squads.increment();
+            players.add(squad.size());
+            spent.add(AuctionEngine.TEAM_BUDGET - engine.getTeamBudget(team));
+            value.add(squadValue);
+            if (squad.size() >= AuctionEngine.MIN_PLAYERS_PER_TEAM) {
+                complete.increment();
+            }
+        }
+    }
+
+    // A pool large enough for every team to fill its squad, with varied base prices
+    static List<PlayerInfo> generateRoster(int count, long seed) {
+        SplittableRandom rand = new SplittableRandom(seed);
+        List<PlayerInfo> roster = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            roster.add(new PlayerInfo("Player " + i, ROLES[rand.nextInt(ROLES.length)],
+                AuctionEngine.MIN_BID + 500 * rand.nextInt(13), NATIONALITIES[rand.nextInt(NATIONALITIES.length)]));
+        }
+        return roster;
+    }
+
+    // Usage: StrategyTournament [auctions] [seed] [decision budget in us]
+    // Exits with status 1 if any strategy is over the decision budget.
+    public static void main(String[] args) {
+        int auctions = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42;
+        long budgetNanos = args.length > 2 ? (long) (Double.parseDouble(args[2]) * 1000)
+            : BidderStrategy.DECISION_BUDGET_NANOS;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        List<BidderStrategy> strategies = List.of(new RandomStrategy(), new ValuationStrategy(),
+            new BudgetPacingStrategy(), new RoleNeedStrategy());
+        List<PlayerInfo> roster = generateRoster(AuctionEngine.IPL_TEAMS.length * AuctionEngine.MAX_PLAYERS_PER_TEAM, seed);
+
+        new StrategyTournament(AuctionEngine.IPL_TEAMS, roster, strategies, budgetNanos)
+            .run(Math.min(auctions, 200), seed, cores); // warm up
+        Standings standings = new StrategyTournament(AuctionEngine.IPL_TEAMS, roster, strategies, budgetNanos)
+            .run(auctions, seed, cores);
+        standings.print(System.out);
+        if (!standings.getOverBudget().isEmpty()) {
+            System.out.println("Over budget: " + String.join(", ", standings.getOverBudget()));
+            System.exit(1);
+        }
+    }
+}
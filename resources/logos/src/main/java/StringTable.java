@@ -0,0 +1,54 @@
+package resources.logos.src.main.java;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Append-only string table: every string is UTF-8 in one shared byte array and is
+// referred to by a dense int id. intern() also deduplicates, which suits the few
+// distinct roles and nationalities; add() skips the lookup map for unique names.
+public class StringTable {
+    private final Map<String, Integer> interned = new HashMap<>();
+    private byte[] bytes = new byte[1024];
+    private int[] offsets = new int[65]; // String i spans offsets[i] until offsets[i + 1]
+    private int size = 0;
+
+    // Appends the string without checking for an earlier copy and returns its id
+    public int add(String s) {
+        byte[] encoded = s.getBytes(StandardCharsets.UTF_8);
+        int start = offsets[size];
+        if (start + encoded.length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, start + encoded.length));
+        }
+        if (size + 2 > offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        System.arraycopy(encoded, 0, bytes, start, encoded.length);
+        offsets[size + 1] = start + encoded.length;
+        return size++;
+    }
+
+    // Returns the id of the string, adding it if it is new
+    public int intern(String s) {
+        Integer id = interned.get(s);
+        if (id == null) {
+            id = add(s);
+            interned.put(s, id);
+        }
+        return id;
+    }
+
+    // Id of an interned string, or -1 if it was never interned
+    public int idOf(String s) {
+        Integer id = interned.get(s);
+        return id == null ? -1 : id;
+    }
+
+    public String get(int id) {
+        return new String(bytes, offsets[id], offsets[id + 1] - offsets[id], StandardCharsets.UTF_8);
+    }
+
+    public int size() {
+        return size;
+    }
+}
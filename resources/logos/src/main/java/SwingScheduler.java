@@ -0,0 +1,25 @@
+package resources.logos.src.main.java;
+import javax.swing.Timer;
+
+// Real-time scheduler backed by Swing timers, tasks run on the EDT
+public class SwingScheduler implements AuctionScheduler {
+    @Override
+    public long now() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public Cancellable schedule(long delayMillis, Runnable task) {
+        Timer timer = new Timer((int) delayMillis, e -> task.run());
+        timer.setRepeats(false);
+        timer.start();
+        return timer::stop;
+    }
+
+    @Override
+    public Cancellable scheduleAtFixedRate(long periodMillis, Runnable task) {
+        Timer timer = new Timer((int) periodMillis, e -> task.run());
+        timer.start();
+        return timer::stop;
+    }
+}
@@ -1,14 +1,28 @@
 package resources.logos.src.main.java;
+import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class TeamLogos {
     // Base path for resources
     private static final String BASE_PATH = "/logos/";
-    
+
+    // Base path used by the team cards
+    private static final String CARD_LOGO_PATH = "/resources/logos/";
+
+    // Maximum number of pre-scaled card images kept in memory
+    private static final int MAX_SCALED_LOGOS = 40;
+
     // Map to store team logo paths
     public static final Map<String, String> TEAM_LOGOS = new HashMap<>() {{
         put("Sunrisers Hyderabad", BASE_PATH + "Sunrisers Hyderabad.png");
@@ -22,7 +36,21 @@ public class TeamLogos {
         put("Delhi Capitals", BASE_PATH + "Delhi Capitals.png");
         put("Chennai Super Kings", BASE_PATH + "Chennai Super Kings.png");
     }};
-    
+
+    // Decoded logos, each PNG is read only once
+    private static final Map<String, BufferedImage> DECODED_LOGOS = new ConcurrentHashMap<>();
+
+    // Logos that failed to load, so the error is reported only once
+    private static final Map<String, Boolean> MISSING_LOGOS = new ConcurrentHashMap<>();
+
+    // Card images keyed by team and size, least recently used entries are evicted first
+    private static final Map<String, Image> SCALED_LOGOS = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Image> eldest) {
+            return size() > MAX_SCALED_LOGOS;
+        }
+    };
+
     // Utility method to load team logo
     public static ImageIcon getTeamLogo(String teamName) {
         try {
@@ -38,7 +66,119 @@ public class TeamLogos {
         }
         return createDefaultLogo(); // Return a default logo if loading fails
     }
-    
+
+    // Returns the decoded logo for a team, or null if it cannot be loaded
+    public static BufferedImage getDecodedLogo(String teamName) {
+        BufferedImage logo = DECODED_LOGOS.get(teamName);
+        if (logo != null || MISSING_LOGOS.containsKey(teamName)) {
+            return logo;
+        }
+
+        String logoPath = CARD_LOGO_PATH + teamName + ".png";
+        try (InputStream logoStream = TeamLogos.class.getResourceAsStream(logoPath)) {
+            if (logoStream == null) {
+                throw new IOException("Could not find logo: " + logoPath);
+            }
+            logo = ImageIO.read(logoStream);
+            if (logo == null) {
+                throw new IOException("Unsupported image format: " + logoPath);
+            }
+            DECODED_LOGOS.put(teamName, logo);
+        } catch (IOException e) {
+            System.err.println("Error loading logo for " + teamName + ": " + e.getMessage());
+            MISSING_LOGOS.put(teamName, Boolean.TRUE);
+        }
+        return logo;
+    }
+
+    // Decodes the teams' logos in parallel on the common pool, so the first paint of the
+    // cards finds them ready. Completes when every logo is decoded or has failed to load.
+    public static CompletableFuture<Void> preload(Collection<String> teamNames) {
+        return CompletableFuture.allOf(teamNames.stream()
+            .map(team -> CompletableFuture.runAsync(() -> getDecodedLogo(team)))
+            .toArray(CompletableFuture<?>[]::new));
+    }
+
+    // Returns a card background of the given size with the logo already scaled onto it,
+    // so painting a team card is a single drawImage call
+    public static Image getCardLogo(String teamName, Color background, int width, int height,
+                                    GraphicsConfiguration gc) {
+        width = Math.max(width, 1);
+        height = Math.max(height, 1);
+        String key = teamName + "@" + width + "x" + height;
+
+        synchronized (SCALED_LOGOS) {
+            Image cached = SCALED_LOGOS.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        Image card = renderCardLogo(teamName, background, width, height, gc);
+        synchronized (SCALED_LOGOS) {
+            SCALED_LOGOS.put(key, card);
+        }
+        return card;
+    }
+
+    // Drops every pre-scaled image of a team, called when its card is resized
+    public static void invalidateCardLogos(String teamName) {
+        String prefix = teamName + "@";
+        synchronized (SCALED_LOGOS) {
+            Iterator<String> keys = SCALED_LOGOS.keySet().iterator();
+            while (keys.hasNext()) {
+                if (keys.next().startsWith(prefix)) {
+                    keys.remove();
+                }
+            }
+        }
+    }
+
+    private static Image renderCardLogo(String teamName, Color background, int width, int height,
+                                        GraphicsConfiguration gc) {
+        // Compatible images match the screen format and can be cached in video memory
+        BufferedImage card = gc != null
+            ? gc.createCompatibleImage(width, height, Transparency.OPAQUE)
+            : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D g2d = card.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+            // Draw background color
+            g2d.setColor(background);
+            g2d.fillRect(0, 0, width, height);
+
+            BufferedImage logo = getDecodedLogo(teamName);
+            if (logo == null) {
+                return card;
+            }
+
+            // Calculate dimensions to maintain aspect ratio and fill card
+            double logoRatio = (double) logo.getWidth() / logo.getHeight();
+            double panelRatio = (double) width / height;
+            int logoWidth, logoHeight;
+            int x = 0, y = 0;
+
+            if (logoRatio > panelRatio) {
+                logoHeight = height;
+                logoWidth = (int)(logoHeight * logoRatio);
+                x = (width - logoWidth) / 2;
+            } else {
+                logoWidth = width;
+                logoHeight = (int)(logoWidth / logoRatio);
+                y = (height - logoHeight) / 2;
+            }
+
+            g2d.drawImage(logo, x, y, logoWidth, logoHeight, null);
+        } finally {
+            g2d.dispose();
+        }
+        return card;
+    }
+
     // Create a default logo if image loading fails
     private static ImageIcon createDefaultLogo() {
         BufferedImage defaultImage = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB);
@@ -48,4 +188,4 @@ public class TeamLogos {
         g2d.dispose();
         return new ImageIcon(defaultImage);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,33 @@
+package resources.logos.src.main.java;
+import java.util.random.RandomGenerator;
+
+// Bids up to a private valuation of the player: the base price times a markup, adjusted by
+// a per-team opinion of up to +/- spread. The opinion is a hash of team and player name, so
+// a team values a player the same way on every call without keeping any state.
+public class ValuationStrategy implements BidderStrategy {
+    private final double markup;
+    private final double spread;
+
+    public ValuationStrategy() {
+        this(2.0, 0.25);
+    }
+
+    public ValuationStrategy(double markup, double spread) {
+        this.markup = markup;
+        this.spread = spread;
+    }
+
+    @Override
+    public boolean wantsToBid(AuctionEngine auction, int team, int amount, RandomGenerator rand) {
+        return amount <= valuation(auction.getCurrentPlayer(), team);
+    }
+
+    double valuation(PlayerInfo player, int team) {
+        int hash = player.name.hashCode() * 31 + team;
+        hash ^= hash >>> 16;
+        hash *= 0x45D9F3B;
+        hash ^= hash >>> 16;
+        double opinion = (hash & 0xFFFF) / 32767.5 - 1; // -1 to 1
+        return player.basePrice * markup * (1 + spread * opinion);
+    }
+}
@@ -0,0 +1,103 @@
+package resources.logos.src.main.java;
+import java.util.PriorityQueue;
+
+// Discrete-event scheduler: time only moves when the next event is taken off the queue,
+// so a 30 s countdown runs at CPU speed. Events due at the same time run in the order
+// they were scheduled, which keeps seeded simulations deterministic. Single-threaded.
+public class VirtualTimeScheduler implements AuctionScheduler {
+    private final PriorityQueue<Event> queue = new PriorityQueue<>();
+    private long now = 0;
+    private long nextSequence = 0;
+
+    private static final class Event implements Comparable<Event>, Cancellable {
+        long time;
+        final long period;
+        long sequence;
+        final Runnable task;
+        boolean cancelled;
+
+        Event(long time, long period, long sequence, Runnable task) {
+            this.time = time;
+            this.period = period;
+            this.sequence = sequence;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(Event other) {
+            int byTime = Long.compare(time, other.time);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    @Override
+    public long now() {
+        return now;
+    }
+
+    @Override
+    public Cancellable schedule(long delayMillis, Runnable task) {
+        Event event = new Event(now + delayMillis, 0, nextSequence++, task);
+        queue.add(event);
+        return event;
+    }
+
+    @Override
+    public Cancellable scheduleAtFixedRate(long periodMillis, Runnable task) {
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("Period must be positive: " + periodMillis);
+        }
+        Event event = new Event(now + periodMillis, periodMillis, nextSequence++, task);
+        queue.add(event);
+        return event;
+    }
+
+    // Runs the next pending event, returns false when nothing is left
+    public boolean step() {
+        Event event = queue.poll();
+        while (event != null && event.cancelled) {
+            event = queue.poll();
+        }
+        if (event == null) {
+            return false;
+        }
+
+        now = event.time;
+        event.task.run();
+        if (event.period > 0 && !event.cancelled) {
+            event.time += event.period;
+            event.sequence = nextSequence++;
+            queue.add(event);
+        }
+        return true;
+    }
+
+    // Runs events until the queue is empty
+    public void runUntilIdle() {
+        while (step()) {
+            // keep going
+        }
+    }
+
+    // Runs every event due up to the given time and leaves the clock there
+    public void advanceTo(long time) {
+        while (!queue.isEmpty() && peekTime() <= time) {
+            step();
+        }
+        now = Math.max(now, time);
+    }
+
+    private long peekTime() {
+        Event head = queue.peek();
+        while (head != null && head.cancelled) {
+            queue.poll();
+            head = queue.peek();
+        }
+        return head == null ? Long.MAX_VALUE : head.time;
+    }
+}